@@ -138,16 +138,16 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       throws InvalidConfigurationException, CPAException, InterruptedException {
     config.inject(this);
 
-    stats = new ParallelAlgorithmStatistics(pLogger);
+    aggregatedReachedSetManager = new AggregatedReachedSetManager();
+    aggregatedReachedSetManager.addAggregated(pAggregatedReachedSets);
+
+    stats = new ParallelAlgorithmStatistics(pLogger, aggregatedReachedSetManager);
     globalConfig = config;
     logger = checkNotNull(pLogger);
     shutdownManager = ShutdownManager.createWithParent(checkNotNull(pShutdownNotifier));
     specification = checkNotNull(pSpecification);
     cfa = checkNotNull(pCfa);
 
-    aggregatedReachedSetManager = new AggregatedReachedSetManager();
-    aggregatedReachedSetManager.addAggregated(pAggregatedReachedSets);
-
     ImmutableList.Builder<Callable<ParallelAnalysisResult>> analysesBuilder =
         ImmutableList.builder();
     for (AnnotatedValue<Path> p : configFiles) {
@@ -578,12 +578,15 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
   private static class ParallelAlgorithmStatistics implements Statistics {
 
     private final LogManager logger;
+    private final AggregatedReachedSetManager aggregatedReachedSetManager;
     private final List<StatisticsEntry> allAnalysesStats = new CopyOnWriteArrayList<>();
     private int noOfAlgorithmsUsed = 0;
     private String successfulAnalysisName = null;
 
-    ParallelAlgorithmStatistics(LogManager pLogger) {
+    ParallelAlgorithmStatistics(
+        LogManager pLogger, AggregatedReachedSetManager pAggregatedReachedSetManager) {
       logger = checkNotNull(pLogger);
+      aggregatedReachedSetManager = checkNotNull(pAggregatedReachedSetManager);
     }
 
     public synchronized StatisticsEntry getNewSubStatistics(
@@ -605,6 +608,10 @@ public class ParallelAlgorithm implements Algorithm, StatisticsProvider {
       if (successfulAnalysisName != null) {
         out.println("Successful analysis: " + successfulAnalysisName);
       }
+      int sharedPredicates = aggregatedReachedSetManager.getNumberOfPublishedPredicates();
+      if (sharedPredicates > 0) {
+        out.println("Number of shared predicates:      " + sharedPredicates);
+      }
       printSubStatistics(out, result);
     }
 
@@ -33,12 +33,16 @@ import static org.sosy_lab.cpachecker.util.AbstractStates.extractLocation;
 import com.google.common.base.Joiner;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -47,6 +51,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -55,11 +60,17 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 import java.util.logging.Level;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.ShutdownNotifier.ShutdownRequestListener;
@@ -173,6 +184,24 @@ abstract class AbstractBMCAlgorithm
   )
   private boolean usePropertyDirection = false;
 
+  @Option(
+    secure = true,
+    description =
+        "Check the induction step case for bound k in a separate thread "
+            + "while the base case for bound k+1 is checked. "
+            + "The step case uses its own solver instance."
+  )
+  private boolean parallelInduction = false;
+
+  @Option(
+    secure = true,
+    description =
+        "Keep the base-case solver stack alive across bounds and only assert those states "
+            + "that were added to the reached set since the previous bound. "
+            + "States that were already proven safe for a candidate invariant are not asserted again."
+  )
+  private boolean incrementalBMC = false;
+
   protected final BMCStatistics stats;
   private final Algorithm algorithm;
   private final ConfigurableProgramAnalysis cpa;
@@ -202,11 +231,19 @@ abstract class AbstractBMCAlgorithm
   private final AbstractionStrategy abstractionStrategy;
 
   /** The candidate invariants that have been proven to hold at the loop heads. */
-  private final Set<CandidateInvariant> confirmedCandidates = new CopyOnWriteArraySet<>();
+  private final ConfirmedCandidateStore confirmedCandidates = new ConfirmedCandidateStore();
 
   private final List<ConditionAdjustmentEventSubscriber> conditionAdjustmentEventSubscribers =
       new CopyOnWriteArrayList<>();
 
+  /**
+   * The results of the base-case checks of the previous bounds, used to determine the states that
+   * still need to be asserted in incremental mode. The results only refer to the reached set of the
+   * current call of {@link #run(ReachedSet)} and are cleared when it ends, and the states that
+   * are removed from this reached set are dropped from the results before each check.
+   */
+  private final Map<CandidateInvariant, BmcResult> incrementalBMCResults = new HashMap<>();
+
   protected AbstractBMCAlgorithm(
       Algorithm pAlgorithm,
       ConfigurableProgramAnalysis pCPA,
@@ -260,6 +297,15 @@ abstract class AbstractBMCAlgorithm
       stepCaseAlgorithm = null;
       invariantGenerationStrategy = InvariantGeneratorFactory.DO_NOTHING;
       invariantGeneratorHeadStartStrategy = InvariantGeneratorHeadStartFactories.NONE;
+      parallelInduction = false;
+    }
+
+    if (parallelInduction && usePropertyDirection) {
+      logger.log(
+          Level.WARNING,
+          "Parallel induction is not supported together with property direction,"
+              + " checking the step case sequentially.");
+      parallelInduction = false;
     }
 
     ShutdownManager invariantGeneratorShutdownManager = pShutdownManager;
@@ -342,6 +388,7 @@ abstract class AbstractBMCAlgorithm
       InterruptedException {
     CFANode initialLocation = extractLocation(reachedSet.getFirstState());
     invariantGenerator.start(initialLocation);
+    incrementalBMCResults.clear();
 
     // The set of candidate invariants that still need to be checked.
     // Successfully proven invariants are removed from the set.
@@ -358,6 +405,25 @@ abstract class AbstractBMCAlgorithm
 
     AlgorithmStatus status;
 
+    // In parallel-induction mode, the step case for bound k is checked by this executor
+    // while the base case for bound k+1 is checked by the current thread.
+    final @Nullable ExecutorService stepCaseExecutor;
+    @Nullable Future<StepCaseResult> pendingStepCase = null;
+    final long baseCaseCpuTimeStart;
+    if (parallelInduction) {
+      stepCaseExecutor =
+          Executors.newSingleThreadExecutor(
+              new ThreadFactoryBuilder()
+                  .setNameFormat("k-induction step case")
+                  .setDaemon(true)
+                  .build());
+      stats.parallelInductionTime.start();
+      baseCaseCpuTimeStart = getCurrentThreadCpuTime();
+    } else {
+      stepCaseExecutor = null;
+      baseCaseCpuTimeStart = 0;
+    }
+
     try (ProverEnvironmentWithFallback prover =
         new ProverEnvironmentWithFallback(solver, ProverOptions.GENERATE_MODELS)) {
       invariantGeneratorHeadStart.waitForInvariantGenerator();
@@ -427,10 +493,22 @@ abstract class AbstractBMCAlgorithm
                 ctiBlockingClauses.clear();
               }
             }
-            try (@SuppressWarnings("resource")
-                KInductionProver kInductionProver = createInductionProver()) {
-            sound =
-                checkStepCase(reachedSet, candidateGenerator, kInductionProver, ctiBlockingClauses);
+            if (stepCaseExecutor != null) {
+              // the step case for the previous bound is valid because its base case now holds
+              if (pendingStepCase != null) {
+                sound = awaitStepCase(pendingStepCase, candidateGenerator);
+                pendingStepCase = null;
+              }
+              if (!sound) {
+                pendingStepCase = submitStepCase(stepCaseExecutor, reachedSet, candidateGenerator);
+              }
+            } else {
+              try (@SuppressWarnings("resource")
+                  KInductionProver kInductionProver = createInductionProver()) {
+                sound =
+                    checkStepCase(
+                        reachedSet, candidateGenerator, kInductionProver, ctiBlockingClauses);
+              }
             }
           }
           if (invariantGenerator.isProgramSafe()
@@ -445,11 +523,114 @@ abstract class AbstractBMCAlgorithm
         }
       }
       while (status.isSound() && adjustConditions());
+
+      if (pendingStepCase != null) {
+        // No further bound will be checked, but the last step case may still succeed
+        boolean sound = awaitStepCase(pendingStepCase, candidateGenerator);
+        pendingStepCase = null;
+        if (invariantGenerator.isProgramSafe()
+            || (sound && !candidateGenerator.produceMoreCandidates())) {
+          return AlgorithmStatus.SOUND_AND_PRECISE;
+        }
+      }
+    } finally {
+      incrementalBMCResults.clear();
+      if (stepCaseExecutor != null) {
+        if (pendingStepCase != null) {
+          pendingStepCase.cancel(true);
+        }
+        stepCaseExecutor.shutdownNow();
+        // the step case still uses the solver, so it must not outlive this method
+        awaitTermination(stepCaseExecutor);
+        stats.baseCaseCpuTime.addAndGet(getCurrentThreadCpuTime() - baseCaseCpuTimeStart);
+        stats.parallelInductionTime.stop();
+      }
     }
 
     return AlgorithmStatus.UNSOUND_AND_PRECISE;
   }
 
+  /**
+   * Starts the step case for the current bound in the background. All information that depends
+   * on the base-case reached set is computed before returning, because the base case continues to
+   * unroll this reached set concurrently.
+   */
+  private Future<StepCaseResult> submitStepCase(
+      ExecutorService pExecutor, ReachedSet pReachedSet, CandidateGenerator pCandidateGenerator) {
+    final int k = CPAs.retrieveCPA(cpa, LoopIterationBounding.class).getMaxLoopIterations();
+    final Set<Object> checkedKeys = getCheckedKeys(pReachedSet);
+    final Set<CandidateInvariant> candidates =
+        from(pCandidateGenerator)
+            .filter(getCandidateApplicabilityPredicate(pReachedSet, checkedKeys))
+            .toSet();
+    @SuppressWarnings("resource")
+    final KInductionProver kInductionProver = createInductionProver();
+
+    return pExecutor.submit(
+        () -> {
+          long cpuTimeStart = getCurrentThreadCpuTime();
+          // confirmations are collected here and handed to the candidate generator
+          // by the main thread, because the generator itself is not thread-safe
+          Set<CandidateInvariant> confirmed = new LinkedHashSet<>();
+          try {
+            boolean sound =
+                checkStepCase(
+                    k,
+                    checkedKeys,
+                    candidates,
+                    kInductionProver,
+                    new TreeSet<>(),
+                    parts -> Iterables.addAll(confirmed, parts));
+            return new StepCaseResult(sound, confirmed);
+          } finally {
+            kInductionProver.close();
+            stats.stepCaseCpuTime.addAndGet(getCurrentThreadCpuTime() - cpuTimeStart);
+          }
+        });
+  }
+
+  private boolean awaitStepCase(
+      Future<StepCaseResult> pStepCase, CandidateGenerator pCandidateGenerator)
+      throws CPAException, InterruptedException, SolverException {
+    StepCaseResult result;
+    try {
+      result = pStepCase.get();
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      Throwables.propagateIfPossible(cause, CPAException.class, InterruptedException.class);
+      Throwables.propagateIfPossible(cause, SolverException.class);
+      throw new UnexpectedCheckedException("induction step case", cause);
+    }
+    pCandidateGenerator.confirmCandidates(result.confirmedCandidates);
+    return result.sound;
+  }
+
+  private static void awaitTermination(ExecutorService pExecutor) {
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (true) {
+        try {
+          if (pExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+            return;
+          }
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static long getCurrentThreadCpuTime() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    return threadMXBean.isCurrentThreadCpuTimeSupported()
+        ? threadMXBean.getCurrentThreadCpuTime()
+        : 0;
+  }
+
   private boolean checkStepCase(
       final ReachedSet reachedSet,
       final CandidateGenerator candidateGenerator,
@@ -465,6 +646,25 @@ abstract class AbstractBMCAlgorithm
 
     Set<CandidateInvariant> candidates =
         FluentIterable.concat(pCtiBlockingClauses, candidateGenerator).filter(isApplicable).toSet();
+
+    return checkStepCase(
+        k,
+        checkedKeys,
+        candidates,
+        kInductionProver,
+        pCtiBlockingClauses,
+        candidateGenerator::confirmCandidates);
+  }
+
+  private boolean checkStepCase(
+      final int k,
+      final Set<Object> checkedKeys,
+      final Set<CandidateInvariant> candidates,
+      KInductionProver kInductionProver,
+      Set<Obligation> pCtiBlockingClauses,
+      Consumer<Iterable<CandidateInvariant>> pConfirmCandidates)
+      throws InterruptedException, CPAException, SolverException {
+
     Set<SymbolicCandiateInvariant> checked = new HashSet<>();
 
     shutdownNotifier.shutdownIfNecessary();
@@ -497,11 +697,9 @@ abstract class AbstractBMCAlgorithm
               InvariantStrengthenings.noStrengthening(),
               lifting);
       if (inductionResult.isSuccessful()) {
-        Iterables.addAll(
-            confirmedCandidates,
-            CandidateInvariantCombination.getConjunctiveParts(candidate));
-        candidateGenerator.confirmCandidates(
+        confirmedCandidates.publishAll(
             CandidateInvariantCombination.getConjunctiveParts(candidate));
+        pConfirmCandidates.accept(CandidateInvariantCombination.getConjunctiveParts(candidate));
         if (candidate == TargetLocationCandidateInvariant.INSTANCE) {
           sound = true;
           break;
@@ -522,10 +720,9 @@ abstract class AbstractBMCAlgorithm
                     InvariantStrengthenings.noStrengthening(),
                     lifting);
             if (inductionResult.isSuccessful()) {
-              Iterables.addAll(
-                  confirmedCandidates,
+              confirmedCandidates.publishAll(
                   CandidateInvariantCombination.getConjunctiveParts(weakening));
-              candidateGenerator.confirmCandidates(
+              pConfirmCandidates.accept(
                   CandidateInvariantCombination.getConjunctiveParts(weakening));
               break;
             }
@@ -605,15 +802,53 @@ abstract class AbstractBMCAlgorithm
       final ProverEnvironmentWithFallback pProver,
       CandidateInvariant pCandidateInvariant)
       throws CPATransferException, InterruptedException, SolverException {
-    return boundedModelCheck((Iterable<AbstractState>) pReachedSet, pProver, pCandidateInvariant);
+    if (!incrementalBMC) {
+      stats.addAssertedStates(
+          getCurrentBound(), Iterables.size(pCandidateInvariant.filterApplicable(pReachedSet)));
+      return boundedModelCheck(pReachedSet, pReachedSet, pProver, pCandidateInvariant);
+    }
+
+    BmcResult previousResult = incrementalBMCResults.get(pCandidateInvariant);
+    if (previousResult == null || !previousResult.isSafe()) {
+      previousResult = new BmcResult();
+      incrementalBMCResults.put(pCandidateInvariant, previousResult);
+    } else {
+      // do not keep states alive that are no longer part of the reached set
+      previousResult.retainStatesIn(pReachedSet);
+    }
+
+    // All states checked for previous bounds were proven safe for this candidate,
+    // so only the states of the new unrolling layer need to be asserted.
+    // The states need to be copied because checking may remove states from the reached set.
+    List<AbstractState> newStates =
+        ImmutableList.copyOf(
+            previousResult.filterUnchecked(pCandidateInvariant.filterApplicable(pReachedSet)));
+    stats.addAssertedStates(getCurrentBound(), newStates.size());
+    boolean safe = boundedModelCheck(newStates, pReachedSet, pProver, pCandidateInvariant);
+    if (safe) {
+      previousResult.addSafeStates(newStates);
+    } else {
+      previousResult.declareUnsafe();
+    }
+    return safe;
+  }
+
+  private int getCurrentBound() {
+    LoopIterationBounding loopIterationBounding =
+        CPAs.retrieveCPA(cpa, LoopIterationBounding.class);
+    return loopIterationBounding == null ? -1 : loopIterationBounding.getMaxLoopIterations();
   }
 
   private boolean boundedModelCheck(
-      Iterable<AbstractState> pReachedSet,
+      Iterable<AbstractState> pStates,
+      @Nullable ReachedSet pReachedSet,
       ProverEnvironmentWithFallback pProver,
       CandidateInvariant pCandidateInvariant)
       throws CPATransferException, InterruptedException, SolverException {
-    BooleanFormula program = bfmgr.not(pCandidateInvariant.getAssertion(pReachedSet, fmgr, pmgr));
+    BooleanFormula program = bfmgr.not(pCandidateInvariant.getAssertion(pStates, fmgr, pmgr));
+    if (pReachedSet != null) {
+      stats.addAssertedAtoms(getCurrentBound(), fmgr.extractAtoms(program, false).size());
+    }
     logger.log(Level.INFO, "Starting satisfiability check...");
     stats.satCheck.start();
     pProver.push(program);
@@ -621,12 +856,11 @@ abstract class AbstractBMCAlgorithm
     stats.satCheck.stop();
     // Leave program formula on solver stack until error path is created
 
-    if (pReachedSet instanceof ReachedSet) {
-      ReachedSet reachedSet = (ReachedSet) pReachedSet;
+    if (pReachedSet != null) {
       if (safe) {
-        pCandidateInvariant.assumeTruth(reachedSet);
+        pCandidateInvariant.assumeTruth(pReachedSet);
       } else if (pCandidateInvariant == TargetLocationCandidateInvariant.INSTANCE) {
-        analyzeCounterexample(program, reachedSet, pProver);
+        analyzeCounterexample(program, pReachedSet, pProver);
       }
     }
 
@@ -689,7 +923,7 @@ abstract class AbstractBMCAlgorithm
           Iterable<AbstractState> applicableStates =
               newBlockingClause.filterApplicable(pReachedSet);
           applicableStates = clauseResult.filterUnchecked(applicableStates);
-          isUnsat = boundedModelCheck(applicableStates, pProver, newBlockingClause);
+          isUnsat = boundedModelCheck(applicableStates, null, pProver, newBlockingClause);
           if (isUnsat) {
             clauseResult.addSafeStates(applicableStates);
           } else {
@@ -929,8 +1163,7 @@ abstract class AbstractBMCAlgorithm
   }
 
   protected FluentIterable<CandidateInvariant> getConfirmedCandidates(final CFANode pLocation) {
-    return from(confirmedCandidates)
-        .filter(pConfirmedCandidate -> pConfirmedCandidate.appliesTo(pLocation));
+    return from(confirmedCandidates.getPublishedFor(pLocation));
   }
 
   private Predicate<CandidateInvariant> getCandidateApplicabilityPredicate(
@@ -1158,6 +1391,18 @@ abstract class AbstractBMCAlgorithm
     }
   }
 
+  private static class StepCaseResult {
+
+    private final boolean sound;
+
+    private final Set<CandidateInvariant> confirmedCandidates;
+
+    private StepCaseResult(boolean pSound, Set<CandidateInvariant> pConfirmedCandidates) {
+      sound = pSound;
+      confirmedCandidates = pConfirmedCandidates;
+    }
+  }
+
   private static class BmcResult {
 
     private final Set<AbstractState> checkedStates = new HashSet<>();
@@ -1177,6 +1422,10 @@ abstract class AbstractBMCAlgorithm
       return safe;
     }
 
+    public void retainStatesIn(ReachedSet pReachedSet) {
+      checkedStates.removeIf(state -> !pReachedSet.contains(state));
+    }
+
     public Iterable<AbstractState> filterUnchecked(Iterable<AbstractState> pStates) {
       checkState(isSafe(), "A counterexample was found already.");
       return Iterables.filter(pStates, Predicates.not(Predicates.in(checkedStates)));
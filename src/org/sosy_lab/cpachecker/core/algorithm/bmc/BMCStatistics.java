@@ -24,6 +24,11 @@
 package org.sosy_lab.cpachecker.core.algorithm.bmc;
 
 import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
@@ -39,6 +44,22 @@ public class BMCStatistics implements Statistics {
   final Timer inductionPreparation = new Timer();
   final Timer inductionCheck = new Timer();
 
+  final Timer parallelInductionTime = new Timer();
+  final AtomicLong baseCaseCpuTime = new AtomicLong();
+  final AtomicLong stepCaseCpuTime = new AtomicLong();
+
+  private final Map<Integer, Integer> assertedStatesPerBound = new TreeMap<>();
+  private final Map<Integer, Integer> assertedAtomsPerBound = new TreeMap<>();
+
+  void addAssertedStates(int pBound, int pNumberOfStates) {
+    assertedStatesPerBound.merge(pBound, pNumberOfStates, Integer::sum);
+  }
+
+  /** Adds the size of a formula asserted in the base case, measured in its distinct atoms. */
+  void addAssertedAtoms(int pBound, int pNumberOfAtoms) {
+    assertedAtomsPerBound.merge(pBound, pNumberOfAtoms, Integer::sum);
+  }
+
   @Override
   public void printStatistics(PrintStream out, Result pResult, UnmodifiableReachedSet pReached) {
     if (bmcPreparation.getNumberOfIntervals() > 0) {
@@ -53,10 +74,34 @@ public class BMCStatistics implements Statistics {
     if (assertionsCheck.getNumberOfIntervals() > 0) {
       out.println("Time for bounding assertions check:  " + assertionsCheck);
     }
+    if (!assertedStatesPerBound.isEmpty()) {
+      out.println("Number of asserted states per bound: " + assertedStatesPerBound);
+    }
+    if (!assertedAtomsPerBound.isEmpty()) {
+      out.println("Number of asserted atoms per bound:  " + assertedAtomsPerBound);
+    }
     if (inductionCheck.getNumberOfIntervals() > 0) {
       out.println("Time for induction formula creation: " + inductionPreparation);
       out.println("Time for induction check:            " + inductionCheck);
     }
+    if (parallelInductionTime.getNumberOfIntervals() > 0) {
+      long baseCaseNanos = baseCaseCpuTime.get();
+      long stepCaseNanos = stepCaseCpuTime.get();
+      long wallNanos = parallelInductionTime.getSumTime().asNanos();
+      out.println("Wall time for parallel k-induction:  " + parallelInductionTime);
+      out.println(
+          "  CPU time for base case:            "
+              + TimeSpan.ofNanos(baseCaseNanos).formatAs(TimeUnit.SECONDS));
+      out.println(
+          "  CPU time for step case:            "
+              + TimeSpan.ofNanos(stepCaseNanos).formatAs(TimeUnit.SECONDS));
+      if (wallNanos > 0) {
+        out.println(
+            String.format(
+                "  Speed-up (CPU time / wall time):   %.2f",
+                (double) (baseCaseNanos + stepCaseNanos) / wallNanos));
+      }
+    }
   }
 
   @Override
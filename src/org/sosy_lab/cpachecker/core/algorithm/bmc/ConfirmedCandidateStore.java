@@ -0,0 +1,159 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariant;
+
+/**
+ * An append-only store of confirmed candidate invariants.
+ *
+ * <p>Every candidate is stored only once and is assigned a version number in the order in which it
+ * was published. Publishing is serialized, but reading never blocks: readers only see the prefix of
+ * the store that was complete when they read the current version, so that the invariant generator
+ * can keep publishing while the consumers look up the candidates that apply to a location. For each
+ * location, the applicable candidates are indexed incrementally, i.e., only the candidates that
+ * were published since the previous lookup are checked.
+ */
+final class ConfirmedCandidateStore implements Iterable<CandidateInvariant> {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  /** The published candidates for looking up duplicates; guarded by this store. */
+  private final Set<CandidateInvariant> published = new HashSet<>();
+
+  /**
+   * The published candidates. Only the first {@link #version} entries are valid; they are never
+   * modified after they were written. The array is replaced by a larger copy when it is full.
+   */
+  private volatile CandidateInvariant[] candidates = new CandidateInvariant[INITIAL_CAPACITY];
+
+  /** The number of published candidates; written only after the corresponding entries. */
+  private volatile int version = 0;
+
+  private final Map<CFANode, LocationIndex> locationIndices = new ConcurrentHashMap<>();
+
+  /**
+   * Publishes the given candidate invariant.
+   *
+   * @param pCandidate the confirmed candidate invariant.
+   * @return {@code true} if the candidate was not published before, {@code false} otherwise.
+   */
+  boolean publish(CandidateInvariant pCandidate) {
+    synchronized (this) {
+      if (!published.add(pCandidate)) {
+        return false;
+      }
+      CandidateInvariant[] current = candidates;
+      int size = version;
+      if (size == current.length) {
+        current = Arrays.copyOf(current, 2 * size);
+        candidates = current;
+      }
+      current[size] = pCandidate;
+      version = size + 1;
+    }
+    return true;
+  }
+
+  void publishAll(Iterable<? extends CandidateInvariant> pCandidates) {
+    for (CandidateInvariant candidate : pCandidates) {
+      publish(candidate);
+    }
+  }
+
+  /**
+   * Gets the candidates that were published after the given version.
+   *
+   * @param pVersion a number of candidates published before.
+   * @return the candidates that were published after the given version, in the order in which they
+   *     were published.
+   */
+  private List<CandidateInvariant> getPublishedSince(int pVersion) {
+    // read the version before the array, so that the array contains all entries up to the version
+    int currentVersion = version;
+    CandidateInvariant[] current = candidates;
+    return Collections.unmodifiableList(
+        Arrays.asList(current).subList(Math.min(pVersion, currentVersion), currentVersion));
+  }
+
+  /**
+   * Gets the published candidates that apply to the given location.
+   *
+   * @param pLocation the location.
+   * @return the published candidates that apply to the given location.
+   */
+  List<CandidateInvariant> getPublishedFor(CFANode pLocation) {
+    return locationIndices.computeIfAbsent(pLocation, LocationIndex::new).update();
+  }
+
+  @Override
+  public Iterator<CandidateInvariant> iterator() {
+    return getPublishedSince(0).iterator();
+  }
+
+  @Override
+  public String toString() {
+    return getPublishedSince(0).toString();
+  }
+
+  private class LocationIndex {
+
+    private final CFANode location;
+
+    private int indexedVersion = 0;
+
+    private ImmutableList<CandidateInvariant> applicable = ImmutableList.of();
+
+    private LocationIndex(CFANode pLocation) {
+      location = pLocation;
+    }
+
+    private synchronized ImmutableList<CandidateInvariant> update() {
+      List<CandidateInvariant> newCandidates = getPublishedSince(indexedVersion);
+      if (newCandidates.isEmpty()) {
+        return applicable;
+      }
+      ImmutableList.Builder<CandidateInvariant> builder = null;
+      for (CandidateInvariant candidate : newCandidates) {
+        if (candidate.appliesTo(location)) {
+          if (builder == null) {
+            builder = ImmutableList.<CandidateInvariant>builder().addAll(applicable);
+          }
+          builder.add(candidate);
+        }
+      }
+      indexedVersion += newCandidates.size();
+      if (builder != null) {
+        applicable = builder.build();
+      }
+      return applicable;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariant;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
+import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
+import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+public class ConfirmedCandidateStoreTest {
+
+  private final CFANode location1 = new CFANode("main");
+
+  private final CFANode location2 = new CFANode("main");
+
+  private final ConfirmedCandidateStore store = new ConfirmedCandidateStore();
+
+  @Test
+  public void testPublishOnlyOnce() {
+    CandidateInvariant a = new TestCandidate("a", location1);
+    CandidateInvariant b = new TestCandidate("b", location2);
+    assertThat(store.publish(a)).isTrue();
+    assertThat(store.publish(b)).isTrue();
+    assertThat(store.publish(a)).isFalse();
+    assertThat(store.publish(new TestCandidate("a", location1))).isFalse();
+    assertThat(store).containsExactly(a, b).inOrder();
+  }
+
+  @Test
+  public void testPublishedForLocation() {
+    CandidateInvariant a = new TestCandidate("a", location1);
+    CandidateInvariant b = new TestCandidate("b", location2);
+    CandidateInvariant c = new TestCandidate("c", location1);
+    store.publishAll(ImmutableList.of(a, b));
+    assertThat(store.getPublishedFor(location1)).containsExactly(a);
+
+    // the index of a location is extended by the candidates published after the last lookup
+    store.publish(c);
+    assertThat(store.getPublishedFor(location1)).containsExactly(a, c).inOrder();
+    assertThat(store.getPublishedFor(location2)).containsExactly(b);
+    assertThat(store.getPublishedFor(new CFANode("main"))).isEmpty();
+  }
+
+  @Test
+  public void testGrowBeyondInitialCapacity() {
+    List<CandidateInvariant> candidates = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      candidates.add(new TestCandidate("c" + i, i % 2 == 0 ? location1 : location2));
+    }
+    store.publishAll(candidates);
+    assertThat(store).containsExactlyElementsIn(candidates).inOrder();
+    assertThat(store.getPublishedFor(location1)).hasSize(50);
+  }
+
+  @Test
+  public void testConcurrentPublish() throws Exception {
+    List<CandidateInvariant> candidates = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      candidates.add(new TestCandidate("c" + i, location1));
+    }
+    AtomicInteger newlyPublished = new AtomicInteger();
+    Callable<Void> publisher =
+        () -> {
+          for (CandidateInvariant candidate : candidates) {
+            if (store.publish(new TestCandidate(candidate.toString(), location1))) {
+              newlyPublished.incrementAndGet();
+            }
+            store.getPublishedFor(location1);
+          }
+          return null;
+        };
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      for (Future<Void> future :
+          executor.invokeAll(ImmutableList.of(publisher, publisher, publisher, publisher))) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(newlyPublished.get()).isEqualTo(candidates.size());
+    assertThat(store).containsExactlyElementsIn(candidates);
+    assertThat(store.getPublishedFor(location1)).containsExactlyElementsIn(candidates);
+  }
+
+  private static final class TestCandidate implements CandidateInvariant {
+
+    private final String name;
+
+    private final CFANode location;
+
+    private TestCandidate(String pName, CFANode pLocation) {
+      name = pName;
+      location = pLocation;
+    }
+
+    @Override
+    public BooleanFormula getFormula(
+        FormulaManagerView pFMGR, PathFormulaManager pPFMGR, @Nullable PathFormula pContext) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BooleanFormula getAssertion(
+        Iterable<AbstractState> pReachedSet, FormulaManagerView pFMGR, PathFormulaManager pPFMGR) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void assumeTruth(ReachedSet pReachedSet) {
+      // Do nothing
+    }
+
+    @Override
+    public boolean appliesTo(CFANode pLocation) {
+      return location.equals(pLocation);
+    }
+
+    @Override
+    public boolean equals(Object pOther) {
+      if (this == pOther) {
+        return true;
+      }
+      if (pOther instanceof TestCandidate) {
+        TestCandidate other = (TestCandidate) pOther;
+        return name.equals(other.name) && location.equals(other.location);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, location);
+    }
+
+    @Override
+    public String toString() {
+      return name;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.util.test.CPATestRunner;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+/** Checks that incremental BMC gives the same verdicts as BMC without incremental solving. */
+public class IncrementalBMCTest {
+
+  private static final String CONFIG_FILE = "config/bmc.properties";
+  private static final String TEST_DIR_PATH = "test/programs/induction/";
+
+  @Test
+  public void induction1() throws Exception {
+    check("induction1.c", Result.TRUE);
+  }
+
+  @Test
+  public void induction2() throws Exception {
+    check("induction2.c", Result.TRUE);
+  }
+
+  @Test
+  public void induction3_BUG() throws Exception {
+    check("induction3_BUG.c", Result.FALSE);
+  }
+
+  private void check(String pFilename, Result pExpected) throws Exception {
+    Result incremental = run(pFilename, true);
+    Result nonIncremental = run(pFilename, false);
+    assertThat(incremental).isEqualTo(nonIncremental);
+    assertThat(incremental).isEqualTo(pExpected);
+  }
+
+  private Result run(String pFilename, boolean pIncremental) throws Exception {
+    Configuration config =
+        TestDataTools.configurationForTest()
+            .loadFromFile(CONFIG_FILE)
+            .setOption("bmc.induction", "true")
+            .setOption("bmc.incrementalBMC", Boolean.toString(pIncremental))
+            .build();
+    return CPATestRunner.run(config, TEST_DIR_PATH + pFilename).getCheckerResult().getResult();
+  }
+}
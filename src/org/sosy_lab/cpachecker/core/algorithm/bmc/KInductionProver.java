@@ -58,6 +58,7 @@ import java.util.Set;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.stream.Stream;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.cfa.CFA;
@@ -79,6 +80,7 @@ import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSetFactory;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
@@ -145,6 +147,19 @@ class KInductionProver implements AutoCloseable {
 
   private ExpressionTreeSupplier expressionTreeSupplier;
 
+  /**
+   * The invariant suppliers are kept across queries and only updated with the reached sets that
+   * changed since the previous query, so that the invariants of unchanged reached sets and the
+   * formulas already created from them can be reused.
+   */
+  private @Nullable AggregatedReachedSets formulaInvariantsReachedSets = null;
+
+  private @Nullable FormulaInvariantsSupplier formulaInvariantsSupplier = null;
+
+  private @Nullable AggregatedReachedSets expressionTreeInvariantsReachedSets = null;
+
+  private @Nullable ExpressionTreeInvariantSupplier expressionTreeInvariantSupplier = null;
+
   private BooleanFormula loopHeadInvariants;
 
   private final Map<CandidateInvariant, BooleanFormula> violationFormulas = new HashMap<>();
@@ -210,7 +225,14 @@ class KInductionProver implements AutoCloseable {
           return ((KInductionInvariantGenerator) invariantGenerator).getSupplier();
         } else {
           // in the general case we have to retrieve the invariants from a reachedset
-          return new FormulaInvariantsSupplier(invariantGenerator.get());
+          AggregatedReachedSets reachedSets = invariantGenerator.get();
+          if (formulaInvariantsSupplier == null || reachedSets != formulaInvariantsReachedSets) {
+            formulaInvariantsSupplier = new FormulaInvariantsSupplier(reachedSets);
+            formulaInvariantsReachedSets = reachedSets;
+          } else {
+            formulaInvariantsSupplier.updateInvariants();
+          }
+          return formulaInvariantsSupplier;
         }
       } catch (CPAException e) {
         logger.logUserException(Level.FINE, e, "Invariant generation failed.");
@@ -225,12 +247,21 @@ class KInductionProver implements AutoCloseable {
     return InvariantSupplier.TrivialInvariantSupplier.INSTANCE;
   }
 
-  private ExpressionTreeSupplier getCurrentExpressionTreeInvariantSupplier() throws InterruptedException {
+  private ExpressionTreeSupplier getCurrentExpressionTreeInvariantSupplier()
+      throws InterruptedException {
     if (!invariantGenerationRunning) {
       return expressionTreeSupplier;
     }
     try {
-      return new ExpressionTreeInvariantSupplier(invariantGenerator.get(), cfa);
+      AggregatedReachedSets reachedSets = invariantGenerator.get();
+      if (expressionTreeInvariantSupplier == null
+          || reachedSets != expressionTreeInvariantsReachedSets) {
+        expressionTreeInvariantSupplier = new ExpressionTreeInvariantSupplier(reachedSets, cfa);
+        expressionTreeInvariantsReachedSets = reachedSets;
+      } else {
+        expressionTreeInvariantSupplier.updateInvariants();
+      }
+      return expressionTreeInvariantSupplier;
     } catch (CPAException e) {
       logger.logUserException(Level.FINE, e, "Invariant generation failed.");
       invariantGenerationRunning = false;
@@ -267,7 +298,7 @@ class KInductionProver implements AutoCloseable {
     };
   }
 
-  public BooleanFormula getCurrentLocationInvariants(
+  public synchronized BooleanFormula getCurrentLocationInvariants(
       CFANode pLocation,
       FormulaManagerView pFormulaManager,
       PathFormulaManager pPathFormulaManager,
@@ -280,7 +311,7 @@ class KInductionProver implements AutoCloseable {
         pLocation, Optional.empty(), pFormulaManager, pPathFormulaManager, pContext);
   }
 
-  public ExpressionTree<Object> getCurrentLocationInvariants(CFANode pLocation)
+  public synchronized ExpressionTree<Object> getCurrentLocationInvariants(CFANode pLocation)
       throws InterruptedException {
     ExpressionTreeSupplier currentInvariantsSupplier = getCurrentExpressionTreeInvariantSupplier();
 
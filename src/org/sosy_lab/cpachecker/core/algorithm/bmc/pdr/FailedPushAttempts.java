@@ -0,0 +1,101 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc.pdr;
+
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.Table;
+import java.util.Objects;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariant;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+
+/**
+ * The failed attempts to push a clause out of a frame, indexed by frame index and clause. An
+ * attempt does not need to be repeated as long as its inputs remain unchanged. The invariant
+ * versions are only meaningful for one {@link FrameSet}, so an instance of this class must only be
+ * used together with that frame set.
+ */
+class FailedPushAttempts {
+
+  private final Table<Integer, CandidateInvariant, Inputs> attempts = HashBasedTable.create();
+
+  /**
+   * Checks whether an attempt to push the given clause out of the given frame already failed with
+   * the same inputs, so that it would fail again.
+   */
+  boolean hasFailed(int pFrameIndex, CandidateInvariant pClause, Inputs pInputs) {
+    return pInputs.equals(attempts.get(pFrameIndex, pClause));
+  }
+
+  /** Records that pushing the given clause out of the given frame failed with the given inputs. */
+  void recordFailure(int pFrameIndex, CandidateInvariant pClause, Inputs pInputs) {
+    attempts.put(pFrameIndex, pClause, pInputs);
+  }
+
+  /** Records that the given clause was pushed out of the given frame. */
+  void recordPush(int pFrameIndex, CandidateInvariant pClause) {
+    attempts.remove(pFrameIndex, pClause);
+  }
+
+  /** The inputs of an attempt to push a clause from one frame to the next. */
+  static class Inputs {
+
+    private final long invariantsVersion;
+
+    private final BooleanFormula transitionFormula;
+
+    private final CandidateInvariant currentInvariant;
+
+    /**
+     * Creates the inputs of a push attempt.
+     *
+     * @param pInvariantsVersion the version of the frame invariants, as given by {@link
+     *     FrameSet#getInvariantsVersion(int)}.
+     * @param pTransitionFormula the transition formula.
+     * @param pCurrentInvariant the invariant assumed in addition to the frame invariants.
+     */
+    Inputs(
+        long pInvariantsVersion,
+        BooleanFormula pTransitionFormula,
+        CandidateInvariant pCurrentInvariant) {
+      invariantsVersion = pInvariantsVersion;
+      transitionFormula = Objects.requireNonNull(pTransitionFormula);
+      currentInvariant = Objects.requireNonNull(pCurrentInvariant);
+    }
+
+    @Override
+    public boolean equals(Object pOther) {
+      if (this == pOther) {
+        return true;
+      }
+      if (pOther instanceof Inputs) {
+        Inputs other = (Inputs) pOther;
+        return invariantsVersion == other.invariantsVersion
+            && transitionFormula.equals(other.transitionFormula)
+            && currentInvariant.equals(other.currentInvariant);
+      }
+      return false;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(invariantsVersion, transitionFormula, currentInvariant);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.bmc.pdr;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.EnumSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.CandidateInvariant;
+import org.sosy_lab.cpachecker.core.algorithm.bmc.candidateinvariants.SingleLocationFormulaInvariant;
+import org.sosy_lab.cpachecker.util.predicates.smt.BooleanFormulaManagerView;
+import org.sosy_lab.cpachecker.util.predicates.smt.Solver;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+import org.sosy_lab.java_smt.api.BooleanFormula;
+import org.sosy_lab.java_smt.api.SolverContext.ProverOptions;
+
+public class FailedPushAttemptsTest {
+
+  private final CFANode location = new CFANode("main");
+  private final CandidateInvariant clause =
+      SingleLocationFormulaInvariant.makeBooleanInvariant(location, true);
+  private final CandidateInvariant otherClause =
+      SingleLocationFormulaInvariant.makeBooleanInvariant(location, true);
+  private final CandidateInvariant currentInvariant =
+      SingleLocationFormulaInvariant.makeBooleanInvariant(location, true);
+
+  private Solver solver;
+  private FrameSet frameSet;
+  private BooleanFormula transition;
+  private FailedPushAttempts failedPushAttempts;
+
+  @Before
+  public void setUp() throws Exception {
+    solver =
+        Solver.create(
+            TestDataTools.configurationForTest().setOption("solver.solver", "SMTINTERPOL").build(),
+            LogManager.createTestLogManager(),
+            ShutdownNotifier.createDummy());
+    BooleanFormulaManagerView bfmgr = solver.getFormulaManager().getBooleanFormulaManager();
+    transition = bfmgr.makeVariable("t");
+    frameSet = new FrameSet(solver, EnumSet.of(ProverOptions.GENERATE_MODELS));
+    frameSet.pushFrontier(1, currentInvariant);
+    frameSet.pushFrontier(2, currentInvariant);
+    failedPushAttempts = new FailedPushAttempts();
+  }
+
+  @After
+  public void tearDown() {
+    frameSet.close();
+    solver.close();
+  }
+
+  private FailedPushAttempts.Inputs inputs(int pFrameIndex) {
+    return new FailedPushAttempts.Inputs(
+        frameSet.getInvariantsVersion(pFrameIndex), transition, currentInvariant);
+  }
+
+  @Test
+  public void testRepeatedAttemptWithSameInputs() {
+    frameSet.addFrameClause(1, clause);
+    assertThat(failedPushAttempts.hasFailed(1, clause, inputs(1))).isFalse();
+
+    failedPushAttempts.recordFailure(1, clause, inputs(1));
+    assertThat(failedPushAttempts.hasFailed(1, clause, inputs(1))).isTrue();
+    assertThat(failedPushAttempts.hasFailed(0, clause, inputs(0))).isFalse();
+    assertThat(failedPushAttempts.hasFailed(1, otherClause, inputs(1))).isFalse();
+  }
+
+  @Test
+  public void testFrameChangeAtOrAboveInvalidates() {
+    frameSet.addFrameClause(1, clause);
+    failedPushAttempts.recordFailure(1, clause, inputs(1));
+
+    // Frames below do not contribute to the invariants of frame 1.
+    frameSet.addFrameClause(0, otherClause);
+    assertThat(failedPushAttempts.hasFailed(1, clause, inputs(1))).isTrue();
+
+    frameSet.addFrameClause(2, otherClause);
+    assertThat(failedPushAttempts.hasFailed(1, clause, inputs(1))).isFalse();
+  }
+
+  @Test
+  public void testOtherTransitionOrInvariantInvalidates() {
+    frameSet.addFrameClause(1, clause);
+    failedPushAttempts.recordFailure(1, clause, inputs(1));
+    long version = frameSet.getInvariantsVersion(1);
+
+    BooleanFormula otherTransition =
+        solver.getFormulaManager().getBooleanFormulaManager().makeVariable("u");
+    FailedPushAttempts.Inputs otherTransitionInputs =
+        new FailedPushAttempts.Inputs(version, otherTransition, currentInvariant);
+    assertThat(failedPushAttempts.hasFailed(1, clause, otherTransitionInputs)).isFalse();
+    FailedPushAttempts.Inputs otherInvariantInputs =
+        new FailedPushAttempts.Inputs(version, transition, otherClause);
+    assertThat(failedPushAttempts.hasFailed(1, clause, otherInvariantInputs)).isFalse();
+  }
+
+  @Test
+  public void testPushForgetsFailure() {
+    frameSet.addFrameClause(1, clause);
+    failedPushAttempts.recordFailure(1, clause, inputs(1));
+    FailedPushAttempts.Inputs unchangedInputs = inputs(1);
+
+    failedPushAttempts.recordPush(1, clause);
+    assertThat(failedPushAttempts.hasFailed(1, clause, unchangedInputs)).isFalse();
+  }
+}
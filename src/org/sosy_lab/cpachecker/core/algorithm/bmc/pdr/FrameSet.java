@@ -55,6 +55,9 @@ class FrameSet implements AutoCloseable {
 
   private final List<ProverEnvironmentWithFallback> frameProvers = new ArrayList<>();
 
+  /** Counts the modifications of each frame; used to detect changes of the frame invariants. */
+  private final List<Long> frameModificationCounts = new ArrayList<>();
+
   private final Set<Integer> emptyFrames = new HashSet<>(2);
 
   private final Map<CandidateInvariant, Integer> rootCandidateInvariantFrontierIndices =
@@ -69,6 +72,7 @@ class FrameSet implements AutoCloseable {
 
   private void newFrame() {
     frames.add(new LinkedHashSet<>());
+    frameModificationCounts.add(0L);
 
     @SuppressWarnings("resource")
     ProverEnvironmentWithFallback prover =
@@ -116,6 +120,26 @@ class FrameSet implements AutoCloseable {
     return frameProvers.get(pFrameIndex);
   }
 
+  /**
+   * Gets a version number of the invariants at the given frame index. The version number changes
+   * whenever any frame at or above the given frame index is modified, i.e., whenever the result of
+   * {@link #getInvariants(int)} may have changed.
+   *
+   * @param pFrameIndex the frame index.
+   * @return a version number of the invariants at the given frame index.
+   */
+  public long getInvariantsVersion(int pFrameIndex) {
+    long version = 0;
+    for (int i = pFrameIndex; i <= getFrontierIndex(); ++i) {
+      version += frameModificationCounts.get(i);
+    }
+    return version;
+  }
+
+  private void frameModified(int pFrameIndex) {
+    frameModificationCounts.set(pFrameIndex, frameModificationCounts.get(pFrameIndex) + 1);
+  }
+
   public Set<CandidateInvariant> getInvariants(int pFrameIndex) {
     if (pFrameIndex < 0) {
       throw new IndexOutOfBoundsException("Illegal frame index: " + pFrameIndex);
@@ -142,6 +166,7 @@ class FrameSet implements AutoCloseable {
     }
     if (added) {
       emptyFrames.remove(pFrameIndex);
+      frameModified(pFrameIndex);
     }
   }
 
@@ -157,8 +182,11 @@ class FrameSet implements AutoCloseable {
     if (oldFrame.isEmpty()) {
       emptyFrames.add(pFrameIndex);
     }
+    frameModified(pFrameIndex);
     addFrameClause(pFrameIndex + 1, pClause);
-    frames.get(pFrameIndex + 1).add(pClause);
+    if (frames.get(pFrameIndex + 1).add(pClause)) {
+      frameModified(pFrameIndex + 1);
+    }
   }
 
   public int getFrontierIndex(CandidateInvariant pRootInvariant) {
@@ -194,6 +222,7 @@ class FrameSet implements AutoCloseable {
       if (oldFrame.isEmpty()) {
         emptyFrames.add(previousIndex);
       }
+      frameModified(previousIndex);
     }
     if (pFrontierIndex > getFrontierIndex()) {
       assert getFrontierIndex() + 1 == pFrontierIndex;
@@ -201,6 +230,7 @@ class FrameSet implements AutoCloseable {
     }
     assert getFrontierIndex() >= pFrontierIndex;
     frames.get(pFrontierIndex).add(pRootInvariant);
+    frameModified(pFrontierIndex);
     rootCandidateInvariantFrontierIndices.put(pRootInvariant, pFrontierIndex);
   }
 
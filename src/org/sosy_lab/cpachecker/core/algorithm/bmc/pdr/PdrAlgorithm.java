@@ -169,6 +169,9 @@ public class PdrAlgorithm implements Algorithm {
 
     private final Timer satCheck = new Timer();
     private final Timer errorPathCreation = new Timer();
+    private final Timer propagation = new Timer();
+    private int pushChecks = 0;
+    private int skippedPushChecks = 0;
 
     @Override
     public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
@@ -178,6 +181,11 @@ public class PdrAlgorithm implements Algorithm {
       if (errorPathCreation.getNumberOfIntervals() > 0) {
         pOut.println("Time for error path creation:        " + errorPathCreation);
       }
+      if (propagation.getNumberOfIntervals() > 0) {
+        pOut.println("Time for clause propagation:         " + propagation);
+        pOut.println("  Number of push checks:             " + pushChecks);
+        pOut.println("  Number of skipped push checks:     " + skippedPushChecks);
+      }
     }
 
     @Override
@@ -305,6 +313,10 @@ public class PdrAlgorithm implements Algorithm {
             solver, EnumSet.of(ProverOptions.GENERATE_MODELS, ProverOptions.GENERATE_UNSAT_CORE))) {
       learnClause(frameSet, 0, pTransitionRelation.getInitiationAssertion());
 
+      // The invariant versions are only meaningful for this frame set,
+      // so the failed push attempts are, too.
+      final FailedPushAttempts failedPushAttempts = new FailedPushAttempts();
+
       while (producedNewRootInvariants) {
         Optional<AlgorithmStatus> initialPushResult =
             initialPush(candidateGenerator, bmcReachedSet, frameSet);
@@ -316,32 +328,49 @@ public class PdrAlgorithm implements Algorithm {
 
           boolean propagated = false;
 
-          for (int i = 0; i < frameSet.getFrontierIndex(); ++i) {
-            @SuppressWarnings("resource")
-            ProverEnvironmentWithFallback frameProver = frameSet.getFrameProver(i);
-            Set<CandidateInvariant> frameInvariants = frameSet.getInvariants(i);
-            frameInvariants =
-                Sets.union(
-                    frameInvariants, Collections.singleton(getCurrentInvariant(pTransitionRelation)));
-            List<CandidateInvariant> toPush = new ArrayList<>();
-            for (CandidateInvariant frameClause : frameSet.getPushableFrameClauses(i)) {
-              InductionResult<CandidateInvariant> pushAttempt =
-                  checkInduction(
-                      frameProver,
-                      frameInvariants,
-                      pTransitionRelation,
-                      frameClause,
-                      InvariantStrengthenings.noStrengthening(),
-                      StandardLiftings.NO_LIFTING);
-              if (pushAttempt.isSuccessful()) {
-                toPush.add(frameClause);
-                propagated = true;
+          stats.propagation.start();
+          try {
+            BooleanFormula transitionFormula = pTransitionRelation.getTransitionFormula();
+            CandidateInvariant currentInvariant = getCurrentInvariant(pTransitionRelation);
+            for (int i = 0; i < frameSet.getFrontierIndex(); ++i) {
+              @SuppressWarnings("resource")
+              ProverEnvironmentWithFallback frameProver = frameSet.getFrameProver(i);
+              Set<CandidateInvariant> frameInvariants = frameSet.getInvariants(i);
+              frameInvariants = Sets.union(frameInvariants, Collections.singleton(currentInvariant));
+              FailedPushAttempts.Inputs pushAttemptInputs =
+                  new FailedPushAttempts.Inputs(
+                      frameSet.getInvariantsVersion(i), transitionFormula, currentInvariant);
+              List<CandidateInvariant> toPush = new ArrayList<>();
+              for (CandidateInvariant frameClause : frameSet.getPushableFrameClauses(i)) {
+                if (failedPushAttempts.hasFailed(i, frameClause, pushAttemptInputs)) {
+                  // Nothing changed since the last attempt, so it would fail again
+                  ++stats.skippedPushChecks;
+                  continue;
+                }
+                ++stats.pushChecks;
+                InductionResult<CandidateInvariant> pushAttempt =
+                    checkInduction(
+                        frameProver,
+                        frameInvariants,
+                        pTransitionRelation,
+                        frameClause,
+                        InvariantStrengthenings.noStrengthening(),
+                        StandardLiftings.NO_LIFTING);
+                if (pushAttempt.isSuccessful()) {
+                  toPush.add(frameClause);
+                  propagated = true;
+                } else {
+                  failedPushAttempts.recordFailure(i, frameClause, pushAttemptInputs);
+                }
               }
-            }
 
-            for (CandidateInvariant pushableClause : toPush) {
-              frameSet.pushFrameClause(i, pushableClause);
+              for (CandidateInvariant pushableClause : toPush) {
+                frameSet.pushFrameClause(i, pushableClause);
+                failedPushAttempts.recordPush(i, pushableClause);
+              }
             }
+          } finally {
+            stats.propagation.stop();
           }
 
           if (propagated) {
@@ -23,9 +23,13 @@
  */
 package org.sosy_lab.cpachecker.core.algorithm.mpv;
 
+import static com.google.common.collect.FluentIterable.from;
+
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.Nullable;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -36,17 +40,24 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.ClassOption;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.ConfigurationBuilder;
 import org.sosy_lab.common.configuration.FileOption;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -77,6 +88,7 @@ import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.AbstractStates;
+import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.resources.ResourceLimitChecker;
 
 /**
@@ -234,6 +246,16 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
           "Ignore exceptions, which may be caused by checking of some properties, to successfully check the others.")
   private boolean ignoreInnerExceptions = false;
 
+  @Option(
+      secure = true,
+      name = "parallel.threads",
+      description =
+          "Number of partitions, which are checked in parallel. Each parallel partition is checked "
+              + "by a separate instance of the analysis on the shared CFA, and its CPU time limit "
+              + "is applied to the thread, which checks the partition.")
+  @IntegerOption(min = 1)
+  private int threads = 1;
+
   private final MPVStatistics stats;
   private final ConfigurableProgramAnalysis cpa;
   private final LogManager logger;
@@ -244,6 +266,10 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
   private final PartitioningOperator partitioningOperator;
   private final MultipleProperties multipleProperties;
 
+  // Time limits of the partitions, which are currently checked in parallel
+  private TimeSpan reservedCpuTime = TimeSpan.empty();
+  private int startedPartitions;
+
   public MPVAlgorithm(
       ConfigurableProgramAnalysis pCpa,
       Configuration pConfig,
@@ -357,6 +383,11 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
         ImmutableList<Partition> partitions = partitioningOperator.createPartitions();
         int partitionNumber = 0;
         logger.log(Level.FINER, "Using the following partitions of properties:", partitions);
+        if (threads > 1) {
+          status = status.update(checkPartitionsInParallel(partitions, mainFunction, reached));
+          // Continue the algorithm, until all properties are not checked
+          continue;
+        }
         // Check each partition of properties
         for (Partition partition : partitions) {
           int numberOfProperties = partition.getNumberOfProperties();
@@ -365,7 +396,7 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
             continue;
           }
           stats.partitions.add(partition);
-          adjustTimeLimit(partition, partitions.size(), partitionNumber);
+          adjustTimeLimit(partition, partitions.size(), partitionNumber, TimeSpan.empty());
           partitionNumber++;
           ShutdownManager shutdownManager = ShutdownManager.createWithParent(shutdownNotifier);
           // Limit resources for partition
@@ -420,8 +451,168 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
     return status;
   }
 
+  /**
+   * Check the given partitions in parallel, each with its own reached set. Afterwards, the target
+   * states of all partitions are added to the given reached set, such that it contains the found
+   * property violations like after a sequential check.
+   */
+  private AlgorithmStatus checkPartitionsInParallel(
+      ImmutableList<Partition> partitions, CFANode mainFunction, ReachedSet reached)
+      throws CPAException, InterruptedException {
+    ImmutableList<Partition> nonEmptyPartitions =
+        from(partitions).filter(partition -> partition.getNumberOfProperties() > 0).toList();
+    stats.partitions.addAll(nonEmptyPartitions);
+    synchronized (this) {
+      startedPartitions = 0;
+      reservedCpuTime = TimeSpan.empty();
+    }
+    ShutdownManager shutdownManager = ShutdownManager.createWithParent(shutdownNotifier);
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            threads,
+            new ThreadFactoryBuilder()
+                .setNameFormat("MPVAlgorithm-partition-%d")
+                .setDaemon(true)
+                .build());
+    List<Future<AlgorithmStatus>> futures = new ArrayList<>(nonEmptyPartitions.size());
+    Map<Partition, List<Pair<AbstractState, Precision>>> targetStates = new ConcurrentHashMap<>();
+    boolean failed = true;
+    try {
+      for (Partition partition : nonEmptyPartitions) {
+        futures.add(
+            executor.submit(
+                () ->
+                    checkPartition(
+                        partition,
+                        nonEmptyPartitions.size(),
+                        mainFunction,
+                        shutdownManager,
+                        targetStates)));
+      }
+      AlgorithmStatus status = AlgorithmStatus.SOUND_AND_PRECISE;
+      for (Future<AlgorithmStatus> future : futures) {
+        status = status.update(future.get());
+      }
+      failed = false;
+
+      // the reached set is not thread-safe, so the states are added only here
+      for (Partition partition : nonEmptyPartitions) {
+        for (Pair<AbstractState, Precision> target :
+            targetStates.getOrDefault(partition, ImmutableList.of())) {
+          reached.add(target.getFirst(), target.getSecond());
+        }
+      }
+      return status;
+    } catch (ExecutionException e) {
+      Throwable t = e.getCause();
+      Throwables.propagateIfPossible(t, CPAException.class, InterruptedException.class);
+      throw new UnexpectedCheckedException("checking of partition", t);
+    } finally {
+      if (failed) {
+        // stop the other partitions
+        shutdownManager.requestShutdown("Checking of another partition failed");
+      }
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Check the given partition with a new instance of the analysis. This method is called in
+   * parallel for different partitions, so it must not modify the shared analysis or reached set.
+   * The target states of the partition are put into the given map.
+   */
+  private AlgorithmStatus checkPartition(
+      Partition partition,
+      int overallPartitions,
+      CFANode mainFunction,
+      ShutdownManager parentShutdownManager,
+      Map<Partition, List<Pair<AbstractState, Precision>>> targetStates)
+      throws CPAException, InterruptedException {
+    // the thread may have checked other partitions before, count its CPU time from here on
+    partition.startAnalysisInCurrentThread();
+    synchronized (this) {
+      adjustTimeLimit(partition, overallPartitions, startedPartitions++, reservedCpuTime);
+      if (partition.getTimeLimit().compareTo(TimeSpan.empty()) > 0) {
+        reservedCpuTime = TimeSpan.sum(reservedCpuTime, partition.getTimeLimit());
+      }
+      stats.iterationNumber++;
+    }
+    ShutdownManager shutdownManager =
+        ShutdownManager.createWithParent(parentShutdownManager.getNotifier());
+    ResourceLimitChecker limits =
+        ResourceLimitChecker.createThreadCpuTimeLimitChecker(
+            logger, shutdownManager, partition.getTimeLimit());
+    limits.start();
+
+    AlgorithmStatus status = AlgorithmStatus.SOUND_AND_PRECISE;
+    try {
+      CoreComponentsFactory coreComponents = createInnerCoreComponents(shutdownManager);
+      ConfigurableProgramAnalysis partitionCpa = coreComponents.createCPA(cfa, specification);
+      ReachedSet partitionReached = coreComponents.createReachedSet();
+      partitionReached.add(
+          partitionCpa.getInitialState(mainFunction, StateSpacePartition.getDefaultPartition()),
+          partitionCpa.getInitialPrecision(
+              mainFunction, StateSpacePartition.getDefaultPartition()));
+      Algorithm algorithm = coreComponents.createAlgorithm(partitionCpa, cfa, specification);
+      multipleProperties.setTargetProperties(partition.getProperties(), partitionReached);
+      try {
+        logger.log(
+            Level.INFO,
+            "Checking partition",
+            partition,
+            "with",
+            partition.getNumberOfProperties(),
+            "properties in parallel");
+        do {
+          status = status.update(algorithm.run(partitionReached));
+        } while (!partition.isChecked(partitionReached));
+      } catch (InterruptedException e) {
+        if (parentShutdownManager.getNotifier().shouldShutdown()) {
+          // If interrupted by outer limit checker, by the user or by another partition
+          partition.stopAnalysisOnFailure(partitionReached, "Interrupted");
+          throw e;
+        } else {
+          logger.log(Level.INFO, "Partition has exhausted resource limitations:", e);
+          partition.stopAnalysisOnFailure(partitionReached, "Inner time limit");
+        }
+      } catch (Exception e) {
+        partition.stopAnalysisOnFailure(partitionReached, e.getClass().getSimpleName());
+        if (ignoreInnerExceptions) {
+          logger.log(Level.INFO, "Exception occured during partition checking:", e);
+        } else {
+          throw e;
+        }
+      }
+      targetStates.put(
+          partition,
+          AbstractStates.getTargetStates(partitionReached)
+              .transform(state -> Pair.of(state, partitionReached.getPrecision(state)))
+              .toList());
+    } catch (InvalidConfigurationException e) {
+      // Should be unreachable, since configuration is already checked
+      throw new CPAException("Cannot create configuration for inner algorithm", e);
+    } finally {
+      limits.cancel();
+      synchronized (this) {
+        if (partition.getTimeLimit().compareTo(TimeSpan.empty()) > 0) {
+          reservedCpuTime = TimeSpan.difference(reservedCpuTime, partition.getTimeLimit());
+        }
+      }
+    }
+    return status;
+  }
+
+  /**
+   * Adjust the time limit of the given partition.
+   *
+   * @param reservedTime CPU time, which is reserved for partitions that are still checked in
+   *     parallel, and thus can not be distributed to this partition
+   */
   private void adjustTimeLimit(
-      Partition partition, int overallPartitions, int currentPartitionNumber) {
+      Partition partition,
+      int overallPartitions,
+      int currentPartitionNumber,
+      TimeSpan reservedTime) {
     if (limitsAdjustmentStrategy.equals(LimitAdjustmentStrategy.NONE)) {
       // Do not change the specified time limit
       return;
@@ -430,7 +621,7 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
       // Ignore intermediate steps
       return;
     }
-    TimeSpan overallSpentCpuTime = stats.getCurrentCpuTime();
+    TimeSpan overallSpentCpuTime = TimeSpan.sum(stats.getCurrentCpuTime(), reservedTime);
     TimeSpan overallCpuTimeLimit =
         cpuTimePerProperty.multiply(multipleProperties.getNumberOfProperties());
     if (overallCpuTimeLimit.compareTo(overallSpentCpuTime) <= 0
@@ -482,14 +673,7 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
       }
       stats.iterationNumber++;
 
-      ConfigurationBuilder innerConfigBuilder = Configuration.builder();
-      innerConfigBuilder.copyFrom(config);
-      innerConfigBuilder.clearOption("analysis.algorithm.MPV"); // to prevent infinite recursion
-      Configuration singleConfig = innerConfigBuilder.build();
-      CoreComponentsFactory coreComponents =
-          new CoreComponentsFactory(
-              singleConfig, logger, shutdownManager.getNotifier(), new AggregatedReachedSets());
-
+      CoreComponentsFactory coreComponents = createInnerCoreComponents(shutdownManager);
       return coreComponents.createAlgorithm(cpa, cfa, specification);
     } catch (InvalidConfigurationException e) {
       // Should be unreachable, since configuration is already checked
@@ -499,6 +683,16 @@ public class MPVAlgorithm implements Algorithm, StatisticsProvider {
     }
   }
 
+  private CoreComponentsFactory createInnerCoreComponents(ShutdownManager shutdownManager)
+      throws InvalidConfigurationException {
+    ConfigurationBuilder innerConfigBuilder = Configuration.builder();
+    innerConfigBuilder.copyFrom(config);
+    innerConfigBuilder.clearOption("analysis.algorithm.MPV"); // to prevent infinite recursion
+    Configuration singleConfig = innerConfigBuilder.build();
+    return new CoreComponentsFactory(
+        singleConfig, logger, shutdownManager.getNotifier(), new AggregatedReachedSets());
+  }
+
   @Override
   public void collectStatistics(Collection<Statistics> pStatsCollection) {
     pStatsCollection.add(stats);
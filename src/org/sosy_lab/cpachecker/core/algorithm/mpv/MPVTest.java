@@ -246,21 +246,26 @@ public class MPVTest {
     return properties;
   }
 
-  private void compareResultsMatrixes(
-      String[][] idealResults, List<AbstractSingleProperty> propertiesResults) {
-    // transform list of AbstractSingleProperty into matrix for comparison
-    String[][] actualResults = new String[propertiesResults.size()][4];
+  /** Transform list of AbstractSingleProperty into matrix for comparison. */
+  private static String[][] toResultsMatrix(List<AbstractSingleProperty> propertiesResults) {
+    String[][] results = new String[propertiesResults.size()][4];
     int i = 0;
     for (AbstractSingleProperty property : propertiesResults) {
-      actualResults[i][0] = property.getName();
-      actualResults[i][1] = property.getResult().toString();
-      actualResults[i][2] = String.valueOf(property.isAllViolationsFound());
-      actualResults[i][3] = String.valueOf(property.isRelevant());
+      results[i][0] = property.getName();
+      results[i][1] = property.getResult().toString();
+      results[i][2] = String.valueOf(property.isAllViolationsFound());
+      results[i][3] = String.valueOf(property.isRelevant());
       i++;
     }
+    return results;
+  }
+
+  private void compareResultsMatrixes(
+      String[][] idealResults, List<AbstractSingleProperty> propertiesResults) {
+    String[][] actualResults = toResultsMatrix(propertiesResults);
 
     // do not compare ideal verdicts UNKNOWN
-    for (i = 0; i < idealResults.length; i++) {
+    for (int i = 0; i < idealResults.length; i++) {
       if (idealResults[i][1].equals("UNKNOWN")) {
         assertThat(actualResults[i][0]).isEqualTo(idealResults[i][0]);
         for (int j = 0; j < idealResults[i].length; j++) {
@@ -329,6 +334,26 @@ public class MPVTest {
     checkResults(results, BASIC_IDEAL_RESULTS, Result.FALSE);
   }
 
+  @Test
+  public void parallelPartitioning() throws Exception {
+    Map<String, String> sequentialConfig =
+        createConfig(AUTOMATA_FILES, "AUTOMATON", "SeparatePartitioningOperator", false);
+    Map<String, String> parallelConfig =
+        ImmutableMap.<String, String>builder()
+            .putAll(sequentialConfig)
+            .put("mpv.parallel.threads", "2")
+            .build();
+    TestResults sequentialResults = CPATestRunner.run(sequentialConfig, SIMPLE_TEST);
+    TestResults parallelResults = CPATestRunner.run(parallelConfig, SIMPLE_TEST);
+
+    checkResults(sequentialResults, BASIC_IDEAL_RESULTS, Result.FALSE);
+    checkResults(parallelResults, BASIC_IDEAL_RESULTS, Result.FALSE);
+    assertThat(toResultsMatrix(parseResult(parallelResults.getCheckerResult())))
+        .isEqualTo(toResultsMatrix(parseResult(sequentialResults.getCheckerResult())));
+    // the violations found by the partitions are merged into the reached set
+    assertThat(parallelResults.getCheckerResult().getReached().hasViolatedProperties()).isTrue();
+  }
+
   @Test
   public void meaAllViolations() throws Exception {
     TestResults results =
@@ -19,7 +19,9 @@
  */
 package org.sosy_lab.cpachecker.core.algorithm.mpv.partition;
 
+import java.lang.management.ManagementFactory;
 import javax.management.JMException;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.cpachecker.core.algorithm.mpv.property.MultipleProperties;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
@@ -36,6 +38,8 @@ public final class Partition {
       isAssignUnknown; // whether treat analysis failure as Unknown for checked properties or not
   private long cpuTime = 0;
   private TimeSpan spentCpuTime = TimeSpan.ofNanos(-1);
+  // if set, only the CPU time of this thread is spent on the partition
+  private @Nullable Thread analysisThread = null;
 
   public Partition(
       MultipleProperties pProperties, TimeSpan pPartitionTimeLimit, boolean pIsAssignUnknown) {
@@ -58,6 +62,15 @@ public final class Partition {
     }
   }
 
+  /**
+   * Prepare partition for algorithm run in the current thread, while other partitions may be
+   * checked in parallel. Only the CPU time of the current thread is counted for this partition.
+   */
+  public void startAnalysisInCurrentThread() {
+    analysisThread = Thread.currentThread();
+    cpuTime = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+  }
+
   /** Stop checking of the partition on algorithm failure. */
   public void stopAnalysisOnFailure(ReachedSet reached, String reason) {
     if (isAssignUnknown) {
@@ -113,9 +126,19 @@ public final class Partition {
   }
 
   public TimeSpan getSpentCPUTime() {
-    if (spentCpuTime.asMillis() > 0) {
+    if (spentCpuTime.compareTo(TimeSpan.empty()) >= 0) {
+      // analysis was already stopped
       return spentCpuTime;
     }
+    if (analysisThread != null) {
+      // the thread is reused for other partitions, so only the time since the start counts
+      long stopCpuTime =
+          ManagementFactory.getThreadMXBean().getThreadCpuTime(analysisThread.getId());
+      if (cpuTime < 0 || stopCpuTime < 0) {
+        return TimeSpan.empty();
+      }
+      return TimeSpan.ofNanos(stopCpuTime - cpuTime);
+    }
     try {
       long stopCpuTime = ProcessCpuTime.read();
       if (cpuTime >= 0) {
@@ -21,6 +21,7 @@ package org.sosy_lab.cpachecker.core.algorithm.mpv.property;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import org.sosy_lab.common.time.TimeSpan;
 import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
@@ -33,7 +34,9 @@ public abstract class AbstractSingleProperty {
 
   private final String name;
 
-  private TimeSpan cpuTime; // CPU time, which was spent on checking this property
+  // CPU time in nanoseconds, which was spent on checking this property (partitions may be
+  // checked in parallel)
+  private final AtomicLong cpuTime = new AtomicLong(0);
   private boolean relevant; // whether this property was used during the analysis or not
   private int violations; // number of found property violations
   private boolean allViolationsFound;
@@ -43,7 +46,6 @@ public abstract class AbstractSingleProperty {
 
   protected AbstractSingleProperty(String pName) {
     name = pName;
-    cpuTime = TimeSpan.ofSeconds(0);
     relevant = false;
     violations = 0;
     allViolationsFound = false;
@@ -128,11 +130,11 @@ public abstract class AbstractSingleProperty {
   }
 
   public TimeSpan getCpuTime() {
-    return cpuTime;
+    return TimeSpan.ofNanos(cpuTime.get());
   }
 
   public void addCpuTime(TimeSpan pCpuTime) {
-    cpuTime = TimeSpan.sum(cpuTime, pCpuTime);
+    cpuTime.addAndGet(pCpuTime.asNanos());
   }
 
   public int getViolations() {
@@ -373,6 +373,8 @@ public class TerminationStatistics extends LassoAnalysisStatistics {
     pOut.println(
         "    Max time for termination analysis per lasso:    "
             + format(lassoTerminationTime.getMaxTime()));
+    pOut.println(
+        "  Number of reused lasso analysis results:          " + reusedLassoResults.get());
     pOut.println();
 
     int totoalTerminationArguments = terminationArguments.size();
@@ -29,6 +29,8 @@ import static java.util.logging.Level.FINER;
 import static java.util.logging.Level.WARNING;
 import static org.sosy_lab.java_smt.SolverContextFactory.Solvers.SMTINTERPOL;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import de.uni_freiburg.informatik.ultimate.lassoranker.AnalysisType;
@@ -49,9 +51,13 @@ import de.uni_freiburg.informatik.ultimate.logic.Script.LBool;
 import de.uni_freiburg.informatik.ultimate.logic.Term;
 import de.uni_freiburg.informatik.ultimate.util.ToolchainCanceledException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.IntegerOption;
@@ -68,6 +74,7 @@ import org.sosy_lab.cpachecker.core.algorithm.termination.lasso_analysis.toolcha
 import org.sosy_lab.cpachecker.core.counterexample.CounterexampleInfo;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 import org.sosy_lab.cpachecker.util.LoopStructure.Loop;
+import org.sosy_lab.cpachecker.util.Pair;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManagerImpl;
 import org.sosy_lab.cpachecker.util.predicates.smt.FormulaManagerView;
@@ -183,6 +190,23 @@ public class LassoAnalysis {
   @IntegerOption(min = 1)
   private int maxTemplateFunctions = 3;
 
+  @Option(
+    secure = true,
+    description =
+        "Reuse the (non-)termination arguments synthesized for a lasso "
+            + "if the same lasso of the same loop is analyzed again."
+  )
+  private boolean cacheResults = true;
+
+  @Option(
+    secure = true,
+    description =
+        "Maximal number of lassos whose (non-)termination arguments are kept for reuse, "
+            + "if termination.lassoAnalysis.cacheResults is enabled."
+  )
+  @IntegerOption(min = 0)
+  private int resultCacheSize = 1000;
+
   private final LogManager logger;
   private final ShutdownNotifier shutdownNotifier;
   private final LassoAnalysisStatistics statistics;
@@ -202,6 +226,17 @@ public class LassoAnalysis {
 
   private final ImmutableList<RankingTemplate> rankingTemplates;
 
+  /**
+   * The results of the synthesis of non-termination arguments and termination arguments for the
+   * lassos analyzed so far. Lassos are only built from the relevant variables of the loop, so
+   * counterexamples that differ only in irrelevant parts of the stem often lead to the same lasso.
+   * The lassos do not implement equals, so they are identified by their string representation,
+   * which contains the stem and loop transition relations and is built once per analyzed lasso.
+   */
+  private final Cache<Pair<Loop, String>, LassoAnalysisResult> nonTerminationResults;
+
+  private final Cache<Pair<Loop, String>, LassoAnalysisResult> terminationResults;
+
   @SuppressWarnings({"resource", "unchecked"})
   public static LassoAnalysis create(
       LassoBuilder pLassoBuilder,
@@ -317,6 +352,9 @@ public class LassoAnalysis {
     toolchainStorage = new LassoRankerToolchainStorage(pLogger, pShutdownNotifier);
 
     rankingTemplates = createTemplates(maxTemplateFunctions);
+
+    nonTerminationResults = CacheBuilder.newBuilder().maximumSize(resultCacheSize).build();
+    terminationResults = CacheBuilder.newBuilder().maximumSize(resultCacheSize).build();
   }
 
   private static ImmutableList<RankingTemplate> createTemplates(int pMaxTemplateFunctions) {
@@ -333,6 +371,8 @@ public class LassoAnalysis {
 
   /** Frees all created resources and the solver context. */
   public void close() {
+    nonTerminationResults.invalidateAll();
+    terminationResults.invalidateAll();
     toolchainStorage.clear();
     solverContext.close();
   }
@@ -393,12 +433,27 @@ public class LassoAnalysis {
 
     LassoAnalysisResult result = LassoAnalysisResult.unknown();
 
+    List<Pair<Loop, String>> cacheKeys = new ArrayList<>(lassos.size());
+    if (cacheResults) {
+      for (Lasso lasso : lassos) {
+        cacheKeys.add(Pair.of(pLoop, lasso.toString()));
+      }
+    }
+
     // Try to synthesize non-termination arguments first because it is much cheaper
     // than synthesizing termination arguments.
+    Iterator<Pair<Loop, String>> cacheKeyIterator = cacheKeys.iterator();
     for (Lasso lasso : lassos) {
       shutdownNotifier.shutdownIfNecessary();
-      logger.logf(FINER, "Synthesizing non-termination argument for lasso:\n%s.", lasso);
-      LassoAnalysisResult resultFromLasso = synthesizeNonTerminationArgument(pLoop, lasso);
+      Pair<Loop, String> cacheKey = cacheResults ? cacheKeyIterator.next() : null;
+      LassoAnalysisResult resultFromLasso = getCachedResult(nonTerminationResults, cacheKey);
+      if (resultFromLasso == null) {
+        logger.logf(FINER, "Synthesizing non-termination argument for lasso:\n%s.", lasso);
+        resultFromLasso = synthesizeNonTerminationArgument(pLoop, lasso);
+        cacheResult(nonTerminationResults, cacheKey, resultFromLasso);
+      } else {
+        logger.logf(FINER, "Reusing non-termination result for lasso:\n%s.", lasso);
+      }
       result = result.update(resultFromLasso);
 
       // Stop and return result if non-termination could be proved.
@@ -408,17 +463,47 @@ public class LassoAnalysis {
     }
 
     // Synthesize termination arguments
+    cacheKeyIterator = cacheKeys.iterator();
     for (Lasso lasso : lassos) {
       shutdownNotifier.shutdownIfNecessary();
-      logger.logf(FINER, "Synthesizing termination argument for lasso:\n%s.", lasso);
-      LassoAnalysisResult resultFromLasso =
-          synthesizeTerminationArgument(pLoop, lasso, pRelevantVariables);
+      Pair<Loop, String> cacheKey = cacheResults ? cacheKeyIterator.next() : null;
+      LassoAnalysisResult resultFromLasso = getCachedResult(terminationResults, cacheKey);
+      if (resultFromLasso == null) {
+        logger.logf(FINER, "Synthesizing termination argument for lasso:\n%s.", lasso);
+        resultFromLasso = synthesizeTerminationArgument(pLoop, lasso, pRelevantVariables);
+        cacheResult(terminationResults, cacheKey, resultFromLasso);
+      } else {
+        logger.logf(FINER, "Reusing termination result for lasso:\n%s.", lasso);
+      }
       result = result.update(resultFromLasso);
     }
 
     return result;
   }
 
+  /** Returns the cached result for the given key, or null if results are not cached. */
+  private @Nullable LassoAnalysisResult getCachedResult(
+      Cache<Pair<Loop, String>, LassoAnalysisResult> pCache,
+      @Nullable Pair<Loop, String> pCacheKey) {
+    if (pCacheKey == null) {
+      return null;
+    }
+    LassoAnalysisResult result = pCache.getIfPresent(pCacheKey);
+    if (result != null) {
+      statistics.lassoResultReused();
+    }
+    return result;
+  }
+
+  private void cacheResult(
+      Cache<Pair<Loop, String>, LassoAnalysisResult> pCache,
+      @Nullable Pair<Loop, String> pCacheKey,
+      LassoAnalysisResult pResult) {
+    if (pCacheKey != null) {
+      pCache.put(pCacheKey, pResult);
+    }
+  }
+
   private LassoAnalysisResult synthesizeNonTerminationArgument(Loop pLoop, Lasso lasso)
       throws IOException, SMTLIBException, TermException {
 
@@ -56,6 +56,8 @@ public abstract class LassoAnalysisStatistics implements Statistics {
 
   protected final AtomicInteger lassosCurrentIteration = new AtomicInteger();
 
+  protected final AtomicInteger reusedLassoResults = new AtomicInteger();
+
   protected final Multimap<Loop, TerminationArgument> terminationArguments =
       MultimapBuilder.linkedHashKeys().arrayListValues().build();
 
@@ -110,6 +112,10 @@ public abstract class LassoAnalysisStatistics implements Statistics {
     nonTerminationArguments.put(pLoop, pNonTerminationArgument);
   }
 
+  public void lassoResultReused() {
+    reusedLassoResults.incrementAndGet();
+  }
+
   protected void synthesizedTerminationArgument(
       Loop pLoop, TerminationArgument pTerminationArgument) {
     terminationArguments.put(pLoop, pTerminationArgument);
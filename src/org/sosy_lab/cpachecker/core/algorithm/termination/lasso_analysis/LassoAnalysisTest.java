@@ -0,0 +1,119 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.core.algorithm.termination.lasso_analysis;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import de.uni_freiburg.informatik.ultimate.lassoranker.Lasso;
+import de.uni_freiburg.informatik.ultimate.lassoranker.LinearTransition;
+import java.io.PrintStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.LoopStructure.Loop;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class LassoAnalysisTest {
+
+  private LassoAnalysisStatistics statistics;
+  private LassoAnalysis lassoAnalysis;
+  private Loop loop;
+
+  @Before
+  public void setUp() throws Exception {
+    CFA cfa = TestDataTools.makeCFA("void main() {", "  while (1) {}", "}");
+    loop = Iterables.getOnlyElement(cfa.getLoopStructure().get().getAllLoops());
+    statistics =
+        new LassoAnalysisStatistics() {
+          @Override
+          public void printStatistics(
+              PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {}
+
+          @Override
+          public String getName() {
+            return "";
+          }
+        };
+    lassoAnalysis =
+        LassoAnalysis.create(
+            LogManager.createTestLogManager(),
+            TestDataTools.configurationForTest().build(),
+            ShutdownNotifier.createDummy(),
+            cfa,
+            statistics);
+  }
+
+  @After
+  public void tearDown() {
+    lassoAnalysis.close();
+  }
+
+  @Test
+  public void testRepeatedLassoReusesResult() throws Exception {
+    LassoAnalysisResult first =
+        lassoAnalysis.checkTermination(loop, ImmutableList.of(trueLasso()), ImmutableSet.of());
+    assertThat(statistics.reusedLassoResults.get()).isEqualTo(0);
+
+    // a new lasso object with the same transitions is analyzed again
+    LassoAnalysisResult second =
+        lassoAnalysis.checkTermination(loop, ImmutableList.of(trueLasso()), ImmutableSet.of());
+    assertThat(statistics.reusedLassoResults.get()).isGreaterThan(0);
+    assertThat(second.hasNonTerminationArgument()).isEqualTo(first.hasNonTerminationArgument());
+    assertThat(second.hasTerminationArgument()).isEqualTo(first.hasTerminationArgument());
+  }
+
+  @Test
+  public void testNoReuseWithoutCache() throws Exception {
+    lassoAnalysis.close();
+    lassoAnalysis =
+        LassoAnalysis.create(
+            LogManager.createTestLogManager(),
+            TestDataTools.configurationForTest()
+                .setOption("termination.lassoAnalysis.resultCacheSize", "0")
+                .build(),
+            ShutdownNotifier.createDummy(),
+            TestDataTools.makeCFA("void main() {", "  while (1) {}", "}"),
+            statistics);
+
+    lassoAnalysis.checkTermination(loop, ImmutableList.of(trueLasso()), ImmutableSet.of());
+    lassoAnalysis.checkTermination(loop, ImmutableList.of(trueLasso()), ImmutableSet.of());
+    assertThat(statistics.reusedLassoResults.get()).isEqualTo(0);
+  }
+
+  /** Creates the lasso of a loop without variables and conditions. */
+  private static Lasso trueLasso() {
+    return new Lasso(trueTransition(), trueTransition());
+  }
+
+  private static LinearTransition trueTransition() {
+    return new LinearTransition(
+        ImmutableList.of(ImmutableList.of()), ImmutableMap.of(), ImmutableMap.of());
+  }
+}
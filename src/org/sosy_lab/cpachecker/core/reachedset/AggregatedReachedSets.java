@@ -26,13 +26,17 @@ package org.sosy_lab.cpachecker.core.reachedset;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.collect.FluentIterable.from;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
 
 public class AggregatedReachedSets {
   protected final Set<UnmodifiableReachedSet> reachedSets;
@@ -51,9 +55,32 @@ public class AggregatedReachedSets {
     }
   }
 
+  /**
+   * Publish predicates, which were found by an analysis, such that other analyses running in
+   * parallel can use them. The predicates are given as SMT-LIB2 strings, because every analysis
+   * uses its own solver. In contrast to reached sets, predicates can be exchanged before an
+   * analysis is finished, because adding a predicate to the precision never affects soundness.
+   *
+   * @param pPredicates the predicates with the locations, where they were found
+   */
+  public void publishPredicates(Iterable<Map.Entry<CFANode, String>> pPredicates) {
+    // no other analyses, which can use the predicates
+  }
+
+  /**
+   * Get the predicates, which were published by all analyses (including the calling one). The
+   * list only grows, so an analysis can skip the predicates it has already seen.
+   *
+   * @param pFromIndex the number of predicates, which are already known by the caller
+   */
+  public List<Map.Entry<CFANode, String>> getPublishedPredicates(int pFromIndex) {
+    return ImmutableList.of();
+  }
+
   private static class AggregatedThreadedReachedSets extends AggregatedReachedSets {
     private final ReentrantReadWriteLock lock;
     private final List<AggregatedThreadedReachedSets> otherAggregators = new ArrayList<>();
+    private final List<Map.Entry<CFANode, String>> publishedPredicates = new ArrayList<>();
 
     private AggregatedThreadedReachedSets(
         final ReentrantReadWriteLock pLock, Set<UnmodifiableReachedSet> pReachedSets) {
@@ -76,6 +103,32 @@ public class AggregatedReachedSets {
     public void concat(AggregatedThreadedReachedSets other) {
       otherAggregators.add(other);
     }
+
+    @Override
+    public void publishPredicates(Iterable<Map.Entry<CFANode, String>> pPredicates) {
+      synchronized (publishedPredicates) {
+        for (Map.Entry<CFANode, String> predicate : pPredicates) {
+          publishedPredicates.add(Maps.immutableEntry(predicate.getKey(), predicate.getValue()));
+        }
+      }
+    }
+
+    @Override
+    public List<Map.Entry<CFANode, String>> getPublishedPredicates(int pFromIndex) {
+      synchronized (publishedPredicates) {
+        if (pFromIndex >= publishedPredicates.size()) {
+          return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(
+            publishedPredicates.subList(pFromIndex, publishedPredicates.size()));
+      }
+    }
+
+    private int getNumberOfPublishedPredicates() {
+      synchronized (publishedPredicates) {
+        return publishedPredicates.size();
+      }
+    }
   }
 
   public static class AggregatedReachedSetManager {
@@ -112,6 +165,10 @@ public class AggregatedReachedSets {
       return reachedView;
     }
 
+    public int getNumberOfPublishedPredicates() {
+      return reachedView.getNumberOfPublishedPredicates();
+    }
+
     public synchronized void addAggregated(AggregatedReachedSets pAggregatedReachedSets) {
       lock.writeLock().lock();
 
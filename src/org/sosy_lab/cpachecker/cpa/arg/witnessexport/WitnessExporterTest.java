@@ -38,6 +38,8 @@ import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,16 +47,22 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import javax.xml.parsers.DocumentBuilderFactory;
 import org.junit.Test;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.ConfigurationBuilder;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.io.IO;
 import org.sosy_lab.common.io.TempFile;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMLTag;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.KeyDef;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.WitnessType;
 import org.sosy_lab.cpachecker.util.test.CPATestRunner;
 import org.sosy_lab.cpachecker.util.test.TestDataTools;
 import org.sosy_lab.cpachecker.util.test.TestResults;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 public class WitnessExporterTest {
 
@@ -77,6 +85,8 @@ public class WitnessExporterTest {
 
   private static final String TEST_DIR_PATH = "test/programs/witnessValidation/";
 
+  private static final String DEFAULT_SPECIFICATION = "config/specification/default.spc";
+
   @Test(timeout = 90000)
   public void multivar_true() throws Exception {
     newWitnessTester("multivar_true-unreach-call1_true-termination.i")
@@ -98,6 +108,119 @@ public class WitnessExporterTest {
       .performTest();
   }
 
+  @Test(timeout = 180000)
+  public void streamingExport_minepump_spec1_product33_false() throws Exception {
+    checkStreamingExportEqualsDomExport(
+        "minepump_spec1_product33_false-unreach-call_false-termination.cil.c",
+        WitnessGenerationConfig.PREDICATE_ANALYSIS);
+  }
+
+  @Test(timeout = 180000)
+  public void streamingExport_multivar_true() throws Exception {
+    checkStreamingExportEqualsDomExport(
+        "multivar_true-unreach-call1_true-termination.i", WitnessGenerationConfig.K_INDUCTION);
+  }
+
+  /**
+   * Generates a witness for the given program once with the DOM-based export and once with the
+   * streaming export and checks that both describe the same graph. Only the order of the data
+   * elements of a node and the creation time may differ.
+   */
+  private static void checkStreamingExportEqualsDomExport(
+      String pFilename, WitnessGenerationConfig pGenerationConfig) throws Exception {
+    String fullPath = Paths.get(TEST_DIR_PATH, pFilename).toString();
+    Map<String, String> options = new HashMap<>();
+    options.put("counterexample.export.compressWitness", "false");
+    options.put("cpa.arg.compressWitness", "false");
+
+    TempCompressedFilePath domWitnessPath = new TempCompressedFilePath("witness", ".graphml");
+    options.put("cpa.arg.witness.streamingExport", "false");
+    generateWitness(
+        fullPath, pGenerationConfig, DEFAULT_SPECIFICATION, options, domWitnessPath);
+
+    TempCompressedFilePath streamedWitnessPath = new TempCompressedFilePath("witness", ".graphml");
+    options.put("cpa.arg.witness.streamingExport", "true");
+    generateWitness(
+        fullPath, pGenerationConfig, DEFAULT_SPECIFICATION, options, streamedWitnessPath);
+
+    assertWithMessage("witness written by streaming export")
+        .that(describeWitness(streamedWitnessPath.uncompressedFilePath))
+        .containsExactlyElementsIn(describeWitness(domWitnessPath.uncompressedFilePath))
+        .inOrder();
+  }
+
+  /**
+   * Describes the keys, the graph data, and the nodes and edges (in document order) of a GraphML
+   * witness in a form that does not depend on the serialization.
+   */
+  private static List<String> describeWitness(Path pWitnessFile) throws Exception {
+    Document document =
+        DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(pWitnessFile.toFile());
+    Element root = document.getDocumentElement();
+    List<String> keys = new ArrayList<>();
+    List<String> result = new ArrayList<>();
+    for (Element child : childElements(root)) {
+      if (child.getTagName().equals(GraphMLTag.KEY.toString())) {
+        keys.add(
+            Joiner.on(' ')
+                .join(
+                    child.getAttribute("id"),
+                    child.getAttribute("for"),
+                    child.getAttribute("attr.name"),
+                    child.getAttribute("attr.type"),
+                    child.getTextContent().trim()));
+      } else if (child.getTagName().equals(GraphMLTag.GRAPH.toString())) {
+        List<String> graphData = new ArrayList<>();
+        for (Element element : childElements(child)) {
+          if (element.getTagName().equals(GraphMLTag.DATA.toString())) {
+            if (!element.getAttribute("key").equals(KeyDef.CREATIONTIME.id)) {
+              graphData.add(describeData(element));
+            }
+          } else if (element.getTagName().equals(GraphMLTag.NODE.toString())) {
+            List<String> nodeData = describeChildData(element);
+            Collections.sort(nodeData);
+            result.add("node " + element.getAttribute("id") + " " + nodeData);
+          } else {
+            result.add(
+                "edge "
+                    + element.getAttribute("source")
+                    + " -> "
+                    + element.getAttribute("target")
+                    + " "
+                    + describeChildData(element));
+          }
+        }
+        Collections.sort(graphData);
+        result.add(0, "graph " + graphData);
+      }
+    }
+    Collections.sort(keys);
+    result.add(0, "keys " + keys);
+    return result;
+  }
+
+  private static List<String> describeChildData(Element pElement) {
+    List<String> result = new ArrayList<>();
+    for (Element data : childElements(pElement)) {
+      result.add(describeData(data));
+    }
+    return result;
+  }
+
+  private static String describeData(Element pData) {
+    return pData.getAttribute("key") + "=" + pData.getTextContent();
+  }
+
+  private static List<Element> childElements(Element pElement) {
+    List<Element> result = new ArrayList<>();
+    for (Node child = pElement.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child instanceof Element) {
+        result.add((Element) child);
+      }
+    }
+    return result;
+  }
+
   private static void performTest(
       String pFilename,
       String pSpecification,
@@ -295,7 +418,7 @@ public class WitnessExporterTest {
 
     private WitnessGenerationConfig generationConfig = WitnessGenerationConfig.PREDICATE_ANALYSIS;
 
-    private String specificationFile = "config/specification/default.spc";
+    private String specificationFile = DEFAULT_SPECIFICATION;
 
     private ImmutableMap.Builder<String, String> overrideOptionsBuilder = ImmutableMap.builder();
 
@@ -90,6 +90,13 @@ class WitnessOptions {
   @Option(secure = true, description = "Always export source file name, even default")
   private boolean exportSourceFileName = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Verification witness: Write the GraphML output while traversing the witness"
+              + " instead of building an XML document of the whole witness in memory first?")
+  private boolean streamingExport = false;
+
   boolean exportFunctionCallsAndReturns() {
     return exportFunctionCallsAndReturns;
   }
@@ -137,4 +144,8 @@ class WitnessOptions {
   boolean exportSourceFileName() {
     return exportSourceFileName;
   }
+
+  boolean streamingExport() {
+    return streamingExport;
+  }
 }
@@ -26,8 +26,11 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -40,6 +43,7 @@ import org.sosy_lab.cpachecker.cpa.slab.SLARGToDotWriter;
 import org.sosy_lab.cpachecker.util.NumericIdProvider;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.ElementType;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMlBuilder;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMlStreamWriter;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.KeyDef;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeFlag;
 import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeType;
@@ -56,6 +60,11 @@ public class WitnessToOutputFormatsUtils {
    * @param pTarget where to append the GraphML
    */
   public static void writeToGraphMl(Witness witness, Appendable pTarget) throws IOException {
+    if (witness.getWitnessOptions().streamingExport()) {
+      streamToGraphMl(witness, pTarget);
+      return;
+    }
+
     // Write elements
     final GraphMlBuilder doc;
     try {
@@ -72,6 +81,143 @@ public class WitnessToOutputFormatsUtils {
     doc.appendTo(pTarget);
   }
 
+  /**
+   * Writes the witness as GraphML to the supplied {@link Appendable} without building an XML
+   * document in memory. Nodes and edges are written in the same order in which {@link
+   * #writeElementsOfGraphToDoc(GraphMlBuilder, Witness)} creates them.
+   */
+  private static void streamToGraphMl(Witness witness, Appendable pTarget) throws IOException {
+    // GraphML needs the key definitions before the graph, and a node needs to be complete
+    // before it is written, so we first determine the reached states and the used keys.
+    Set<String> reachedStates = new HashSet<>();
+    Set<KeyDef> usedKeys = EnumSet.noneOf(KeyDef.class);
+    Deque<String> waitlist = Queues.newArrayDeque();
+    String entryStateNodeId = witness.getEntryStateNodeId();
+    waitlist.push(entryStateNodeId);
+    reachedStates.add(entryStateNodeId);
+    while (!waitlist.isEmpty()) {
+      String source = waitlist.pop();
+      addKeys(usedKeys, getOwnNodeData(source, witness));
+      if (!isExpanded(source, witness)) {
+        continue;
+      }
+      for (Edge edge : witness.getLeavingEdges().get(source)) {
+        addKeys(usedKeys, edge.getLabel().getMapping().entrySet());
+        if (reachedStates.add(edge.getTarget())) {
+          waitlist.push(edge.getTarget());
+        }
+      }
+    }
+
+    try (GraphMlStreamWriter writer =
+        new GraphMlStreamWriter(
+            witness.getWitnessType(),
+            witness.getOriginFile(),
+            witness.getCfa(),
+            witness.getMetaData(),
+            usedKeys,
+            pTarget)) {
+      Set<String> writtenStates = new HashSet<>();
+      waitlist.push(entryStateNodeId);
+      writer.writeNode(entryStateNodeId, getNodeData(entryStateNodeId, witness, reachedStates));
+      writtenStates.add(entryStateNodeId);
+      while (!waitlist.isEmpty()) {
+        String source = waitlist.pop();
+        for (Edge edge : witness.getLeavingEdges().get(source)) {
+          String target = edge.getTarget();
+          if (writtenStates.add(target)) {
+            writer.writeNode(target, getNodeData(target, witness, reachedStates));
+            if (isExpanded(target, witness)) {
+              waitlist.push(target);
+            }
+          }
+          writer.writeEdge(
+              edge.getSource(), target, getData(edge.getLabel(), ElementType.EDGE));
+        }
+      }
+    }
+  }
+
+  private static void addKeys(Set<KeyDef> pKeys, Collection<Map.Entry<KeyDef, String>> pData) {
+    for (Map.Entry<KeyDef, String> data : pData) {
+      if (!data.getKey().keyFor.equals(ElementType.GRAPH)) {
+        pKeys.add(data.getKey());
+      }
+    }
+  }
+
+  /**
+   * Checks whether the leaving edges of the given state are exported, which is the case unless
+   * the exported invariant of the state is <code>false</code>.
+   */
+  private static boolean isExpanded(String pStateId, Witness witness) {
+    return pStateId.equals(witness.getEntryStateNodeId())
+        || !ExpressionTrees.getFalse().equals(getExportedInvariant(pStateId, witness));
+  }
+
+  private static ExpressionTree<Object> getExportedInvariant(String pStateId, Witness witness) {
+    if (!witness.getInvariantExportStates().contains(pStateId)) {
+      return ExpressionTrees.getTrue();
+    }
+    return witness.getStateInvariant(pStateId);
+  }
+
+  /**
+   * Collects the data of a node that is written by {@link #createNewNode(GraphMlBuilder, String,
+   * Witness)} and {@link #addInvariantsData(GraphMlBuilder, Element, String, Witness)}.
+   */
+  private static List<Map.Entry<KeyDef, String>> getOwnNodeData(String pStateId, Witness witness) {
+    List<Map.Entry<KeyDef, String>> result = new ArrayList<>();
+    if (witness.getWitnessOptions().exportNodeLabel()) {
+      result.add(Maps.immutableEntry(KeyDef.LABEL, pStateId));
+    }
+    for (NodeFlag f : witness.getNodeFlags().get(pStateId)) {
+      result.add(Maps.immutableEntry(f.key, "true"));
+    }
+    for (Property violation : witness.getViolatedProperties().get(pStateId)) {
+      result.add(Maps.immutableEntry(KeyDef.VIOLATEDPROPERTY, violation.toString()));
+    }
+    if (witness.hasQuasiInvariant(pStateId)) {
+      result.add(
+          Maps.immutableEntry(KeyDef.INVARIANT, witness.getQuasiInvariant(pStateId).toString()));
+    }
+    ExpressionTree<Object> tree = getExportedInvariant(pStateId, witness);
+    if (!tree.equals(ExpressionTrees.getTrue())) {
+      result.add(Maps.immutableEntry(KeyDef.INVARIANT, tree.toString()));
+      String scope = witness.getStateScopes().get(pStateId);
+      if (!isNullOrEmpty(scope) && !tree.equals(ExpressionTrees.getFalse())) {
+        result.add(Maps.immutableEntry(KeyDef.INVARIANTSCOPE, scope));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Collects all data of a node, including the node data of all exported edges entering it, which
+   * {@link #createNewEdge(GraphMlBuilder, Edge, Element)} attaches to the target node.
+   */
+  private static List<Map.Entry<KeyDef, String>> getNodeData(
+      String pStateId, Witness witness, Set<String> pReachedStates) {
+    List<Map.Entry<KeyDef, String>> result = getOwnNodeData(pStateId, witness);
+    for (Edge edge : witness.getEnteringEdges().get(pStateId)) {
+      if (pReachedStates.contains(edge.getSource()) && isExpanded(edge.getSource(), witness)) {
+        result.addAll(getData(edge.getLabel(), ElementType.NODE));
+      }
+    }
+    return result;
+  }
+
+  private static List<Map.Entry<KeyDef, String>> getData(
+      TransitionCondition pLabel, ElementType pElementType) {
+    List<Map.Entry<KeyDef, String>> result = new ArrayList<>();
+    for (Map.Entry<KeyDef, String> entry : pLabel.getMapping().entrySet()) {
+      if (entry.getKey().keyFor.equals(pElementType)) {
+        result.add(entry);
+      }
+    }
+    return result;
+  }
+
   /**
    * This method can be used to extract information about the nodes and edges in the witness which
    * then can be used e.g. for display in the HTML report (c.f. @link ReportGenerator).
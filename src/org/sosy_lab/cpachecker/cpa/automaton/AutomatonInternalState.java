@@ -81,6 +81,9 @@ public class AutomatonInternalState {
   /** Outgoing transitions of this state. */
   private final ImmutableList<AutomatonTransition> transitions;
 
+  /** Index of the outgoing transitions that may match a CFA edge. */
+  private final AutomatonTransitionIndex transitionIndex;
+
   private final boolean mIsTarget;
 
   /**
@@ -98,6 +101,7 @@ public class AutomatonInternalState {
       boolean pIsCycleStart) {
     this.name = pName;
     this.transitions = ImmutableList.copyOf(pTransitions);
+    this.transitionIndex = new AutomatonTransitionIndex(transitions);
     this.mIsTarget = pIsTarget;
     this.mAllTransitions = pAllTransitions;
     this.isCycleStart = pIsCycleStart;
@@ -164,6 +168,14 @@ public class AutomatonInternalState {
     return transitions;
   }
 
+  /**
+   * Returns the outgoing transitions that may match the given edge, in their original order. The
+   * triggers of all other transitions evaluate to false on this edge.
+   */
+  ImmutableList<AutomatonTransition> getCandidateTransitions(CFAEdge pEdge, LogManager pLogger) {
+    return transitionIndex.getCandidates(pEdge, pLogger);
+  }
+
   @Override
   public String toString() {
     return this.name;
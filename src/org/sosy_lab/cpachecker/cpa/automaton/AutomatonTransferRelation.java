@@ -61,6 +61,7 @@ import org.sosy_lab.cpachecker.cpa.threading.ThreadingState;
 import org.sosy_lab.cpachecker.cpa.threading.ThreadingTransferRelation;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
 import org.sosy_lab.cpachecker.util.statistics.StatIntHist;
 import org.sosy_lab.cpachecker.util.statistics.ThreadSafeTimerContainer.TimerWrapper;
 
@@ -80,6 +81,8 @@ public class AutomatonTransferRelation implements TransferRelation {
   private final TimerWrapper actionTime;
   private final TimerWrapper totalStrengthenTime;
   private final StatIntHist automatonSuccessors;
+  private final StatIntHist candidateTransitions;
+  private final StatInt skippedTransitions;
 
   public AutomatonTransferRelation(
       ControlAutomatonCPA pCpa,
@@ -96,6 +99,8 @@ public class AutomatonTransferRelation implements TransferRelation {
     actionTime = pStats.actionTime.getNewTimer();
     totalStrengthenTime = pStats.totalStrengthenTime.getNewTimer();
     automatonSuccessors = pStats.automatonSuccessors;
+    candidateTransitions = pStats.candidateTransitions;
+    skippedTransitions = pStats.skippedTransitions;
   }
 
   @Override
@@ -182,9 +187,17 @@ public class AutomatonTransferRelation implements TransferRelation {
     Collection<AutomatonState> lSuccessors = Sets.newLinkedHashSetWithExpectedSize(2);
     AutomatonExpressionArguments exprArgs = new AutomatonExpressionArguments(state, state.getVars(), otherElements, edge, logger);
     boolean edgeMatched = false;
-    int failedMatches = 0;
     boolean nonDetState = state.getInternalState().isNonDetState();
 
+    List<AutomatonTransition> transitions = state.getInternalState().getTransitions();
+    // transitions that are not candidates for this edge would not match
+    List<AutomatonTransition> candidates =
+        state.getInternalState().getCandidateTransitions(edge, logger);
+    int nextCandidate = 0;
+    int failedMatches = 0;
+    candidateTransitions.setNextValue(candidates.size());
+    skippedTransitions.setNextValue(transitions.size() - candidates.size());
+
     // these transitions cannot be evaluated until last, because they might have sideeffects on
     // other CPAs (dont want to execute them twice)
     // the transitionVariables have to be cached (produced during the match operation)
@@ -192,7 +205,13 @@ public class AutomatonTransferRelation implements TransferRelation {
     List<Pair<AutomatonTransition, Map<Integer, AAstNode>>> transitionsToBeTaken =
         new ArrayList<>(2);
 
-    for (AutomatonTransition t : state.getInternalState().getTransitions()) {
+    for (AutomatonTransition t : transitions) {
+      // the candidates are in the same order, so the transition is skipped iff it is not next
+      if (nextCandidate == candidates.size() || candidates.get(nextCandidate) != t) {
+        failedMatches++;
+        continue;
+      }
+      nextCandidate++;
       exprArgs.clearTransitionVariables();
 
       matchTime.start();
@@ -306,7 +325,7 @@ public class AutomatonTransferRelation implements TransferRelation {
                 state.isTreatingErrorsAsTarget());
 
         if (!(lSuccessor instanceof AutomatonState.BOTTOM)) {
-          lSuccessors.add(lSuccessor);
+          lSuccessors.add(cpa.shareIfPossible(lSuccessor));
         } else {
           // add nothing
         }
@@ -323,7 +342,7 @@ public class AutomatonTransferRelation implements TransferRelation {
               state.getFailedMatches() + failedMatches,
               null,
               state.isTreatingErrorsAsTarget());
-      return ImmutableSet.of(stateNewCounters);
+      return ImmutableSet.of(cpa.shareIfPossible(stateNewCounters));
     }
   }
 
@@ -0,0 +1,164 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.And;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchAssumeCase;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchAssumeEdge;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchCFAEdgeExact;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchCFAEdgeNodes;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchFunctionCall;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchFunctionCallStatement;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchFunctionExit;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchJavaAssert;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchLocationDescriptor;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchLoopStart;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchProgramEntry;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchProgramExit;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.Or;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonExpression.ResultValue;
+import org.sosy_lab.cpachecker.exceptions.CPATransferException;
+
+/**
+ * Index from CFA edges to the transitions of an automaton state, whose triggers may match the
+ * edge.
+ *
+ * <p>When the state is created, the trigger of every transition is split into its top-level
+ * conjuncts, and those conjuncts that only depend on the CFA edge (source line, offset, function
+ * name, edge type, etc.) are kept as guards of the transition. If such a guard does not hold on an
+ * edge, the trigger evaluates to false regardless of all other conjuncts, so the transition can be
+ * skipped. The guards are evaluated only once per edge, afterwards the candidate transitions for
+ * the edge are taken from the index. The index keeps the candidates only for a bounded number of
+ * edges and recomputes them for others.
+ */
+final class AutomatonTransitionIndex {
+
+  /** Maximal number of edges per state for which the candidates are kept. */
+  private static final int MAX_CACHED_EDGES = 1000;
+
+  private final ImmutableList<AutomatonTransition> transitions;
+
+  // guards.get(i) are the edge-only conjuncts of the trigger of transitions.get(i)
+  private final ImmutableList<ImmutableList<AutomatonBoolExpr>> guards;
+
+  // null if no transition has a guard, then all transitions are candidates on every edge
+  private final @Nullable Cache<CFAEdge, ImmutableList<AutomatonTransition>> candidatesForEdge;
+
+  AutomatonTransitionIndex(ImmutableList<AutomatonTransition> pTransitions) {
+    transitions = pTransitions;
+    ImmutableList.Builder<ImmutableList<AutomatonBoolExpr>> guardsBuilder =
+        ImmutableList.builder();
+    boolean hasGuards = false;
+    for (AutomatonTransition transition : transitions) {
+      List<AutomatonBoolExpr> transitionGuards = new ArrayList<>();
+      collectGuards(transition.getTrigger(), transitionGuards);
+      hasGuards |= !transitionGuards.isEmpty();
+      guardsBuilder.add(ImmutableList.copyOf(transitionGuards));
+    }
+    guards = guardsBuilder.build();
+    candidatesForEdge =
+        hasGuards ? CacheBuilder.newBuilder().maximumSize(MAX_CACHED_EDGES).build() : null;
+  }
+
+  /**
+   * Returns the transitions that may match the given edge, in their original order. All other
+   * transitions definitely do not match the edge.
+   */
+  ImmutableList<AutomatonTransition> getCandidates(CFAEdge pEdge, LogManager pLogger) {
+    if (candidatesForEdge == null) {
+      return transitions;
+    }
+    ImmutableList<AutomatonTransition> candidates = candidatesForEdge.getIfPresent(pEdge);
+    if (candidates == null) {
+      candidates = computeCandidates(pEdge, pLogger);
+      candidatesForEdge.put(pEdge, candidates);
+    }
+    return candidates;
+  }
+
+  private ImmutableList<AutomatonTransition> computeCandidates(CFAEdge pEdge, LogManager pLogger) {
+    AutomatonExpressionArguments args =
+        new AutomatonExpressionArguments(null, null, null, pEdge, pLogger);
+    ImmutableList.Builder<AutomatonTransition> candidates = ImmutableList.builder();
+    for (int i = 0; i < transitions.size(); i++) {
+      if (guardsHold(guards.get(i), args)) {
+        candidates.add(transitions.get(i));
+      }
+    }
+    return candidates.build();
+  }
+
+  private static boolean guardsHold(
+      List<AutomatonBoolExpr> pGuards, AutomatonExpressionArguments pArgs) {
+    for (AutomatonBoolExpr guard : pGuards) {
+      try {
+        ResultValue<Boolean> result = guard.eval(pArgs);
+        if (!result.canNotEvaluate() && !result.getValue()) {
+          return false;
+        }
+      } catch (CPATransferException e) {
+        // be conservative and keep the transition, it is evaluated completely later
+      }
+    }
+    return true;
+  }
+
+  /** Collects the conjuncts of the given trigger that only depend on the CFA edge. */
+  private static void collectGuards(AutomatonBoolExpr pTrigger, List<AutomatonBoolExpr> pGuards) {
+    if (isEdgeOnly(pTrigger)) {
+      pGuards.add(pTrigger);
+    } else if (pTrigger instanceof And) {
+      And and = (And) pTrigger;
+      collectGuards(and.a, pGuards);
+      collectGuards(and.b, pGuards);
+    }
+  }
+
+  /**
+   * Checks whether the given expression is evaluated only based on the CFA edge, such that it
+   * always yields the same definite result on the same edge.
+   */
+  private static boolean isEdgeOnly(AutomatonBoolExpr pExpr) {
+    if (pExpr instanceof And || pExpr instanceof Or) {
+      AutomatonBoolExpr.BoolBinaryTest test = (AutomatonBoolExpr.BoolBinaryTest) pExpr;
+      return isEdgeOnly(test.a) && isEdgeOnly(test.b);
+    }
+    return pExpr instanceof MatchLocationDescriptor
+        || pExpr instanceof MatchFunctionCall
+        || pExpr instanceof MatchFunctionCallStatement
+        || pExpr instanceof MatchFunctionExit
+        || pExpr instanceof MatchCFAEdgeNodes
+        || pExpr instanceof MatchCFAEdgeExact
+        || pExpr instanceof MatchAssumeCase
+        || pExpr instanceof MatchAssumeEdge
+        || pExpr instanceof MatchJavaAssert
+        || pExpr instanceof MatchProgramEntry
+        || pExpr instanceof MatchProgramExit
+        || pExpr instanceof MatchLoopStart;
+  }
+}
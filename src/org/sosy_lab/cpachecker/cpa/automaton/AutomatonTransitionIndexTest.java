@@ -0,0 +1,120 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.And;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.CPAQuery;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchAssumeCase;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchAssumeEdge;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.MatchCFAEdgeExact;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonBoolExpr.Or;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonExpression.ResultValue;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class AutomatonTransitionIndexTest {
+
+  private final LogManager logger = LogManager.createTestLogManager();
+
+  @Test
+  public void testCandidatesMatchLikeAllTransitions() throws Exception {
+    CFA cfa =
+        TestDataTools.makeCFA(
+            "void main() {",
+            "  int a = 0;",
+            "  if (a > 0) {",
+            "    a = a + 1;",
+            "  } else {",
+            "    a = a - 1;",
+            "  }",
+            "}");
+    ImmutableList<AutomatonTransition> transitions =
+        ImmutableList.of(
+            transition(new And(new MatchCFAEdgeExact("a = a + 1;"), AutomatonBoolExpr.TRUE)),
+            transition(new MatchAssumeCase(true)),
+            transition(new And(MatchAssumeEdge.INSTANCE, new CPAQuery("none", "none"))),
+            transition(new Or(new MatchAssumeCase(false), new MatchCFAEdgeExact("a = 0;"))),
+            transition(new And(new CPAQuery("none", "none"), new MatchAssumeCase(false))),
+            transition(AutomatonBoolExpr.TRUE));
+    AutomatonTransitionIndex index = new AutomatonTransitionIndex(transitions);
+
+    int skipped = 0;
+    for (CFANode node : cfa.getAllNodes()) {
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        ImmutableList<AutomatonTransition> candidates = index.getCandidates(edge, logger);
+        assertWithMessage("candidates for %s", edge)
+            .that(matching(candidates, edge))
+            .containsExactlyElementsIn(matching(transitions, edge))
+            .inOrder();
+        // a second lookup is answered from the index and must not differ
+        assertThat(index.getCandidates(edge, logger)).isEqualTo(candidates);
+        skipped += transitions.size() - candidates.size();
+      }
+    }
+    assertThat(skipped).isGreaterThan(0);
+  }
+
+  @Test
+  public void testNoGuards() throws Exception {
+    CFA cfa = TestDataTools.makeCFA("void main() {", "  int a = 0;", "}");
+    ImmutableList<AutomatonTransition> transitions =
+        ImmutableList.of(
+            transition(AutomatonBoolExpr.TRUE), transition(new CPAQuery("none", "none")));
+    AutomatonTransitionIndex index = new AutomatonTransitionIndex(transitions);
+
+    for (CFANode node : cfa.getAllNodes()) {
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        assertThat(index.getCandidates(edge, logger)).isEqualTo(transitions);
+      }
+    }
+  }
+
+  private static AutomatonTransition transition(AutomatonBoolExpr pTrigger) {
+    return new AutomatonTransition.Builder(pTrigger, "FOLLOW").build();
+  }
+
+  /** Returns the given transitions whose triggers do not definitely evaluate to false. */
+  private List<AutomatonTransition> matching(List<AutomatonTransition> pTransitions, CFAEdge pEdge)
+      throws Exception {
+    AutomatonExpressionArguments args =
+        new AutomatonExpressionArguments(
+            null, ImmutableMap.of(), ImmutableList.of(), pEdge, logger);
+    List<AutomatonTransition> result = new ArrayList<>();
+    for (AutomatonTransition transition : pTransitions) {
+      ResultValue<Boolean> match = transition.getTrigger().eval(args);
+      if (match.canNotEvaluate() || match.getValue()) {
+        result.add(transition);
+      }
+    }
+    return result;
+  }
+}
@@ -24,6 +24,7 @@
 package org.sosy_lab.cpachecker.cpa.automaton;
 
 import com.google.common.base.Verify;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MoreCollectors;
 import java.io.IOException;
@@ -32,7 +33,9 @@ import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
@@ -72,6 +75,7 @@ import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker.ProofCheckerCPA;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
+import org.sosy_lab.cpachecker.util.expressions.ExpressionTrees;
 import org.sosy_lab.cpachecker.util.globalinfo.AutomatonInfo;
 
 /**
@@ -133,7 +137,20 @@ public class ControlAutomatonCPA
   )
   private boolean topOnFinalSelfLoopingState = false;
 
+  @Option(
+      secure = true,
+      description =
+          "Share one automaton state between all abstract states with the same internal state,"
+              + " if it has no variables, assumptions and candidate invariants. This saves memory"
+              + " and speeds up the stop operator with many specification automata, but the"
+              + " numbers of (failed) matches are not tracked for shared states."
+              + " Do not combine it with analysis.traversal.useAutomatonInformation,"
+              + " which orders the waitlist by these numbers.")
+  private boolean shareStates = false;
+
   private final Automaton automaton;
+  private final Map<AutomatonInternalState, AutomatonState> sharedStates =
+      new ConcurrentHashMap<>();
   private final AutomatonState topState;
   private final AutomatonState bottomState;
 
@@ -270,6 +287,34 @@ public class ControlAutomatonCPA
         isTreatingErrorsAsTargets());
   }
 
+  /**
+   * Returns the shared instance for the given state, if states are shared and the state does not
+   * carry information besides its internal state. Otherwise the given state is returned.
+   */
+  AutomatonState shareIfPossible(AutomatonState pState) {
+    if (!shareStates
+        || pState.getClass() != AutomatonState.class
+        || pState.getOwningAutomaton() != automaton
+        || pState.isTreatingErrorsAsTarget() != isTreatingErrorsAsTargets()
+        || pState.getInternalState().isTarget()
+        || !pState.getVars().isEmpty()
+        || !pState.getAssumptions().isEmpty()
+        || !ExpressionTrees.getTrue().equals(pState.getCandidateInvariants())) {
+      return pState;
+    }
+    return sharedStates.computeIfAbsent(
+        pState.getInternalState(),
+        internalState ->
+            AutomatonState.automatonStateFactory(
+                ImmutableMap.of(),
+                internalState,
+                automaton,
+                0,
+                0,
+                null,
+                isTreatingErrorsAsTargets()));
+  }
+
   @Override
   public MergeOperator getMergeOperator() {
     if (mergeOnTop) {
@@ -0,0 +1,124 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.CFA;
+import org.sosy_lab.cpachecker.cfa.ast.AExpression;
+import org.sosy_lab.cpachecker.cfa.ast.c.CIntegerLiteralExpression;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.cfa.model.CFANode;
+import org.sosy_lab.cpachecker.core.defaults.SingletonPrecision;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.util.CFAUtils;
+import org.sosy_lab.cpachecker.util.test.TestDataTools;
+
+public class ControlAutomatonCPAShareStatesTest {
+
+  private final LogManager logger = LogManager.createTestLogManager();
+
+  @Test
+  public void testSuccessorsWithoutVariablesShared() throws Exception {
+    List<AutomatonState> successors = successors(automaton(ImmutableMap.of(), false), true);
+    assertThat(successors.size()).isAtLeast(2);
+    for (AutomatonState successor : successors) {
+      assertThat(successor).isSameInstanceAs(successors.get(0));
+    }
+  }
+
+  @Test
+  public void testSuccessorsNotSharedWithoutOption() throws Exception {
+    List<AutomatonState> successors = successors(automaton(ImmutableMap.of(), false), false);
+    assertThat(successors.get(1)).isNotSameInstanceAs(successors.get(0));
+  }
+
+  @Test
+  public void testSuccessorsWithVariablesNotShared() throws Exception {
+    List<AutomatonState> successors =
+        successors(
+            automaton(
+                ImmutableMap.of("x", AutomatonVariable.createAutomatonVariable("int", "x")),
+                false),
+            true);
+    assertThat(successors.get(0).getVars()).isNotEmpty();
+    assertThat(successors.get(1)).isNotSameInstanceAs(successors.get(0));
+  }
+
+  @Test
+  public void testSuccessorsWithAssumptionsNotShared() throws Exception {
+    List<AutomatonState> successors = successors(automaton(ImmutableMap.of(), true), true);
+    assertThat(successors.get(0).getAssumptions()).isNotEmpty();
+    assertThat(successors.get(1)).isNotSameInstanceAs(successors.get(0));
+  }
+
+  /** Creates an automaton with a single state that loops on every edge. */
+  private static Automaton automaton(
+      ImmutableMap<String, AutomatonVariable> pVars, boolean pWithAssumption)
+      throws InvalidAutomatonException {
+    ImmutableList<AExpression> assumptions =
+        pWithAssumption ? ImmutableList.of(CIntegerLiteralExpression.ONE) : ImmutableList.of();
+    AutomatonTransition loop =
+        new AutomatonTransition.Builder(AutomatonBoolExpr.TRUE, "q")
+            .withAssumptions(assumptions)
+            .build();
+    return new Automaton(
+        "Loop",
+        pVars,
+        ImmutableList.of(new AutomatonInternalState("q", ImmutableList.of(loop))),
+        "q");
+  }
+
+  /** Returns the successors of the initial state for all edges of a small program. */
+  private List<AutomatonState> successors(Automaton pAutomaton, boolean pShareStates)
+      throws Exception {
+    CFA cfa = TestDataTools.makeCFA("void main() {", "  int a = 0;", "  a = a + 1;", "}");
+    Configuration config =
+        Configuration.builder()
+            .setOption("cpa.automaton.shareStates", Boolean.toString(pShareStates))
+            .build();
+    ControlAutomatonCPA cpa =
+        new ControlAutomatonCPA(pAutomaton, config, logger, cfa, ShutdownNotifier.createDummy());
+    AbstractState initialState =
+        cpa.getInitialState(cfa.getMainFunction(), StateSpacePartition.getDefaultPartition());
+
+    List<AutomatonState> result = new ArrayList<>();
+    for (CFANode node : cfa.getAllNodes()) {
+      for (CFAEdge edge : CFAUtils.leavingEdges(node)) {
+        result.add(
+            Iterables.getOnlyElement(
+                cpa.getTransferRelation()
+                    .getAbstractSuccessorsForEdge(
+                        initialState, SingletonPrecision.getInstance(), edge)));
+      }
+    }
+    return result;
+  }
+}
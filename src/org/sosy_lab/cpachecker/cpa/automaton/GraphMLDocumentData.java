@@ -0,0 +1,283 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.io.InputStream;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonGraphmlParser.WitnessParseException;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.GraphMLTag;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.KeyDef;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeFlag;
+
+/**
+ * The contents of a GraphML witness that are relevant for parsing the witness automaton.
+ *
+ * <p>The document is read in a single pass with a streaming (StAX) XML reader. Instead of a full
+ * DOM tree, only the attributes and data values of the graph, its nodes and its edges are kept, so
+ * that also very large witnesses can be read with moderate memory consumption.
+ */
+final class GraphMLDocumentData {
+
+  private final GraphMLElement graph;
+
+  private final ImmutableMap<String, GraphMLElement> idToNodeMap;
+
+  private final ImmutableList<GraphMLElement> transitions;
+
+  private GraphMLDocumentData(
+      GraphMLElement pGraph,
+      ImmutableMap<String, GraphMLElement> pIdToNodeMap,
+      ImmutableList<GraphMLElement> pTransitions) {
+    graph = Objects.requireNonNull(pGraph);
+    idToNodeMap = Objects.requireNonNull(pIdToNodeMap);
+    transitions = Objects.requireNonNull(pTransitions);
+  }
+
+  GraphMLElement getGraph() {
+    return graph;
+  }
+
+  List<GraphMLElement> getTransitions() {
+    return transitions;
+  }
+
+  Set<String> getNodeIds() {
+    return idToNodeMap.keySet();
+  }
+
+  @Nullable GraphMLElement getNodeWithId(String pNodeId) {
+    return idToNodeMap.get(pNodeId);
+  }
+
+  /**
+   * Reads the GraphML document from the given input stream.
+   *
+   * @param pInputStream the input stream to read the document from.
+   * @return the relevant contents of the document.
+   * @throws WitnessParseException if the document is not well-formed or does not contain exactly
+   *     one graph.
+   */
+  static GraphMLDocumentData read(InputStream pInputStream) throws WitnessParseException {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+    // Keys and attribute names are repeated for every element, so we share them
+    Interner<String> names = Interners.newStrongInterner();
+
+    GraphMLElement graph = null;
+    ImmutableMap.Builder<String, GraphMLElement> idToNodeMap = ImmutableMap.builder();
+    ImmutableList.Builder<GraphMLElement> transitions = ImmutableList.builder();
+    try {
+      XMLStreamReader reader = factory.createXMLStreamReader(pInputStream);
+      try {
+        while (reader.hasNext()) {
+          if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+            continue;
+          }
+          String tag = reader.getLocalName();
+          if (tag.equals(GraphMLTag.GRAPH.toString())) {
+            AutomatonGraphmlParser.checkParsable(
+                graph == null, AutomatonGraphmlParser.TOO_MANY_GRAPHS_ERROR_MESSAGE);
+            // The graph element is only complete after all nodes and edges were read,
+            // so we collect its attributes now and its data elements on the fly
+            graph = readGraph(reader, names, idToNodeMap, transitions);
+          }
+        }
+      } finally {
+        reader.close();
+      }
+    } catch (XMLStreamException e) {
+      throw new WitnessParseException(e);
+    }
+    AutomatonGraphmlParser.checkParsable(
+        graph != null, AutomatonGraphmlParser.TOO_MANY_GRAPHS_ERROR_MESSAGE);
+    return new GraphMLDocumentData(graph, idToNodeMap.build(), transitions.build());
+  }
+
+  private static GraphMLElement readGraph(
+      XMLStreamReader pReader,
+      Interner<String> pNames,
+      ImmutableMap.Builder<String, GraphMLElement> pIdToNodeMap,
+      ImmutableList.Builder<GraphMLElement> pTransitions)
+      throws XMLStreamException, WitnessParseException {
+    ImmutableMap<String, String> attributes = readAttributes(pReader, pNames);
+    ImmutableListMultimap.Builder<String, String> data = ImmutableListMultimap.builder();
+    int depth = 1;
+    while (depth > 0) {
+      int event = pReader.next();
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      } else if (event == XMLStreamConstants.START_ELEMENT) {
+        String tag = pReader.getLocalName();
+        if (tag.equals(GraphMLTag.NODE.toString())) {
+          GraphMLElement node = readElement(pReader, pNames);
+          String id = node.getAttribute("id");
+          AutomatonGraphmlParser.checkParsable(id != null, "Every state needs an ID!");
+          pIdToNodeMap.put(id, node);
+        } else if (tag.equals(GraphMLTag.EDGE.toString())) {
+          pTransitions.add(readElement(pReader, pNames));
+        } else if (tag.equals(GraphMLTag.DATA.toString())) {
+          data.put(readKey(pReader, pNames), readTextContent(pReader));
+        } else if (tag.equals(GraphMLTag.GRAPH.toString())) {
+          throw new WitnessParseException(AutomatonGraphmlParser.TOO_MANY_GRAPHS_ERROR_MESSAGE);
+        } else {
+          ++depth;
+        }
+      }
+    }
+    return new GraphMLElement(attributes, data.build());
+  }
+
+  /** Reads a node or edge element including its data elements. */
+  private static GraphMLElement readElement(XMLStreamReader pReader, Interner<String> pNames)
+      throws XMLStreamException, WitnessParseException {
+    ImmutableMap<String, String> attributes = readAttributes(pReader, pNames);
+    ImmutableListMultimap.Builder<String, String> data = ImmutableListMultimap.builder();
+    int depth = 1;
+    while (depth > 0) {
+      int event = pReader.next();
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      } else if (event == XMLStreamConstants.START_ELEMENT) {
+        if (pReader.getLocalName().equals(GraphMLTag.DATA.toString())) {
+          data.put(readKey(pReader, pNames), readTextContent(pReader));
+        } else {
+          ++depth;
+        }
+      }
+    }
+    return new GraphMLElement(attributes, data.build());
+  }
+
+  private static ImmutableMap<String, String> readAttributes(
+      XMLStreamReader pReader, Interner<String> pNames) {
+    ImmutableMap.Builder<String, String> attributes = ImmutableMap.builder();
+    for (int i = 0; i < pReader.getAttributeCount(); i++) {
+      attributes.put(
+          pNames.intern(pReader.getAttributeLocalName(i)), pReader.getAttributeValue(i));
+    }
+    return attributes.build();
+  }
+
+  private static String readKey(XMLStreamReader pReader, Interner<String> pNames)
+      throws WitnessParseException {
+    String key = pReader.getAttributeValue(null, "key");
+    AutomatonGraphmlParser.checkParsable(key != null, "Every data element must have a key!");
+    return pNames.intern(key);
+  }
+
+  /**
+   * Reads the text content of the current element, including the text of nested elements, and
+   * advances the reader to the end of the current element.
+   */
+  private static String readTextContent(XMLStreamReader pReader) throws XMLStreamException {
+    StringBuilder text = new StringBuilder();
+    int depth = 1;
+    while (depth > 0) {
+      int event = pReader.next();
+      switch (event) {
+        case XMLStreamConstants.START_ELEMENT:
+          ++depth;
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          --depth;
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          text.append(pReader.getText());
+          break;
+        default:
+          // ignore comments and processing instructions
+          break;
+      }
+    }
+    return text.toString();
+  }
+
+  /** A graph, node, or edge of a GraphML document with its attributes and data values. */
+  static final class GraphMLElement {
+
+    private final ImmutableMap<String, String> attributes;
+
+    private final ImmutableListMultimap<String, String> data;
+
+    private GraphMLElement(
+        ImmutableMap<String, String> pAttributes, ImmutableListMultimap<String, String> pData) {
+      attributes = pAttributes;
+      data = pData;
+    }
+
+    @Nullable String getAttribute(String pName) {
+      return attributes.get(pName);
+    }
+
+    /**
+     * Gets the values of the data elements with the given key.
+     *
+     * @param pKey the key of the data elements.
+     * @return the values of the data elements with the given key.
+     */
+    Set<String> getData(KeyDef pKey) {
+      List<String> values = data.get(pKey.id);
+      // Backwards-compatibility: type/graph-type
+      if (values.isEmpty() && pKey.equals(KeyDef.WITNESS_TYPE)) {
+        values = data.get("type");
+        if (values.size() > 1) {
+          values = values.subList(0, 1);
+        }
+      }
+      return new LinkedHashSet<>(values);
+    }
+
+    EnumSet<NodeFlag> getNodeFlags() {
+      EnumSet<NodeFlag> result = EnumSet.noneOf(NodeFlag.class);
+      for (String key : data.keySet()) {
+        NodeFlag flag = NodeFlag.getNodeFlagByKey(key);
+        if (flag != null) {
+          result.add(flag);
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public String toString() {
+      String id = getAttribute("id");
+      return id != null ? id : attributes.toString();
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.automaton;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.LinkedListMultimap;
+import com.google.common.collect.ListMultimap;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.parsers.DocumentBuilderFactory;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cpa.automaton.AutomatonGraphmlParser.WitnessParseException;
+import org.sosy_lab.cpachecker.cpa.automaton.GraphMLDocumentData.GraphMLElement;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.KeyDef;
+import org.sosy_lab.cpachecker.util.automaton.AutomatonGraphmlCommon.NodeFlag;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Tests that the streaming reader of {@link GraphMLDocumentData} yields the same nodes, edges and
+ * data as reading the witness into a DOM tree, which is how witnesses were read before.
+ */
+public class GraphMLDocumentDataTest {
+
+  private static final String HEADER =
+      Joiner.on('\n')
+          .join(
+              "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>",
+              "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\""
+                  + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">",
+              " <key attr.name=\"isEntryNode\" attr.type=\"boolean\" for=\"node\" id=\"entry\">",
+              "  <default>false</default>",
+              " </key>",
+              " <key attr.name=\"assumption\" attr.type=\"string\" for=\"edge\""
+                  + " id=\"assumption\"/>");
+
+  private static final String VIOLATION_WITNESS =
+      Joiner.on('\n')
+          .join(
+              HEADER,
+              " <graph edgedefault=\"directed\" name=\"violation\">",
+              "  <data key=\"witness-type\">violation_witness</data>",
+              "  <data key=\"sourcecodelang\">C</data>",
+              "  <data key=\"producer\">CPAchecker</data>",
+              "  <data key=\"specification\"><![CDATA[CHECK( init(main()), LTL(G ! call(f())) )]]>"
+                  + "</data>",
+              "  <data key=\"programfile\">test.c</data>",
+              "  <data key=\"programhash\">0123456789abcdef</data>",
+              "  <data key=\"architecture\">32bit</data>",
+              "  <node id=\"A1\">",
+              "   <data key=\"entry\">true</data>",
+              "  </node>",
+              "  <node id=\"A2\"/>",
+              "  <node id=\"A3\">",
+              "   <!-- the error location -->",
+              "   <data key=\"violation\">true</data>",
+              "  </node>",
+              "  <node id=\"sink\"><data key=\"sink\">true</data></node>",
+              "  <edge id=\"E1\" source=\"A1\" target=\"A2\">",
+              "   <data key=\"startline\">5</data>",
+              "   <data key=\"assumption\">x &lt; 10 &amp;&amp; y == 0;</data>",
+              "   <data key=\"assumption.scope\">main</data>",
+              "   <data key=\"enterFunction\">main</data>",
+              "   <data key=\"threadId\">0</data>",
+              "  </edge>",
+              "  <edge source=\"A2\" target=\"A3\">",
+              "   <data key=\"startline\">7</data>",
+              "   <data key=\"control\">condition-true</data>",
+              "  </edge>",
+              "  <edge source=\"A2\" target=\"sink\">",
+              "   <data key=\"control\">condition-false</data>",
+              "  </edge>",
+              " </graph>",
+              "</graphml>");
+
+  private static final String CORRECTNESS_WITNESS =
+      Joiner.on('\n')
+          .join(
+              HEADER,
+              " <graph edgedefault=\"directed\">",
+              "  <data key=\"type\">correctness_witness</data>",
+              "  <data key=\"type\">violation_witness</data>",
+              "  <data key=\"sourcecodelang\">C</data>",
+              "  <node id=\"N0\">",
+              "   <data key=\"entry\">true</data>",
+              "   <data key=\"invariant\">1</data>",
+              "  </node>",
+              "  <node id=\"N1\">",
+              "   <data key=\"cyclehead\">true</data>",
+              "   <data key=\"invariant\">i &gt;= 0</data>",
+              "   <data key=\"invariant\">i &lt;= n</data>",
+              "   <data key=\"invariant.scope\">main</data>",
+              "   <shape><data key=\"label\">nested</data></shape>",
+              "  </node>",
+              "  <edge source=\"N0\" target=\"N1\">",
+              "   <data key=\"startline\">3</data>",
+              "   <data key=\"endline\">3</data>",
+              "   <data key=\"startoffset\">20</data>",
+              "   <data key=\"endoffset\">32</data>",
+              "   <data key=\"enterLoopHead\">true</data>",
+              "   <data key=\"sourcecode\">for (i = 0; i &lt; n; i++)</data>",
+              "  </edge>",
+              "  <edge source=\"N1\" target=\"N1\">",
+              "   <data key=\"enterLoopHead\">true</data>",
+              "  </edge>",
+              " </graph>",
+              "</graphml>");
+
+  @Test
+  public void testViolationWitness() throws Exception {
+    checkSameAsDom(VIOLATION_WITNESS);
+  }
+
+  @Test
+  public void testCorrectnessWitness() throws Exception {
+    checkSameAsDom(CORRECTNESS_WITNESS);
+  }
+
+  @Test
+  public void testBackwardsCompatibleWitnessType() throws Exception {
+    GraphMLDocumentData data = read(CORRECTNESS_WITNESS);
+    assertThat(data.getGraph().getData(KeyDef.WITNESS_TYPE))
+        .containsExactly("correctness_witness");
+  }
+
+  @Test(expected = WitnessParseException.class)
+  public void testTwoGraphs() throws Exception {
+    read(VIOLATION_WITNESS.replace(" </graph>", " </graph>\n <graph/>"));
+  }
+
+  private static GraphMLDocumentData read(String pWitness) throws WitnessParseException {
+    return GraphMLDocumentData.read(new ByteArrayInputStream(pWitness.getBytes(UTF_8)));
+  }
+
+  private static void checkSameAsDom(String pWitness) throws Exception {
+    Document document =
+        DocumentBuilderFactory.newInstance()
+            .newDocumentBuilder()
+            .parse(new ByteArrayInputStream(pWitness.getBytes(UTF_8)));
+    GraphMLDocumentData data = read(pWitness);
+
+    Element graph = (Element) document.getElementsByTagName("graph").item(0);
+    List<Element> graphData = new ArrayList<>();
+    for (Node child = graph.getFirstChild(); child != null; child = child.getNextSibling()) {
+      if (child instanceof Element && ((Element) child).getTagName().equals("data")) {
+        graphData.add((Element) child);
+      }
+    }
+    // The data of nodes and edges must not be attributed to the graph
+    checkSameElement("graph", graph, graphData, data.getGraph());
+
+    Map<String, Element> nodes = new LinkedHashMap<>();
+    for (Element node : elements(document.getElementsByTagName("node"))) {
+      nodes.put(node.getAttribute("id"), node);
+    }
+    assertThat(data.getNodeIds()).containsExactlyElementsIn(nodes.keySet()).inOrder();
+    for (Map.Entry<String, Element> node : nodes.entrySet()) {
+      GraphMLElement element = data.getNodeWithId(node.getKey());
+      checkSameElement(
+          "node " + node.getKey(),
+          node.getValue(),
+          elements(node.getValue().getElementsByTagName("data")),
+          element);
+
+      EnumSet<NodeFlag> flags = EnumSet.noneOf(NodeFlag.class);
+      for (Element dataElement : elements(node.getValue().getElementsByTagName("data"))) {
+        NodeFlag flag = NodeFlag.getNodeFlagByKey(dataElement.getAttribute("key"));
+        if (flag != null) {
+          flags.add(flag);
+        }
+      }
+      assertWithMessage("flags of node %s", node.getKey())
+          .that(element.getNodeFlags())
+          .isEqualTo(flags);
+    }
+
+    List<Element> edges = elements(document.getElementsByTagName("edge"));
+    assertThat(data.getTransitions()).hasSize(edges.size());
+    for (int i = 0; i < edges.size(); i++) {
+      Element edge = edges.get(i);
+      checkSameElement(
+          "edge " + i,
+          edge,
+          elements(edge.getElementsByTagName("data")),
+          data.getTransitions().get(i));
+    }
+  }
+
+  private static void checkSameElement(
+      String pName, Element pExpected, List<Element> pExpectedData, GraphMLElement pActual) {
+    assertWithMessage("%s", pName).that(pActual).isNotNull();
+
+    NamedNodeMap attributes = pExpected.getAttributes();
+    for (int i = 0; i < attributes.getLength(); i++) {
+      Node attribute = attributes.item(i);
+      assertWithMessage("attribute %s of %s", attribute.getNodeName(), pName)
+          .that(pActual.getAttribute(attribute.getNodeName()))
+          .isEqualTo(attribute.getNodeValue());
+    }
+
+    ListMultimap<String, String> expectedData = LinkedListMultimap.create();
+    for (Element dataElement : pExpectedData) {
+      expectedData.put(dataElement.getAttribute("key"), dataElement.getTextContent());
+    }
+    Set<NodeFlag> expectedFlags = EnumSet.noneOf(NodeFlag.class);
+    for (String key : expectedData.keySet()) {
+      NodeFlag flag = NodeFlag.getNodeFlagByKey(key);
+      if (flag != null) {
+        expectedFlags.add(flag);
+      }
+    }
+    assertWithMessage("node flags of %s", pName)
+        .that(pActual.getNodeFlags())
+        .containsExactlyElementsIn(expectedFlags);
+    for (KeyDef key : KeyDef.values()) {
+      Set<String> expectedValues = new LinkedHashSet<>(expectedData.get(key.id));
+      if (expectedValues.isEmpty() && key.equals(KeyDef.WITNESS_TYPE)) {
+        // Backwards-compatibility: type/graph-type
+        expectedValues.addAll(
+            expectedData.get("type").stream().limit(1).collect(ImmutableList.toImmutableList()));
+      }
+      assertWithMessage("data %s of %s", key.id, pName)
+          .that(pActual.getData(key))
+          .containsExactlyElementsIn(expectedValues)
+          .inOrder();
+    }
+  }
+
+  private static List<Element> elements(NodeList pNodes) {
+    List<Element> result = new ArrayList<>(pNodes.getLength());
+    for (int i = 0; i < pNodes.getLength(); i++) {
+      result.add((Element) pNodes.item(i));
+    }
+    return result;
+  }
+}
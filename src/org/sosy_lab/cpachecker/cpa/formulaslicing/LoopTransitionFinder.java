@@ -3,6 +3,8 @@ package org.sosy_lab.cpachecker.cpa.formulaslicing;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -24,6 +26,7 @@ import java.util.logging.Level;
 import org.sosy_lab.common.ShutdownManager;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -46,6 +49,7 @@ import org.sosy_lab.cpachecker.util.CFATraversal.CFAVisitor;
 import org.sosy_lab.cpachecker.util.CFATraversal.TraversalProcess;
 import org.sosy_lab.cpachecker.util.LoopStructure;
 import org.sosy_lab.cpachecker.util.LoopStructure.Loop;
+import org.sosy_lab.cpachecker.util.Triple;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap;
@@ -65,6 +69,7 @@ public class LoopTransitionFinder implements StatisticsProvider {
    */
   private static class Stats implements Statistics {
     final Timer LBEencodingTimer = new Timer();
+    int cachedLoopTransitions = 0;
 
     @Override
     public void printStatistics(PrintStream out, Result result, UnmodifiableReachedSet reached) {
@@ -72,6 +77,7 @@ public class LoopTransitionFinder implements StatisticsProvider {
           LBEencodingTimer,
           LBEencodingTimer.getMaxTime().formatAs(TimeUnit.SECONDS),
           LBEencodingTimer.getAvgTime().formatAs(TimeUnit.SECONDS));
+      out.printf("Number of cached loop transitions: %d%n", cachedLoopTransitions);
     }
 
     @Override
@@ -93,6 +99,11 @@ public class LoopTransitionFinder implements StatisticsProvider {
   @TimeSpanOption(codeUnit = TimeUnit.NANOSECONDS, defaultUserUnit = TimeUnit.SECONDS, min = 0)
    private TimeSpan timeForLoopGeneration = TimeSpan.ofSeconds(0);
 
+  @Option(secure=true, description="Maximal number of loop transitions to cache "
+      + "(0 to disable caching)")
+  @IntegerOption(min=0)
+  private int loopTransitionCacheSize = 1000;
+
   private final PathFormulaManager pfmgr;
   private final FormulaManagerView fmgr;
   private final LogManager logger;
@@ -102,6 +113,13 @@ public class LoopTransitionFinder implements StatisticsProvider {
 
   private final Map<CFANode, Table<CFANode, CFANode, EdgeWrapper>> LBEcache;
 
+  /**
+   * Loop transitions which were already generated, for the given loop head,
+   * starting SSA map and pointer-target set.
+   */
+  private final Cache<Triple<CFANode, SSAMap, PointerTargetSet>, PathFormula>
+      loopTransitionCache;
+
   public LoopTransitionFinder(
       Configuration config,
       LoopStructure pLoopStructure,
@@ -119,6 +137,8 @@ public class LoopTransitionFinder implements StatisticsProvider {
     loopStructure = pLoopStructure;
 
     LBEcache = new HashMap<>();
+    loopTransitionCache =
+        CacheBuilder.newBuilder().maximumSize(loopTransitionCacheSize).build();
   }
 
   public PathFormula generateLoopTransition(
@@ -130,6 +150,13 @@ public class LoopTransitionFinder implements StatisticsProvider {
     Preconditions.checkState(loopStructure.getAllLoopHeads()
         .contains(loopHead));
 
+    Triple<CFANode, SSAMap, PointerTargetSet> key = Triple.of(loopHead, start, pts);
+    PathFormula cached = loopTransitionCache.getIfPresent(key);
+    if (cached != null) {
+      statistics.cachedLoopTransitions++;
+      return cached;
+    }
+
     ShutdownManager loopGenerationShutdown = ShutdownManager.createWithParent(shutdownNotifier);
     ResourceLimitChecker limits = null;
     if (!timeForLoopGeneration.isEmpty()) {
@@ -152,6 +179,7 @@ public class LoopTransitionFinder implements StatisticsProvider {
       limits.cancel();
     }
 
+    loopTransitionCache.put(key, out);
     return out;
   }
 
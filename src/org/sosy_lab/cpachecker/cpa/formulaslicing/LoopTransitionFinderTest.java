@@ -36,6 +36,7 @@ import org.sosy_lab.cpachecker.cfa.CFA;
 import org.sosy_lab.cpachecker.cfa.CFACreator;
 import org.sosy_lab.cpachecker.cfa.model.CFANode;
 import org.sosy_lab.cpachecker.cfa.types.MachineModel;
+import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
 import org.sosy_lab.cpachecker.core.AnalysisDirection;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormulaManager;
@@ -146,6 +147,57 @@ public class LoopTransitionFinderTest {
     assertEquivalent(summary.getFormula(), expected.getFormula());
   }
 
+  @Test
+  public void testCachedLoopTransition() throws Exception {
+    CFA cfa = TestDataTools.toSingleFunctionCFA(creator,
+        "int x = 0;",
+        "while (1) {",
+          "x += 1;",
+        "}"
+    );
+    CFANode loopHead = cfa.getAllLoopHeads().get().iterator().next();
+    LoopTransitionFinder loopTransitionFinder =
+        new LoopTransitionFinder(config, cfa.getLoopStructure().get(), pfmgr, fmgr, logger, notifier);
+    PathFormula transition = loopTransitionFinder.generateLoopTransition(
+        SSAMap.emptySSAMap(), PointerTargetSet.emptyPointerTargetSet(), loopHead);
+
+    assertThat(loopTransitionFinder.generateLoopTransition(
+        SSAMap.emptySSAMap(), PointerTargetSet.emptyPointerTargetSet(), loopHead))
+        .isSameInstanceAs(transition);
+
+    SSAMap otherStart =
+        SSAMap.emptySSAMap().builder().setIndex("main::x", CNumericTypes.INT, 3).build();
+    PathFormula otherTransition = loopTransitionFinder.generateLoopTransition(
+        otherStart, PointerTargetSet.emptyPointerTargetSet(), loopHead);
+    assertThat(otherTransition).isNotSameInstanceAs(transition);
+    assertThat(otherTransition.getSsa()).isNotEqualTo(transition.getSsa());
+  }
+
+  @Test
+  public void testNoCachedLoopTransitionWithoutCache() throws Exception {
+    CFA cfa = TestDataTools.toSingleFunctionCFA(creator,
+        "int x = 0;",
+        "while (1) {",
+          "x += 1;",
+        "}"
+    );
+    CFANode loopHead = cfa.getAllLoopHeads().get().iterator().next();
+    Configuration noCache =
+        Configuration.builder()
+            .copyFrom(config)
+            .setOption("cpa.slicing.loopTransitionCacheSize", "0")
+            .build();
+    LoopTransitionFinder loopTransitionFinder =
+        new LoopTransitionFinder(
+            noCache, cfa.getLoopStructure().get(), pfmgr, fmgr, logger, notifier);
+    PathFormula transition = loopTransitionFinder.generateLoopTransition(
+        SSAMap.emptySSAMap(), PointerTargetSet.emptyPointerTargetSet(), loopHead);
+
+    assertThat(loopTransitionFinder.generateLoopTransition(
+        SSAMap.emptySSAMap(), PointerTargetSet.emptyPointerTargetSet(), loopHead))
+        .isNotSameInstanceAs(transition);
+  }
+
   private PathFormula fromLine(String line) throws Exception {
     return TestDataTools.toPathFormula(
         TestDataTools.toSingleFunctionCFA(creator, line),
@@ -23,16 +23,21 @@
  */
 package org.sosy_lab.cpachecker.cpa.interval;
 
-import com.google.common.base.Preconditions;
 import com.google.common.base.Splitter;
 import com.google.common.collect.ComparisonChain;
+import com.google.common.collect.ImmutableSortedMap;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.collect.PersistentMap;
 import org.sosy_lab.cpachecker.cfa.model.FunctionExitNode;
 import org.sosy_lab.cpachecker.core.defaults.LatticeAbstractState;
@@ -59,22 +64,91 @@ public class IntervalAnalysisState
 
   private static final Splitter propertySplitter = Splitter.on("<=").trimResults();
 
+  /** the number of variables per chunk, which is the number of bits of a long */
+  private static final int CHUNK_SIZE = Long.SIZE;
+
+  private static final Chunk EMPTY_CHUNK = new Chunk();
+
   /**
-   * the intervals of the element
+   * the intervals and reference counts of the element, the variable with identifier i is stored at
+   * position i % CHUNK_SIZE of chunk i / CHUNK_SIZE. Chunks are never modified and shared between
+   * states, missing chunks at the end are empty.
    */
-  private final PersistentMap<String, Interval> intervals;
+  private transient Chunk[] chunks;
+
+  private transient int hashCode;
 
   /**
-   * the reference counts of the element
+   * The intervals and reference counts of CHUNK_SIZE variables. Bounds of untracked variables are
+   * Long.MIN_VALUE and Long.MAX_VALUE, empty intervals are stored as the lower bound Long.MAX_VALUE
+   * and the upper bound Long.MIN_VALUE.
    */
-  private final PersistentMap<String, Integer> referenceCounts;
+  private static final class Chunk {
+
+    /** the bit of each tracked variable is set */
+    private final long tracked;
+
+    private final long[] low;
+    private final long[] high;
+    private final int[] referenceCounts;
+
+    /** whether a tracked variable has an empty interval */
+    private final boolean hasEmptyInterval;
+
+    private Chunk() {
+      this(0, new long[CHUNK_SIZE], new long[CHUNK_SIZE], new int[CHUNK_SIZE]);
+      Arrays.fill(low, Long.MIN_VALUE);
+      Arrays.fill(high, Long.MAX_VALUE);
+    }
+
+    private Chunk(long pTracked, long[] pLow, long[] pHigh, int[] pReferenceCounts) {
+      tracked = pTracked;
+      low = pLow;
+      high = pHigh;
+      referenceCounts = pReferenceCounts;
+      boolean empty = false;
+      for (int i = 0; i < CHUNK_SIZE; i++) {
+        empty |= pLow[i] > pHigh[i];
+      }
+      hasEmptyInterval = empty;
+    }
+
+    private boolean isTracked(int slot) {
+      return (tracked & (1L << slot)) != 0;
+    }
+
+    private Interval getInterval(int slot) {
+      if (low[slot] > high[slot]) {
+        return new Interval(null, null);
+      }
+      return new Interval(low[slot], high[slot]);
+    }
+
+    /** Copy this chunk with a new interval (or without an interval, if null) of one variable. */
+    private Chunk with(int slot, @Nullable Interval interval, int referenceCount) {
+      long[] newLow = low.clone();
+      long[] newHigh = high.clone();
+      int[] newReferenceCounts = referenceCounts.clone();
+      long newTracked;
+      if (interval == null) {
+        newTracked = tracked & ~(1L << slot);
+        newLow[slot] = Long.MIN_VALUE;
+        newHigh[slot] = Long.MAX_VALUE;
+      } else {
+        newTracked = tracked | (1L << slot);
+        newLow[slot] = interval.isEmpty() ? Long.MAX_VALUE : interval.getLow();
+        newHigh[slot] = interval.isEmpty() ? Long.MIN_VALUE : interval.getHigh();
+      }
+      newReferenceCounts[slot] = referenceCount;
+      return new Chunk(newTracked, newLow, newHigh, newReferenceCounts);
+    }
+  }
 
   /**
    *  This method acts as the default constructor, which initializes the intervals and reference counts to empty maps and the previous element to null.
    */
   public IntervalAnalysisState() {
-    intervals = PathCopyingPersistentTreeMap.of();
-    referenceCounts = PathCopyingPersistentTreeMap.of();
+    chunks = new Chunk[0];
   }
 
   /**
@@ -84,8 +158,43 @@ public class IntervalAnalysisState
    * @param referencesMap the reference counts
    */
   public IntervalAnalysisState(PersistentMap<String, Interval> intervals, PersistentMap<String, Integer> referencesMap) {
-    this.intervals        = intervals;
-    this.referenceCounts  = referencesMap;
+    this(intervals, (Map<String, Integer>) referencesMap);
+  }
+
+  private IntervalAnalysisState(
+      Map<String, Interval> intervals, Map<String, Integer> referencesMap) {
+    IntervalAnalysisState state = new IntervalAnalysisState();
+    for (Entry<String, Integer> entry : referencesMap.entrySet()) {
+      state = state.with(VariableIds.getOrCreate(entry.getKey()), null, entry.getValue());
+    }
+    for (Entry<String, Interval> entry : intervals.entrySet()) {
+      int id = VariableIds.getOrCreate(entry.getKey());
+      state = state.with(id, entry.getValue(), state.getReferenceCount(id));
+    }
+    chunks = state.chunks;
+  }
+
+  private IntervalAnalysisState(Chunk[] pChunks) {
+    chunks = pChunks;
+  }
+
+  private Chunk getChunk(int index) {
+    return index < chunks.length ? chunks[index] : EMPTY_CHUNK;
+  }
+
+  private boolean isTracked(int id) {
+    return id >= 0 && getChunk(id / CHUNK_SIZE).isTracked(id % CHUNK_SIZE);
+  }
+
+  /** Copy this state with a new interval (or without an interval, if null) of one variable. */
+  private IntervalAnalysisState with(int id, @Nullable Interval interval, int referenceCount) {
+    int index = id / CHUNK_SIZE;
+    Chunk[] newChunks = Arrays.copyOf(chunks, Math.max(chunks.length, index + 1));
+    for (int i = chunks.length; i < newChunks.length; i++) {
+      newChunks[i] = EMPTY_CHUNK;
+    }
+    newChunks[index] = getChunk(index).with(id % CHUNK_SIZE, interval, referenceCount);
+    return new IntervalAnalysisState(newChunks);
   }
 
   /**
@@ -96,17 +205,21 @@ public class IntervalAnalysisState
    */
   // see ExplicitState::getValueFor
   public Interval getInterval(String variableName) {
-    return intervals.getOrDefault(variableName, Interval.UNBOUND);
+    int id = VariableIds.get(variableName);
+    if (!isTracked(id)) {
+      return Interval.UNBOUND;
+    }
+    return getChunk(id / CHUNK_SIZE).getInterval(id % CHUNK_SIZE);
   }
 
   /**
    * This method returns the reference count for a given variable.
    *
-   * @param variableName of the variable to query the reference count on
+   * @param id of the variable to query the reference count on
    * @return the reference count of the variable, or 0 if the the variable is not yet referenced
    */
-  private Integer getReferenceCount(String variableName) {
-    return referenceCounts.getOrDefault(variableName, 0);
+  private int getReferenceCount(int id) {
+    return getChunk(id / CHUNK_SIZE).referenceCounts[id % CHUNK_SIZE];
   }
 
   /**
@@ -116,7 +229,7 @@ public class IntervalAnalysisState
    * @return true, if this element contains an interval for the given variable
    */
   public boolean contains(String variableName) {
-    return intervals.containsKey(variableName);
+    return isTracked(VariableIds.get(variableName));
   }
 
   /**
@@ -132,14 +245,13 @@ public class IntervalAnalysisState
     if (interval.isUnbound()) {
       return removeInterval(variableName);
     }
+    int id = VariableIds.getOrCreate(variableName);
     // only add the interval if it is not already present
-    if (!intervals.containsKey(variableName) || !intervals.get(variableName).equals(interval)) {
-      int referenceCount = getReferenceCount(variableName);
+    if (!isTracked(id) || !getInterval(variableName).equals(interval)) {
+      int referenceCount = getReferenceCount(id);
 
       if (pThreshold == -1 || referenceCount < pThreshold) {
-        return new IntervalAnalysisState(
-            intervals.putAndCopy(variableName, interval),
-            referenceCounts.putAndCopy(variableName, referenceCount + 1));
+        return with(id, interval, referenceCount + 1);
       } else {
         return removeInterval(variableName);
       }
@@ -155,8 +267,9 @@ public class IntervalAnalysisState
    */
   // see ExplicitState::forget
   public IntervalAnalysisState removeInterval(String variableName) {
-    if (intervals.containsKey(variableName)) {
-      return new IntervalAnalysisState(intervals.removeAndCopy(variableName), referenceCounts);
+    int id = VariableIds.get(variableName);
+    if (isTracked(id)) {
+      return with(id, null, getReferenceCount(id));
     }
 
     return this;
@@ -164,7 +277,7 @@ public class IntervalAnalysisState
 
   public IntervalAnalysisState dropFrame(String pCalledFunctionName) {
     IntervalAnalysisState tmp = this;
-    for (String variableName : intervals.keySet()) {
+    for (String variableName : getTrackedVariables()) {
       if (variableName.startsWith(pCalledFunctionName+"::")) {
         tmp = tmp.removeInterval(variableName);
       }
@@ -172,6 +285,28 @@ public class IntervalAnalysisState
     return tmp;
   }
 
+  /** Returns the names of all variables with an interval, in the order of their identifiers. */
+  private List<String> getTrackedVariables() {
+    List<String> variables = new ArrayList<>();
+    for (int index = 0; index < chunks.length; index++) {
+      long tracked = chunks[index].tracked;
+      while (tracked != 0) {
+        int slot = Long.numberOfTrailingZeros(tracked);
+        tracked &= tracked - 1;
+        variables.add(VariableIds.getName(index * CHUNK_SIZE + slot));
+      }
+    }
+    return variables;
+  }
+
+  private int size() {
+    int size = 0;
+    for (Chunk chunk : chunks) {
+      size += Long.bitCount(chunk.tracked);
+    }
+    return size;
+  }
+
   /**
    * This element joins this element with a reached state.
    *
@@ -181,40 +316,81 @@ public class IntervalAnalysisState
   @Override
   public IntervalAnalysisState join(IntervalAnalysisState reachedState) {
     boolean changed = false;
-    PersistentMap<String, Interval> newIntervals = PathCopyingPersistentTreeMap.of();
-    PersistentMap<String, Integer> newReferences = referenceCounts;
-
-    for (String variableName : reachedState.intervals.keySet()) {
-      Integer otherRefCount = reachedState.getReferenceCount(variableName);
-      Interval otherInterval = reachedState.getInterval(variableName);
-      if (intervals.containsKey(variableName)) {
-        // update the interval
-        Interval mergedInterval = getInterval(variableName).union(otherInterval);
-        if (mergedInterval != otherInterval) {
-          changed = true;
+    Chunk[] newChunks = new Chunk[Math.max(chunks.length, reachedState.chunks.length)];
+
+    for (int index = 0; index < newChunks.length; index++) {
+      Chunk thisChunk = getChunk(index);
+      Chunk otherChunk = reachedState.getChunk(index);
+      if (thisChunk == otherChunk) {
+        newChunks[index] = thisChunk;
+        continue;
+      }
+      long[] thisLow = thisChunk.low;
+      long[] thisHigh = thisChunk.high;
+      long[] otherLow = otherChunk.low;
+      long[] otherHigh = otherChunk.high;
+
+      // the bounds of untracked variables are unbound,
+      // so they stay unbound in the join
+      long[] newLow = new long[CHUNK_SIZE];
+      long[] newHigh = new long[CHUNK_SIZE];
+      for (int i = 0; i < CHUNK_SIZE; i++) {
+        newLow[i] = Math.min(thisLow[i], otherLow[i]);
+        newHigh[i] = Math.max(thisHigh[i], otherHigh[i]);
+      }
+
+      // the reference counts of variables, which are not tracked in the reached state,
+      // are taken from this state
+      int[] newReferenceCounts = thisChunk.referenceCounts.clone();
+      long newTracked = 0;
+      long otherTracked = otherChunk.tracked;
+      if ((otherTracked & ~thisChunk.tracked) != 0) {
+        changed = true;
+      }
+      while (otherTracked != 0) {
+        int i = Long.numberOfTrailingZeros(otherTracked);
+        long bit = otherTracked & -otherTracked;
+        otherTracked &= otherTracked - 1;
+        int otherReferenceCount = otherChunk.referenceCounts[i];
+        newReferenceCounts[i] = otherReferenceCount;
+        if ((thisChunk.tracked & bit) == 0) {
+          continue;
         }
 
-        if (!mergedInterval.isUnbound()) {
-          newIntervals = newIntervals.putAndCopy(variableName, mergedInterval);
+        if (thisLow[i] > thisHigh[i] || otherLow[i] > otherHigh[i]) {
+          // the union with an empty interval is empty
+          newLow[i] = Long.MAX_VALUE;
+          newHigh[i] = Long.MIN_VALUE;
+        }
+        boolean intervalChanged = newLow[i] != otherLow[i] || newHigh[i] != otherHigh[i];
+        if (newLow[i] == Long.MIN_VALUE && newHigh[i] == Long.MAX_VALUE) {
+          // unbound intervals are not tracked
+        } else {
+          newTracked |= bit;
         }
 
         // update the references
-        Integer thisRefCount = getReferenceCount(variableName);
-        if (mergedInterval != otherInterval && thisRefCount > otherRefCount) {
+        if (intervalChanged) {
           changed = true;
-          newReferences = newReferences.putAndCopy(variableName, thisRefCount);
-        } else {
-          newReferences = newReferences.putAndCopy(variableName, otherRefCount);
+          if (thisChunk.referenceCounts[i] > otherReferenceCount) {
+            newReferenceCounts[i] = thisChunk.referenceCounts[i];
+          }
         }
+      }
 
-      } else {
-        newReferences = newReferences.putAndCopy(variableName, otherRefCount);
-        changed = true;
+      // untracked variables must have unbound intervals
+      long untracked = ~newTracked;
+      while (untracked != 0) {
+        int i = Long.numberOfTrailingZeros(untracked);
+        untracked &= untracked - 1;
+        newLow[i] = Long.MIN_VALUE;
+        newHigh[i] = Long.MAX_VALUE;
       }
+      newChunks[index] = new Chunk(newTracked, newLow, newHigh, newReferenceCounts);
     }
 
     if (changed) {
-      return new IntervalAnalysisState(newIntervals, newReferences);
+      return new IntervalAnalysisState(newChunks);
     } else {
       return reachedState;
     }
@@ -228,16 +404,37 @@ public class IntervalAnalysisState
    */
   @Override
   public boolean isLessOrEqual(IntervalAnalysisState reachedState) {
-    if (intervals.equals(reachedState.intervals)) { return true; }
-    // this element is not less or equal than the reached state, if it contains less intervals
-    if (intervals.size() < reachedState.intervals.size()) {
-      return false;
-    }
+    if (equals(reachedState)) { return true; }
+    int length = Math.max(chunks.length, reachedState.chunks.length);
+    for (int index = 0; index < length; index++) {
+      Chunk thisChunk = getChunk(index);
+      Chunk otherChunk = reachedState.getChunk(index);
+      if (thisChunk == otherChunk && !otherChunk.hasEmptyInterval) {
+        continue;
+      }
+      // this element is not less or equal than the reached state, if it does not contain
+      // an interval of the reached state
+      if ((otherChunk.tracked & ~thisChunk.tracked) != 0) {
+        return false;
+      }
 
-    // also, this element is not less or equal than the reached state, if any one interval of the reached state is not contained in this element,
-    // or if the interval of the reached state is not wider than the respective interval of this element
-    for (String variableName : reachedState.intervals.keySet()) {
-      if (!intervals.containsKey(variableName) || !reachedState.getInterval(variableName).contains(getInterval(variableName))) {
+      // also, this element is not less or equal than the reached state, if an interval of the
+      // reached state does not contain the respective interval of this element.
+      // Untracked variables of the reached state have unbound intervals, which contain
+      // everything, tracked variables of the reached state are never unbound.
+      long[] thisLow = thisChunk.low;
+      long[] thisHigh = thisChunk.high;
+      long[] otherLow = otherChunk.low;
+      long[] otherHigh = otherChunk.high;
+      boolean contained = true;
+      for (int i = 0; i < CHUNK_SIZE; i++) {
+        boolean otherUnbound = (otherLow[i] == Long.MIN_VALUE) & (otherHigh[i] == Long.MAX_VALUE);
+        contained &=
+            (otherLow[i] <= thisLow[i])
+                & (thisHigh[i] <= otherHigh[i])
+                & ((thisLow[i] <= thisHigh[i]) | otherUnbound);
+      }
+      if (!contained) {
         return false;
       }
     }
@@ -250,7 +447,17 @@ public class IntervalAnalysisState
    * @return the set of tracked variables by this state
    */
   public Map<String,Interval> getIntervalMap() {
-    return intervals;
+    ImmutableSortedMap.Builder<String, Interval> intervals = ImmutableSortedMap.naturalOrder();
+    for (int index = 0; index < chunks.length; index++) {
+      long tracked = chunks[index].tracked;
+      while (tracked != 0) {
+        int slot = Long.numberOfTrailingZeros(tracked);
+        tracked &= tracked - 1;
+        intervals.put(
+            VariableIds.getName(index * CHUNK_SIZE + slot), chunks[index].getInterval(slot));
+      }
+    }
+    return intervals.build();
   }
 
   /** If there was a recursive function, we have wrong intervals for scoped variables in the returnState.
@@ -267,14 +474,14 @@ public class IntervalAnalysisState
     IntervalAnalysisState rebuildState = callState;
 
     // first forget all global information
-    for (final String trackedVar : callState.intervals.keySet()) {
+    for (final String trackedVar : callState.getTrackedVariables()) {
       if (!trackedVar.contains("::")) { // global -> delete
         rebuildState = rebuildState.removeInterval(trackedVar);
       }
     }
 
     // second: learn new information
-    for (final String trackedVar : this.intervals.keySet()) {
+    for (final String trackedVar : this.getTrackedVariables()) {
 
       if (!trackedVar.contains("::")) { // global -> override deleted value
         rebuildState = rebuildState.addInterval(trackedVar, this.getInterval(trackedVar), -1);
@@ -303,7 +510,19 @@ public class IntervalAnalysisState
 
     if (other instanceof IntervalAnalysisState) {
       IntervalAnalysisState otherElement = (IntervalAnalysisState) other;
-      return intervals.equals(otherElement.intervals);
+      // the reference counts are not compared
+      int length = Math.max(chunks.length, otherElement.chunks.length);
+      for (int index = 0; index < length; index++) {
+        Chunk thisChunk = getChunk(index);
+        Chunk otherChunk = otherElement.getChunk(index);
+        if (thisChunk != otherChunk
+            && (thisChunk.tracked != otherChunk.tracked
+                || !Arrays.equals(thisChunk.low, otherChunk.low)
+                || !Arrays.equals(thisChunk.high, otherChunk.high))) {
+          return false;
+        }
+      }
+      return true;
     }
     return false;
   }
@@ -313,7 +532,22 @@ public class IntervalAnalysisState
    */
   @Override
   public int hashCode() {
-    return intervals.hashCode();
+    if (hashCode == 0) {
+      int result = 0;
+      for (int index = 0; index < chunks.length; index++) {
+        Chunk chunk = chunks[index];
+        long tracked = chunk.tracked;
+        while (tracked != 0) {
+          int slot = Long.numberOfTrailingZeros(tracked);
+          tracked &= tracked - 1;
+          result +=
+              (index * CHUNK_SIZE + slot) * 31
+                  ^ (31 * Long.hashCode(chunk.low[slot]) + Long.hashCode(chunk.high[slot]));
+        }
+      }
+      hashCode = result;
+    }
+    return hashCode;
   }
 
   /* (non-Javadoc)
@@ -324,14 +558,37 @@ public class IntervalAnalysisState
     StringBuilder sb = new StringBuilder();
     sb.append("[\n");
 
+    Map<String, Interval> intervals = getIntervalMap();
     for (Map.Entry<String, Interval> entry: intervals.entrySet()) {
       sb.append(String.format("  < %s = %s :: %s >%n",
-          entry.getKey(), entry.getValue(), getReferenceCount(entry.getKey())));
+          entry.getKey(), entry.getValue(), getReferenceCount(VariableIds.get(entry.getKey()))));
     }
 
     return sb.append("] size -> ").append(intervals.size()).toString();
   }
 
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    // identifiers are only valid in the current JVM
+    Map<String, Integer> referenceCounts = new HashMap<>();
+    for (int id = 0; id < chunks.length * CHUNK_SIZE; id++) {
+      int referenceCount = getReferenceCount(id);
+      if (referenceCount != 0 || isTracked(id)) {
+        referenceCounts.put(VariableIds.getName(id), referenceCount);
+      }
+    }
+    out.writeObject(new HashMap<>(getIntervalMap()));
+    out.writeObject(referenceCounts);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    Map<String, Interval> intervals = (Map<String, Interval>) in.readObject();
+    Map<String, Integer> referenceCounts = (Map<String, Integer>) in.readObject();
+    chunks = new IntervalAnalysisState(intervals, referenceCounts).chunks;
+  }
+
   @Override
   public String getCPAName() {
     return "IntervalAnalysis";
@@ -383,9 +640,9 @@ public class IntervalAnalysisState
 
     sb.append("{");
     // create a string like: x =  [low; high] (refCount)
-    for (Entry<String, Interval> entry : intervals.entrySet()) {
+    for (Entry<String, Interval> entry : getIntervalMap().entrySet()) {
       sb.append(String.format("%s = %s (%s), ",
-          entry.getKey(), entry.getValue(), getReferenceCount(entry.getKey())));
+          entry.getKey(), entry.getValue(), getReferenceCount(VariableIds.get(entry.getKey()))));
     }
     sb.append("}");
 
@@ -401,7 +658,7 @@ public class IntervalAnalysisState
   public BooleanFormula getFormulaApproximation(FormulaManagerView pMgr) {
     IntegerFormulaManager nfmgr = pMgr.getIntegerFormulaManager();
     List<BooleanFormula> result = new ArrayList<>();
-    for (Entry<String, Interval> entry : intervals.entrySet()) {
+    for (Entry<String, Interval> entry : getIntervalMap().entrySet()) {
       Interval interval = entry.getValue();
       if (interval.isEmpty()) {
         // one invalid interval disqualifies the whole state
@@ -433,13 +690,20 @@ public class IntervalAnalysisState
     // We negate the absolute distance to match the "lessEquals"-specifiction.
     // Be aware of overflows! -> we use BigInteger, and zero should be a sound value.
     BigInteger absDistance = BigInteger.ZERO;
-    for (Interval i : intervals.values()) {
-      long high = i.getHigh() == null ? 0 : i.getHigh();
-      long low = i.getLow() == null ? 0 : i.getLow();
-      Preconditions.checkArgument(low <= high, "LOW greater than HIGH:" + i);
-      absDistance = absDistance.add(BigInteger.valueOf(high).subtract(BigInteger.valueOf(low)));
+    for (Chunk chunk : chunks) {
+      long tracked = chunk.tracked;
+      while (tracked != 0) {
+        int slot = Long.numberOfTrailingZeros(tracked);
+        tracked &= tracked - 1;
+        // empty intervals have the distance zero
+        long high = chunk.high[slot];
+        long low = chunk.low[slot];
+        if (low <= high) {
+          absDistance = absDistance.add(BigInteger.valueOf(high).subtract(BigInteger.valueOf(low)));
+        }
+      }
     }
-    return new IntervalPseudoPartitionKey(intervals.size(), absDistance.negate());
+    return new IntervalPseudoPartitionKey(size(), absDistance.negate());
   }
 
   @Override
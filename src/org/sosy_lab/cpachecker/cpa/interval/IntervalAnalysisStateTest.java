@@ -70,6 +70,42 @@ public class IntervalAnalysisStateTest {
     checkLess(csa1b23, csa1b3);
   }
 
+  @Test
+  public void joinAndIsLessOrEqual() {
+    IntervalAnalysisState s = new IntervalAnalysisState();
+    // enough variables to need several chunks
+    for (int i = 0; i < 200; i++) {
+      s = s.addInterval("v" + i, new Interval((long) i, (long) i), -1);
+    }
+    IntervalAnalysisState s1 = s.addInterval("a", new Interval(1L, 2L), -1);
+    IntervalAnalysisState s2 = s.addInterval("a", new Interval(4L, 5L), -1);
+
+    IntervalAnalysisState joined = s1.join(s2);
+    assertThat(joined.getInterval("a")).isEqualTo(new Interval(1L, 5L));
+    assertThat(joined.getInterval("v150")).isEqualTo(new Interval(150L, 150L));
+    assertThat(s1.isLessOrEqual(joined)).isTrue();
+    assertThat(s2.isLessOrEqual(joined)).isTrue();
+    assertThat(joined.isLessOrEqual(s1)).isFalse();
+    assertThat(s1.join(joined)).isSameInstanceAs(joined);
+
+    // variables that are only tracked in one state are dropped
+    IntervalAnalysisState s3 = s1.removeInterval("v199");
+    assertThat(s3.join(s1).contains("v199")).isFalse();
+    assertThat(s1.isLessOrEqual(s3)).isTrue();
+    assertThat(s3.isLessOrEqual(s1)).isFalse();
+  }
+
+  @Test
+  public void equalsIgnoresReferenceCounts() {
+    IntervalAnalysisState s = new IntervalAnalysisState();
+    IntervalAnalysisState s1 = s.addInterval("a", new Interval(1L, 1L), -1);
+    IntervalAnalysisState s2 =
+        s.addInterval("a", new Interval(2L, 2L), -1).addInterval("a", new Interval(1L, 1L), -1);
+    assertThat(s1).isEqualTo(s2);
+    assertThat(s1.hashCode()).isEqualTo(s2.hashCode());
+    assertThat(s1.getIntervalMap()).containsExactly("a", new Interval(1L, 1L));
+  }
+
   private void checkLess(Comparable c1, Comparable c2) {
     assertThat(c1.compareTo(c2) < 0).isTrue();
     assertThat(c2.compareTo(c1) > 0).isTrue();
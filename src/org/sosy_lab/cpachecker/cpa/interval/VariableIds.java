@@ -0,0 +1,71 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.interval;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense identifiers for variable names, such that states can store the values of variables in
+ * arrays. The identifiers are shared by all analyses in the same JVM and never released, which is
+ * not a problem because the number of variables of a program is small.
+ */
+final class VariableIds {
+
+  private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+  private static volatile String[] names = new String[64];
+
+  private static int nextId = 0;
+
+  private VariableIds() {}
+
+  /** Get the identifier of a variable, which is created if necessary. */
+  static int getOrCreate(String pName) {
+    Integer id = ids.get(pName);
+    if (id != null) {
+      return id;
+    }
+    synchronized (VariableIds.class) {
+      id = ids.get(pName);
+      if (id == null) {
+        id = nextId++;
+        if (id >= names.length) {
+          names = Arrays.copyOf(names, 2 * names.length);
+        }
+        names[id] = pName;
+        // publish the identifier only after the name is stored
+        ids.put(pName, id);
+      }
+      return id;
+    }
+  }
+
+  /** Get the identifier of a variable, or -1 if there is none. */
+  static int get(String pName) {
+    Integer id = ids.get(pName);
+    return id == null ? -1 : id;
+  }
+
+  static String getName(int pId) {
+    return names[pId];
+  }
+}
@@ -25,6 +25,9 @@ package org.sosy_lab.cpachecker.cpa.invariants;
 
 import com.google.common.base.Preconditions;
 import java.math.BigInteger;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.cfa.types.MachineModel;
 import org.sosy_lab.cpachecker.cfa.types.Type;
 import org.sosy_lab.cpachecker.cfa.types.c.CBasicType;
@@ -37,6 +40,12 @@ import org.sosy_lab.cpachecker.cfa.types.java.JSimpleType;
 
 public class BitVectorInfo implements TypeInfo {
 
+  /** The instances of signed bit vector infos, by size. */
+  private static final ConcurrentMap<Integer, BitVectorInfo> SIGNED = new ConcurrentHashMap<>();
+
+  /** The instances of unsigned bit vector infos, by size. */
+  private static final ConcurrentMap<Integer, BitVectorInfo> UNSIGNED = new ConcurrentHashMap<>();
+
   private final int size;
 
   private final boolean signed;
@@ -45,6 +54,8 @@ public class BitVectorInfo implements TypeInfo {
 
   private final BigInteger maxValue;
 
+  private @Nullable BitVectorInterval range;
+
   private BitVectorInfo(int pSize, boolean pSigned) {
     Preconditions.checkArgument(pSize >= 0, "bit vector size must not be negative");
     size = pSize;
@@ -73,7 +84,13 @@ public class BitVectorInfo implements TypeInfo {
   }
 
   public BitVectorInterval getRange() {
-    return BitVectorInterval.of(this, minValue, maxValue);
+    // Intervals are immutable, so a racy initialization is harmless
+    BitVectorInterval result = range;
+    if (result == null) {
+      result = BitVectorInterval.of(this, minValue, maxValue);
+      range = result;
+    }
+    return result;
   }
 
   @Override
@@ -104,7 +121,12 @@ public class BitVectorInfo implements TypeInfo {
   }
 
   public static BitVectorInfo from(int pSize, boolean pSigned) {
-    return new BitVectorInfo(pSize, pSigned);
+    ConcurrentMap<Integer, BitVectorInfo> instances = pSigned ? SIGNED : UNSIGNED;
+    BitVectorInfo result = instances.get(pSize);
+    if (result == null) {
+      result = instances.computeIfAbsent(pSize, size -> new BitVectorInfo(size, pSigned));
+    }
+    return result;
   }
 
   public static TypeInfo from(MachineModel pMachineModel, Type pType) {
@@ -231,7 +253,7 @@ public class BitVectorInfo implements TypeInfo {
   }
 
   public BitVectorInfo extend(int pExtension) {
-    return new BitVectorInfo(size + pExtension, signed);
+    return from(size + pExtension, signed);
   }
 
 }
@@ -33,6 +33,8 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.cpa.invariants.operators.Operator;
 import org.sosy_lab.cpachecker.cpa.invariants.operators.bitvector.ICCOperatorFactory;
@@ -43,6 +45,10 @@ import org.sosy_lab.cpachecker.cpa.invariants.operators.bitvector.ISCOperatorFac
 @SuppressWarnings("AmbiguousMethodReference")
 public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitVectorType {
 
+  /** The shared instances of frequently used values, by bit vector information. */
+  private static final ConcurrentMap<BitVectorInfo, CommonValues> COMMON_VALUES =
+      new ConcurrentHashMap<>();
+
   private final BitVectorInfo info;
 
   /**
@@ -99,9 +105,44 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
    * @return a compound interval as represented by the given interval.
    */
   private static CompoundBitVectorInterval getInternal(BitVectorInterval pInterval) {
+    CompoundBitVectorInterval cached = getCached(pInterval);
+    if (cached != null) {
+      return cached;
+    }
     return new CompoundBitVectorInterval(pInterval);
   }
 
+  private static @Nullable CompoundBitVectorInterval getCached(BitVectorInterval pInterval) {
+    BitVectorInfo info = pInterval.getTypeInfo();
+    if (pInterval.isSingleton()) {
+      BigInteger value = pInterval.getLowerBound();
+      if (value.signum() == 0) {
+        return getCommonValues(info).zero;
+      }
+      if (value.equals(BigInteger.ONE)) {
+        return getCommonValues(info).one;
+      }
+      if (value.bitLength() == 0 && value.signum() < 0) {
+        // -1 is the only negative value with a bit length of zero
+        return getCommonValues(info).minusOne;
+      }
+      return null;
+    }
+    if (pInterval.getLowerBound().equals(info.getMinValue())
+        && pInterval.getUpperBound().equals(info.getMaxValue())) {
+      return getCommonValues(info).top;
+    }
+    return null;
+  }
+
+  private static CommonValues getCommonValues(BitVectorInfo pInfo) {
+    CommonValues commonValues = COMMON_VALUES.get(pInfo);
+    if (commonValues == null) {
+      commonValues = COMMON_VALUES.computeIfAbsent(pInfo, CommonValues::new);
+    }
+    return commonValues;
+  }
+
   /**
    * Gets a compound interval represented by the given intervals. Use this
    * factory method over the constructor.
@@ -117,6 +158,12 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
     if (pIntervals.length == 0) {
       return bottom(pInfo);
     }
+    if (pIntervals.length == 1) {
+      CompoundBitVectorInterval cached = getCached(pIntervals[0]);
+      if (cached != null) {
+        return cached;
+      }
+    }
     return new CompoundBitVectorInterval(pInfo, pIntervals);
   }
 
@@ -1869,7 +1916,7 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
    * @return a compound state representing "bottom".
    */
   public static CompoundBitVectorInterval bottom(BitVectorInfo pInfo) {
-    return new CompoundBitVectorInterval(pInfo);
+    return getCommonValues(pInfo).bottom;
   }
 
   /**
@@ -1967,4 +2014,39 @@ public class CompoundBitVectorInterval implements CompoundIntegralInterval, BitV
     return CompoundBitVectorInterval.of(BitVectorInterval.of(pInfo, BigInteger.ZERO, BigInteger.ONE));
   }
 
+  /**
+   * The values that are requested most often for a bit vector type. They are created directly by
+   * the constructors, because the factory methods look them up.
+   */
+  private static class CommonValues {
+
+    private final CompoundBitVectorInterval bottom;
+
+    private final CompoundBitVectorInterval top;
+
+    private final @Nullable CompoundBitVectorInterval zero;
+
+    private final @Nullable CompoundBitVectorInterval one;
+
+    private final @Nullable CompoundBitVectorInterval minusOne;
+
+    private CommonValues(BitVectorInfo pInfo) {
+      bottom = new CompoundBitVectorInterval(pInfo);
+      top = new CompoundBitVectorInterval(pInfo.getRange());
+      zero = fits(pInfo, BigInteger.ZERO) ? singletonOf(pInfo, BigInteger.ZERO) : null;
+      one = fits(pInfo, BigInteger.ONE) ? singletonOf(pInfo, BigInteger.ONE) : null;
+      minusOne =
+          fits(pInfo, BigInteger.ONE.negate()) ? singletonOf(pInfo, BigInteger.ONE.negate()) : null;
+    }
+
+    private static boolean fits(BitVectorInfo pInfo, BigInteger pValue) {
+      return pInfo.getMinValue().compareTo(pValue) <= 0
+          && pInfo.getMaxValue().compareTo(pValue) >= 0;
+    }
+
+    private static CompoundBitVectorInterval singletonOf(BitVectorInfo pInfo, BigInteger pValue) {
+      return new CompoundBitVectorInterval(BitVectorInterval.singleton(pInfo, pValue));
+    }
+  }
+
 }
@@ -25,6 +25,7 @@ package org.sosy_lab.cpachecker.cpa.invariants;
 
 import java.util.Collection;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import org.sosy_lab.cpachecker.cfa.types.MachineModel;
 import org.sosy_lab.cpachecker.cfa.types.Type;
 
@@ -49,10 +50,13 @@ public enum CompoundBitVectorIntervalManagerFactory implements CompoundIntervalM
 
   private final Collection<OverflowEventHandler> overflowEventHandlers = new CopyOnWriteArrayList<>();
 
+  private final AtomicLong overflowEventCount = new AtomicLong();
+
   private final OverflowEventHandler compositeHandler = new OverflowEventHandler() {
 
     @Override
     public void signedOverflow() {
+      overflowEventCount.incrementAndGet();
       for (OverflowEventHandler component : overflowEventHandlers) {
         component.signedOverflow();
       }
@@ -90,4 +94,15 @@ public enum CompoundBitVectorIntervalManagerFactory implements CompoundIntervalM
     overflowEventHandlers.remove(pOverflowEventHandler);
   }
 
+  /**
+   * Gets the number of overflow events that were signaled to the overflow event handlers so far.
+   * Comparing this number before and after a computation tells whether the computation may have
+   * signaled an overflow.
+   *
+   * @return the number of overflow events signaled so far.
+   */
+  public long getOverflowEventCount() {
+    return overflowEventCount.get();
+  }
+
 }
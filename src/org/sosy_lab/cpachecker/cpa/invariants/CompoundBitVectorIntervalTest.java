@@ -0,0 +1,83 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.invariants;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.math.BigInteger;
+import org.junit.Test;
+
+public class CompoundBitVectorIntervalTest {
+
+  private static final BitVectorInfo SHORT = BitVectorInfo.from(16, true);
+
+  private static final BitVectorInfo INT = BitVectorInfo.from(32, true);
+
+  private static final BitVectorInfo UNSIGNED_INT = BitVectorInfo.from(32, false);
+
+  /** Casting to a wider type creates new instances instead of using the shared ones. */
+  private static CompoundBitVectorInterval castToInt(CompoundBitVectorInterval pValue) {
+    return pValue.cast(INT, false, OverflowEventHandler.EMPTY);
+  }
+
+  @Test
+  public void testSharedValuesEqualNewValues() {
+    CompoundBitVectorInterval zero = castToInt(CompoundBitVectorInterval.zero(SHORT));
+    assertThat(zero).isNotSameInstanceAs(CompoundBitVectorInterval.zero(INT));
+    assertThat(zero).isEqualTo(CompoundBitVectorInterval.zero(INT));
+    assertThat(zero.hashCode()).isEqualTo(CompoundBitVectorInterval.zero(INT).hashCode());
+
+    CompoundBitVectorInterval one = castToInt(CompoundBitVectorInterval.one(SHORT));
+    assertThat(one).isEqualTo(CompoundBitVectorInterval.one(INT));
+    assertThat(one.hashCode()).isEqualTo(CompoundBitVectorInterval.one(INT).hashCode());
+
+    CompoundBitVectorInterval minusOne = castToInt(CompoundBitVectorInterval.minusOne(SHORT));
+    assertThat(minusOne).isEqualTo(CompoundBitVectorInterval.minusOne(INT));
+    assertThat(minusOne.hashCode()).isEqualTo(CompoundBitVectorInterval.minusOne(INT).hashCode());
+
+    assertThat(castToInt(CompoundBitVectorInterval.bottom(SHORT)))
+        .isEqualTo(CompoundBitVectorInterval.bottom(INT));
+  }
+
+  @Test
+  public void testSharedValuesFromComputations() {
+    CompoundBitVectorInterval five = CompoundBitVectorInterval.singleton(INT, 5);
+    CompoundBitVectorInterval minusFive = five.negate(false, OverflowEventHandler.EMPTY);
+    assertThat(five.add(minusFive, false, OverflowEventHandler.EMPTY))
+        .isEqualTo(CompoundBitVectorInterval.zero(INT));
+    assertThat(CompoundBitVectorInterval.singleton(INT, BigInteger.ONE))
+        .isSameInstanceAs(CompoundBitVectorInterval.one(INT));
+    assertThat(CompoundBitVectorInterval.of(INT.getRange()))
+        .isSameInstanceAs(CompoundBitVectorInterval.of(INT.getRange()));
+    assertThat(CompoundBitVectorInterval.of(INT.getRange()).containsAllPossibleValues()).isTrue();
+    assertThat(five.intersectWith(CompoundBitVectorInterval.one(INT)))
+        .isEqualTo(CompoundBitVectorInterval.bottom(INT));
+  }
+
+  @Test
+  public void testSharedValuesPerType() {
+    assertThat(CompoundBitVectorInterval.zero(INT))
+        .isNotEqualTo(CompoundBitVectorInterval.zero(UNSIGNED_INT));
+    assertThat(CompoundBitVectorInterval.zero(INT))
+        .isNotEqualTo(CompoundBitVectorInterval.zero(SHORT));
+    assertThat(CompoundBitVectorInterval.zero(UNSIGNED_INT).isSingleton()).isTrue();
+    assertThat(CompoundBitVectorInterval.zero(UNSIGNED_INT).getValue()).isEqualTo(BigInteger.ZERO);
+  }
+}
@@ -211,6 +211,8 @@ public class InvariantsCPA implements ConfigurableProgramAnalysis, ReachedSetAdj
 
   private final EdgeAnalyzer edgeAnalyzer;
 
+  private final InvariantsStatistics statistics = new InvariantsStatistics();
+
   /**
    * Gets a factory for creating InvariantCPAs.
    *
@@ -397,7 +399,8 @@ public class InvariantsCPA implements ConfigurableProgramAnalysis, ReachedSetAdj
             compoundIntervalManagerFactory,
             machineModel,
             abstractionState,
-            options.includeTypeInformation);
+            options.includeTypeInformation,
+            statistics);
 
     BooleanFormula<CompoundInterval> invariant = invariants.get(pNode);
     if (invariant != null) {
@@ -902,5 +905,6 @@ public class InvariantsCPA implements ConfigurableProgramAnalysis, ReachedSetAdj
   @Override
   public void collectStatistics(Collection<Statistics> pStatsCollection) {
     writer.collectStatistics(pStatsCollection);
+    pStatsCollection.add(statistics);
   }
 }
@@ -172,17 +172,19 @@ public class InvariantsState implements AbstractState,
    * @param pMachineModel the machine model used.
    * @param pAbstractionState the abstraction information.
    * @param pIncludeTypeInformation whether or not to include type information for exports.
+   * @param pStatistics the statistics of the analysis.
    */
-  public InvariantsState(VariableSelection<CompoundInterval> pVariableSelection,
+  InvariantsState(VariableSelection<CompoundInterval> pVariableSelection,
       CompoundIntervalManagerFactory pCompoundIntervalManagerFactory,
       MachineModel pMachineModel,
       AbstractionState pAbstractionState,
-      boolean pIncludeTypeInformation) {
-    this.environment = NonRecursiveEnvironment.of(pCompoundIntervalManagerFactory);
+      boolean pIncludeTypeInformation,
+      InvariantsStatistics pStatistics) {
+    this.environment = NonRecursiveEnvironment.of(pCompoundIntervalManagerFactory, pStatistics);
     this.partialEvaluator = new PartialEvaluator(pCompoundIntervalManagerFactory, this.environment);
     this.variableSelection = pVariableSelection;
     this.variableTypes = PathCopyingPersistentTreeMap.of();
-    this.tools = new Tools(pCompoundIntervalManagerFactory);
+    this.tools = new Tools(pCompoundIntervalManagerFactory, pStatistics);
     this.machineModel = pMachineModel;
     this.abstractionState = pAbstractionState;
     this.overflowDetected = false;
@@ -671,7 +673,7 @@ public class InvariantsState implements AbstractState,
         machineModel,
         variableTypes,
         abstractionState,
-        NonRecursiveEnvironment.of(tools.compoundIntervalManagerFactory),
+        NonRecursiveEnvironment.of(tools.compoundIntervalManagerFactory, tools.statistics),
         ImmutableSet.of(),
         overflowDetected,
         includeTypeInformation,
@@ -838,7 +840,7 @@ public class InvariantsState implements AbstractState,
             InvariantsFormulaManager.INSTANCE.asVariable(typeInfo, memoryLocation);
         NumeralFormula<CompoundInterval> value = environment.get(memoryLocation);
         if (value == null
-            || value.accept(tools.evaluationVisitor, environment).containsAllPossibleValues()) {
+            || environment.evaluate(value, tools.evaluationVisitor).containsAllPossibleValues()) {
           if (range.hasLowerBound()) {
             BooleanFormula<CompoundInterval> lowerBound =
                 tools.compoundIntervalFormulaManager.greaterThanOrEqual(
@@ -987,7 +989,7 @@ public class InvariantsState implements AbstractState,
       return BooleanConstant.isTrue(assumption) ? this : null;
     }
 
-    BooleanConstant<CompoundInterval> assumptionEvaluation = assumption.accept(pEvaluationVisitor, getEnvironment());
+    BooleanConstant<CompoundInterval> assumptionEvaluation = assumption.accept(pEvaluationVisitor, environment);
     // If the invariant evaluates to false or is bottom, it represents an invalid state
     if (BooleanConstant.isFalse(assumptionEvaluation)) { return null; }
     // If the invariant evaluates to true, it adds no value for now
@@ -1031,7 +1033,7 @@ public class InvariantsState implements AbstractState,
    */
   private boolean isDefinitelyFalse(BooleanFormula<CompoundInterval> pAssumption,
       FormulaEvaluationVisitor<CompoundInterval> pEvaluationVisitor) {
-    return BooleanConstant.isFalse(pAssumption.accept(pEvaluationVisitor, getEnvironment()));
+    return BooleanConstant.isFalse(pAssumption.accept(pEvaluationVisitor, environment));
   }
 
   public InvariantsState assume(BooleanFormula<CompoundInterval> pAssumption) {
@@ -1221,7 +1223,7 @@ public class InvariantsState implements AbstractState,
     if (!pIsInvalid.apply(pFormula)) {
       return pFormula;
     }
-    CompoundInterval evaluated = pFormula.accept(tools.evaluationVisitor, environment);
+    CompoundInterval evaluated = environment.evaluate(pFormula, tools.evaluationVisitor);
     if (!evaluated.isSingleton() && pFormula instanceof Variable) {
       // Try and replace the variable by a fitting value
       ReplaceVisitor<CompoundInterval> evaluateInvalidVars =
@@ -1425,8 +1427,8 @@ public class InvariantsState implements AbstractState,
         if (currentFormula.accept(FORMULA_DEPTH_COUNT_VISITOR) > pPrecision.getMaximumFormulaDepth()) {
           CompoundInterval value =
               compoundIntervalManager.union(
-                  currentFormula.accept(tools.evaluationVisitor, environment),
-                  oldFormula.accept(tools.evaluationVisitor, pOlderState.getEnvironment()));
+                  environment.evaluate(currentFormula, tools.evaluationVisitor),
+                  pOlderState.environment.evaluate(oldFormula, tools.evaluationVisitor));
           if (!value.isSingleton()) {
             value = compoundIntervalManager.allPossibleValues();
           }
@@ -1468,9 +1470,9 @@ public class InvariantsState implements AbstractState,
         NumeralFormula<CompoundInterval> currentFormula =
             getEnvironmentValue(typeInfo, memoryLocation);
         CompoundInterval oldExactValue =
-            oldFormula.accept(tools.evaluationVisitor, pOlderState.environment);
+            pOlderState.environment.evaluate(oldFormula, tools.evaluationVisitor);
         CompoundInterval currentExactValue =
-            currentFormula.accept(tools.evaluationVisitor, environment);
+            environment.evaluate(currentFormula, tools.evaluationVisitor);
         final CompoundInterval newValue;
         if (compoundIntervalManager.contains(oldExactValue, currentExactValue)) {
           newValue = oldExactValue;
@@ -1603,7 +1605,7 @@ public class InvariantsState implements AbstractState,
       result = state1;
     } else {
       NonRecursiveEnvironment resultEnvironment =
-          NonRecursiveEnvironment.of(tools.compoundIntervalManagerFactory);
+          NonRecursiveEnvironment.of(tools.compoundIntervalManagerFactory, tools.statistics);
 
       // Get some basic information by joining the environments
       {
@@ -1644,8 +1646,8 @@ public class InvariantsState implements AbstractState,
               InvariantsFormulaManager.INSTANCE.asConstant(
                   leftFormula.getTypeInfo(),
                   cim.union(
-                      leftFormula.accept(tools.evaluationVisitor, environment),
-                      rightFormula.accept(state2.tools.evaluationVisitor, state2.environment)));
+                      environment.evaluate(leftFormula, tools.evaluationVisitor),
+                      state2.environment.evaluate(rightFormula, state2.tools.evaluationVisitor)));
           resultEnvironment = resultEnvironment.putAndCopy(memoryLocation, evaluated);
         }
 
@@ -1855,8 +1857,14 @@ public class InvariantsState implements AbstractState,
      */
     private final FormulaEvaluationVisitor<CompoundInterval> abstractionVisitor;
 
-    private Tools(CompoundIntervalManagerFactory pCompoundIntervalManagerFactory) {
+    /** The statistics the evaluation cache of the environments counts its hits and misses in. */
+    private final InvariantsStatistics statistics;
+
+    private Tools(
+        CompoundIntervalManagerFactory pCompoundIntervalManagerFactory,
+        InvariantsStatistics pStatistics) {
       this.compoundIntervalManagerFactory = pCompoundIntervalManagerFactory;
+      this.statistics = pStatistics;
       this.compoundIntervalFormulaManager =
           new CompoundIntervalFormulaManager(compoundIntervalManagerFactory);
       this.evaluationVisitor =
@@ -0,0 +1,52 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.invariants;
+
+import java.io.PrintStream;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsUtils;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+
+class InvariantsStatistics implements Statistics {
+
+  final StatCounter evaluationCacheHits =
+      new StatCounter("Number of formula evaluations answered by the cache");
+
+  final StatCounter evaluationCacheMisses =
+      new StatCounter("Number of formula evaluations not answered by the cache");
+
+  @Override
+  public String getName() {
+    return "InvariantsCPA";
+  }
+
+  @Override
+  public void printStatistics(PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+    long hits = evaluationCacheHits.getValue();
+    long misses = evaluationCacheMisses.getValue();
+    StatisticsWriter.writingStatisticsTo(pOut)
+        .put(evaluationCacheHits)
+        .put(evaluationCacheMisses)
+        .put("Hit rate of the evaluation cache", StatisticsUtils.toPercent(hits, hits + misses));
+  }
+}
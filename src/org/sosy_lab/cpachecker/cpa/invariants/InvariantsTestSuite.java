@@ -31,7 +31,9 @@ import org.sosy_lab.cpachecker.cpa.invariants.operators.mathematical.ISIOperator
 
 @RunWith(Suite.class)
 @SuiteClasses({
+  CompoundBitVectorIntervalTest.class,
   CompoundMathematicalIntervalTest.class,
+  NonRecursiveEnvironmentTest.class,
   SimpleIntervalTest.class,
   IIIOperatorTest.class,
   ISIOperatorTest.class})
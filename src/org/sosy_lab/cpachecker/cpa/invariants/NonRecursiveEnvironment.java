@@ -26,9 +26,11 @@ package org.sosy_lab.cpachecker.cpa.invariants;
 import com.google.common.base.Preconditions;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableSet;
 import java.util.Set;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentSortedMap;
 import org.sosy_lab.cpachecker.cpa.invariants.formula.CollectVarsVisitor;
@@ -38,6 +40,7 @@ import org.sosy_lab.cpachecker.cpa.invariants.formula.FormulaCompoundStateEvalua
 import org.sosy_lab.cpachecker.cpa.invariants.formula.FormulaEvaluationVisitor;
 import org.sosy_lab.cpachecker.cpa.invariants.formula.InvariantsFormulaManager;
 import org.sosy_lab.cpachecker.cpa.invariants.formula.NumeralFormula;
+import org.sosy_lab.cpachecker.cpa.invariants.formula.Variable;
 import org.sosy_lab.cpachecker.util.states.MemoryLocation;
 
 
@@ -51,17 +54,28 @@ public class NonRecursiveEnvironment implements Map<MemoryLocation, NumeralFormu
 
   private final CompoundIntervalManagerFactory compoundIntervalManagerFactory;
 
+  /** The statistics of the evaluation cache, or null if evaluations are not cached. */
+  private final @Nullable InvariantsStatistics statistics;
+
+  /**
+   * The values of the compound formulas already evaluated in this environment. The environment is
+   * immutable, so the values stay valid; the cache is created on first use.
+   */
+  private @Nullable Map<NumeralFormula<CompoundInterval>, CompoundInterval> evaluationCache;
+
   private NonRecursiveEnvironment(
       CompoundIntervalManagerFactory pCompoundIntervalManagerFactory,
       Map<MemoryLocation, NumeralFormula<CompoundInterval>> pInner) {
-    this(pCompoundIntervalManagerFactory, PathCopyingPersistentTreeMap.copyOf(pInner));
+    this(pCompoundIntervalManagerFactory, PathCopyingPersistentTreeMap.copyOf(pInner), null);
   }
 
   private NonRecursiveEnvironment(
       CompoundIntervalManagerFactory pCompoundIntervalManagerFactory,
-      PersistentSortedMap<MemoryLocation, NumeralFormula<CompoundInterval>> pInner) {
+      PersistentSortedMap<MemoryLocation, NumeralFormula<CompoundInterval>> pInner,
+      @Nullable InvariantsStatistics pStatistics) {
     this.inner = pInner;
     this.compoundIntervalManagerFactory = pCompoundIntervalManagerFactory;
+    this.statistics = pStatistics;
     this.formulaEvaluationVisitor = new FormulaCompoundStateEvaluationVisitor(compoundIntervalManagerFactory);
   }
 
@@ -108,6 +122,51 @@ public class NonRecursiveEnvironment implements Map<MemoryLocation, NumeralFormu
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Evaluates the given formula in this environment. If this environment was created with
+   * statistics and the given visitor is the standard evaluation visitor of this environment, the
+   * values of compound formulas are cached, unless the evaluation signaled an overflow: a cached
+   * value is returned without evaluating again, so the overflow event would be lost.
+   *
+   * @param pFormula the formula to evaluate.
+   * @param pEvaluationVisitor the visitor used to evaluate the formula.
+   * @return the value of the formula in this environment.
+   */
+  public CompoundInterval evaluate(
+      NumeralFormula<CompoundInterval> pFormula,
+      FormulaEvaluationVisitor<CompoundInterval> pEvaluationVisitor) {
+    if (statistics == null
+        || pFormula instanceof Constant
+        || pFormula instanceof Variable
+        || !formulaEvaluationVisitor.equals(pEvaluationVisitor)) {
+      return pFormula.accept(pEvaluationVisitor, this);
+    }
+    if (evaluationCache == null) {
+      evaluationCache = new HashMap<>();
+    }
+    CompoundInterval value = evaluationCache.get(pFormula);
+    if (value != null) {
+      statistics.evaluationCacheHits.inc();
+      return value;
+    }
+    statistics.evaluationCacheMisses.inc();
+    long overflowEventCount = getOverflowEventCount();
+    // no computeIfAbsent, because the evaluation recursively evaluates variables in this cache
+    value = pFormula.accept(pEvaluationVisitor, this);
+    if (overflowEventCount == getOverflowEventCount()) {
+      evaluationCache.put(pFormula, value);
+    }
+    return value;
+  }
+
+  private long getOverflowEventCount() {
+    if (compoundIntervalManagerFactory instanceof CompoundBitVectorIntervalManagerFactory) {
+      return ((CompoundBitVectorIntervalManagerFactory) compoundIntervalManagerFactory)
+          .getOverflowEventCount();
+    }
+    return 0;
+  }
+
   private boolean isConstantAndContainsAllPossibleValues(NumeralFormula<CompoundInterval> pFormula) {
     if (pFormula instanceof Constant) {
       return ((Constant<CompoundInterval>) pFormula).getValue().containsAllPossibleValues();
@@ -183,7 +242,8 @@ public class NonRecursiveEnvironment implements Map<MemoryLocation, NumeralFormu
     if (this.inner == resultInner) {
       return this;
     }
-    return new NonRecursiveEnvironment(this.compoundIntervalManagerFactory, resultInner);
+    return new NonRecursiveEnvironment(
+        this.compoundIntervalManagerFactory, resultInner, this.statistics);
   }
 
   public NonRecursiveEnvironment putAndCopyAll(Map<? extends MemoryLocation, ? extends NumeralFormula<CompoundInterval>> pM) {
@@ -191,14 +251,16 @@ public class NonRecursiveEnvironment implements Map<MemoryLocation, NumeralFormu
     for (java.util.Map.Entry<? extends MemoryLocation, ? extends NumeralFormula<CompoundInterval>> entry : pM.entrySet()) {
       resultInner = sanitizedInnerPutAndCopy(resultInner, entry.getKey(), entry.getValue());
     }
-    return new NonRecursiveEnvironment(this.compoundIntervalManagerFactory, resultInner);
+    return new NonRecursiveEnvironment(
+        this.compoundIntervalManagerFactory, resultInner, this.statistics);
   }
 
   public NonRecursiveEnvironment removeAndCopy(Object pKey) {
     if (!containsKey(pKey)) {
       return this;
     }
-    return new NonRecursiveEnvironment(this.compoundIntervalManagerFactory, this.inner.removeAndCopy(pKey));
+    return new NonRecursiveEnvironment(
+        this.compoundIntervalManagerFactory, this.inner.removeAndCopy(pKey), this.statistics);
   }
 
   @Override
@@ -249,7 +311,25 @@ public class NonRecursiveEnvironment implements Map<MemoryLocation, NumeralFormu
   }
 
   public static NonRecursiveEnvironment of(CompoundIntervalManagerFactory pCompoundIntervalManagerFactory) {
-    return new NonRecursiveEnvironment(pCompoundIntervalManagerFactory, PathCopyingPersistentTreeMap.<MemoryLocation, NumeralFormula<CompoundInterval>>of());
+    return of(pCompoundIntervalManagerFactory, null);
+  }
+
+  /**
+   * Creates an empty environment. The environment and the environments derived from it cache the
+   * values of evaluated formulas if statistics for the cache are given.
+   *
+   * @param pCompoundIntervalManagerFactory the factory for compound-interval managers.
+   * @param pStatistics the statistics the cache hits and misses are counted in, or null if
+   *     evaluations should not be cached.
+   * @return an empty environment.
+   */
+  static NonRecursiveEnvironment of(
+      CompoundIntervalManagerFactory pCompoundIntervalManagerFactory,
+      @Nullable InvariantsStatistics pStatistics) {
+    return new NonRecursiveEnvironment(
+        pCompoundIntervalManagerFactory,
+        PathCopyingPersistentTreeMap.<MemoryLocation, NumeralFormula<CompoundInterval>>of(),
+        pStatistics);
   }
 
   @Deprecated
@@ -290,7 +370,8 @@ public class NonRecursiveEnvironment implements Map<MemoryLocation, NumeralFormu
 
     @Override
     public void clear() {
-      current = NonRecursiveEnvironment.of(current.compoundIntervalManagerFactory);
+      current =
+          NonRecursiveEnvironment.of(current.compoundIntervalManagerFactory, current.statistics);
     }
 
     @Override
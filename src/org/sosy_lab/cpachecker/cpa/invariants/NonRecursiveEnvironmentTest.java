@@ -0,0 +1,103 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.invariants;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cpa.invariants.formula.FormulaCompoundStateEvaluationVisitor;
+import org.sosy_lab.cpachecker.cpa.invariants.formula.FormulaEvaluationVisitor;
+import org.sosy_lab.cpachecker.cpa.invariants.formula.InvariantsFormulaManager;
+import org.sosy_lab.cpachecker.cpa.invariants.formula.NumeralFormula;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+public class NonRecursiveEnvironmentTest {
+
+  private static final CompoundBitVectorIntervalManagerFactory FACTORY =
+      CompoundBitVectorIntervalManagerFactory.FORBID_SIGNED_WRAP_AROUND;
+
+  private static final BitVectorInfo INT = BitVectorInfo.from(32, true);
+
+  private static final MemoryLocation X = MemoryLocation.valueOf("x");
+
+  private final InvariantsStatistics statistics = new InvariantsStatistics();
+
+  private final FormulaEvaluationVisitor<CompoundInterval> evaluationVisitor =
+      new FormulaCompoundStateEvaluationVisitor(FACTORY);
+
+  private static NumeralFormula<CompoundInterval> constant(long pValue) {
+    return InvariantsFormulaManager.INSTANCE.asConstant(
+        INT, (CompoundInterval) CompoundBitVectorInterval.singleton(INT, pValue));
+  }
+
+  private static NumeralFormula<CompoundInterval> xPlusOne() {
+    return InvariantsFormulaManager.INSTANCE.add(
+        InvariantsFormulaManager.INSTANCE.asVariable(INT, X), constant(1));
+  }
+
+  private NonRecursiveEnvironment environmentWithX(long pValue) {
+    return NonRecursiveEnvironment.of(FACTORY, statistics).putAndCopy(X, constant(pValue));
+  }
+
+  @Test
+  public void testCompoundFormulaIsCached() {
+    NonRecursiveEnvironment environment = environmentWithX(5);
+    CompoundInterval value = environment.evaluate(xPlusOne(), evaluationVisitor);
+    assertThat(value).isEqualTo(CompoundBitVectorInterval.singleton(INT, 6));
+    assertThat(environment.evaluate(xPlusOne(), evaluationVisitor)).isSameInstanceAs(value);
+    assertThat(statistics.evaluationCacheMisses.getValue()).isEqualTo(1);
+    assertThat(statistics.evaluationCacheHits.getValue()).isEqualTo(1);
+
+    // a derived environment starts with an empty cache
+    NonRecursiveEnvironment derived = environment.putAndCopy(X, constant(6));
+    assertThat(derived.evaluate(xPlusOne(), evaluationVisitor))
+        .isEqualTo(CompoundBitVectorInterval.singleton(INT, 7));
+    assertThat(statistics.evaluationCacheMisses.getValue()).isEqualTo(2);
+  }
+
+  @Test
+  public void testSimpleFormulasAreNotCached() {
+    NonRecursiveEnvironment environment = environmentWithX(5);
+    environment.evaluate(constant(1), evaluationVisitor);
+    environment.evaluate(InvariantsFormulaManager.INSTANCE.asVariable(INT, X), evaluationVisitor);
+    assertThat(statistics.evaluationCacheMisses.getValue()).isEqualTo(0);
+    assertThat(statistics.evaluationCacheHits.getValue()).isEqualTo(0);
+  }
+
+  @Test
+  public void testEvaluationWithOverflowIsNotCached() {
+    NonRecursiveEnvironment environment = environmentWithX(Integer.MAX_VALUE);
+    AtomicInteger overflows = new AtomicInteger();
+    OverflowEventHandler handler = () -> overflows.incrementAndGet();
+    FACTORY.addOverflowEventHandler(handler);
+    try {
+      assertThat(environment.evaluate(xPlusOne(), evaluationVisitor).containsAllPossibleValues())
+          .isTrue();
+      assertThat(environment.evaluate(xPlusOne(), evaluationVisitor).containsAllPossibleValues())
+          .isTrue();
+    } finally {
+      FACTORY.removeOverflowEventHandler(handler);
+    }
+    assertThat(overflows.get()).isEqualTo(2);
+    assertThat(statistics.evaluationCacheMisses.getValue()).isEqualTo(2);
+    assertThat(statistics.evaluationCacheHits.getValue()).isEqualTo(0);
+  }
+}
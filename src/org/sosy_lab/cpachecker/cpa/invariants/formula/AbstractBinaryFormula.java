@@ -37,6 +37,9 @@ public abstract class AbstractBinaryFormula<ConstantType> extends AbstractFormul
     // isCommutative is TRUE for "=", "+", "*" and FALSE for "-", "/", "<".
     private final boolean isCommutative;
 
+    // Formulas are immutable and often used as cache keys, so the hash code is computed once
+    private final int hashCode;
+
     /**
      * Creates a new formula with two operands.
      *
@@ -53,6 +56,10 @@ public abstract class AbstractBinaryFormula<ConstantType> extends AbstractFormul
       this.isCommutative = pIsCommutative;
       this.operand1 = pOperand1;
       this.operand2 = pOperand2;
+      this.hashCode =
+          31 * operator.hashCode()
+              + pOperand1.hashCode() * pOperand2.hashCode()
+              + 43 * getTypeInfo().hashCode();
     }
 
    public NumeralFormula<ConstantType> getOperand1() {
@@ -73,6 +80,9 @@ public abstract class AbstractBinaryFormula<ConstantType> extends AbstractFormul
      }
      if (this.getClass().equals(o.getClass())) { // equality for subclasses
        AbstractBinaryFormula<?> other = (AbstractBinaryFormula<?>) o;
+      if (hashCode != other.hashCode) {
+        return false;
+      }
       if (!getTypeInfo().equals(other.getTypeInfo())) {
          return false;
        }
@@ -92,9 +102,7 @@ public abstract class AbstractBinaryFormula<ConstantType> extends AbstractFormul
 
    @Override
    public int hashCode() {
-    return 31 * operator.hashCode()
-        + getOperand1().hashCode() * getOperand2().hashCode()
-        + 43 * getTypeInfo().hashCode();
+    return hashCode;
    }
 
    @Override
@@ -29,6 +29,7 @@ import org.sosy_lab.cpachecker.cpa.invariants.CompoundBitVectorIntervalManagerFa
 import org.sosy_lab.cpachecker.cpa.invariants.CompoundInterval;
 import org.sosy_lab.cpachecker.cpa.invariants.CompoundIntervalManager;
 import org.sosy_lab.cpachecker.cpa.invariants.CompoundIntervalManagerFactory;
+import org.sosy_lab.cpachecker.cpa.invariants.NonRecursiveEnvironment;
 import org.sosy_lab.cpachecker.cpa.invariants.TypeInfo;
 import org.sosy_lab.cpachecker.cpa.invariants.Typed;
 import org.sosy_lab.cpachecker.util.states.MemoryLocation;
@@ -242,6 +243,10 @@ public class FormulaCompoundStateEvaluationVisitor implements FormulaEvaluationV
     if (varState == null) {
       return getCompoundIntervalManager(pVariable).allPossibleValues();
     }
+    if (pEnvironment instanceof NonRecursiveEnvironment) {
+      // Variables are evaluated again for every formula they occur in
+      return ((NonRecursiveEnvironment) pEnvironment).evaluate(varState, this);
+    }
     return varState.accept(this, pEnvironment);
   }
 
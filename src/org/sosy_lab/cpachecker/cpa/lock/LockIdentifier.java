@@ -23,9 +23,9 @@
  */
 package org.sosy_lab.cpachecker.cpa.lock;
 
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 public class LockIdentifier implements Comparable<LockIdentifier> {
 
@@ -40,10 +40,12 @@ public class LockIdentifier implements Comparable<LockIdentifier> {
     }
   }
 
-  private static Set<LockIdentifier> createdIds;
+  private static Map<LockIdentifier, LockIdentifier> createdIds;
 
   private final String name;
   private final LockType type;
+  // unique number of the identifier, used for the encoding of lock sets
+  private int index;
 
   protected LockIdentifier(String pName, LockType pType) {
     name = pName;
@@ -58,9 +60,9 @@ public class LockIdentifier implements Comparable<LockIdentifier> {
     return LockIdentifier.of(name, var, LockType.GLOBAL_LOCK);
   }
 
-  public static LockIdentifier of(String name, String var, LockType type) {
+  public static synchronized LockIdentifier of(String name, String var, LockType type) {
     if (createdIds == null) {
-      createdIds = new HashSet<>();
+      createdIds = new HashMap<>();
     }
     LockIdentifier newId;
     if (var.isEmpty()) {
@@ -70,13 +72,13 @@ public class LockIdentifier implements Comparable<LockIdentifier> {
       newId = new LockIdentifierWithVariable(name, varName, type);
     }
 
-    for (LockIdentifier id : createdIds) {
-      if (id.equals(newId)) {
-        return id;
-      }
+    LockIdentifier id = createdIds.get(newId);
+    if (id != null) {
+      return id;
     }
 
-    createdIds.add(newId);
+    newId.index = createdIds.size();
+    createdIds.put(newId, newId);
     return newId;
   }
 
@@ -84,6 +86,10 @@ public class LockIdentifier implements Comparable<LockIdentifier> {
     return name;
   }
 
+  int getIndex() {
+    return index;
+  }
+
   private static String getCleanName(String originName) {
     if (originName != null) {
       String newName = originName.replaceAll("\\(", "");
@@ -0,0 +1,114 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.cpa.lock;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable set of lock identifiers, which is shared by all lock states with the same locks.
+ *
+ * <p>Instances are hash-consed, so equal sets are identical. The locks are encoded as a bit set
+ * over the unique indices of the lock identifiers, thus subset and intersection checks take
+ * constant time for the usual small number of locks in a program.
+ */
+final class LockSet {
+
+  private static final Interner<LockSet> interner = Interners.newWeakInterner();
+
+  static final LockSet EMPTY = interner.intern(new LockSet(new long[0]));
+
+  // The last word is never zero
+  private final long[] bits;
+  private final int hashCode;
+
+  private LockSet(long[] pBits) {
+    bits = pBits;
+    hashCode = Arrays.hashCode(pBits);
+  }
+
+  static LockSet of(Collection<LockIdentifier> pLocks) {
+    if (pLocks.isEmpty()) {
+      return EMPTY;
+    }
+    int maxIndex = 0;
+    for (LockIdentifier lock : pLocks) {
+      maxIndex = Math.max(maxIndex, lock.getIndex());
+    }
+    long[] words = new long[(maxIndex >> 6) + 1];
+    for (LockIdentifier lock : pLocks) {
+      words[lock.getIndex() >> 6] |= 1L << lock.getIndex();
+    }
+    return interner.intern(new LockSet(words));
+  }
+
+  boolean isEmpty() {
+    return bits.length == 0;
+  }
+
+  boolean containsAll(LockSet pOther) {
+    if (this == pOther) {
+      return true;
+    }
+    if (pOther.bits.length > bits.length) {
+      return false;
+    }
+    for (int i = 0; i < pOther.bits.length; i++) {
+      if ((pOther.bits[i] & ~bits[i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  boolean intersects(LockSet pOther) {
+    int length = Math.min(bits.length, pOther.bits.length);
+    for (int i = 0; i < length; i++) {
+      if ((bits[i] & pOther.bits[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object pObj) {
+    if (this == pObj) {
+      return true;
+    }
+    if (!(pObj instanceof LockSet)) {
+      return false;
+    }
+    LockSet other = (LockSet) pObj;
+    return hashCode == other.hashCode && Arrays.equals(bits, other.bits);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(bits);
+  }
+}
@@ -269,16 +269,20 @@ public class LockState extends AbstractLockState {
   }
 
   private final ImmutableMap<LockIdentifier, Integer> locks;
+  // shared by all states with the same locks
+  private final LockSet lockSet;
   // if we need restore state, we save it here
   // Used for function annotations like annotate.function_name.restore
   public LockState() {
     super();
     locks = ImmutableMap.of();
+    lockSet = LockSet.EMPTY;
   }
 
   protected LockState(Map<LockIdentifier, Integer> gLocks, LockState state) {
     super(state);
     this.locks = ImmutableMap.copyOf(gLocks);
+    lockSet = LockSet.of(locks.keySet());
   }
 
   @Override
@@ -316,7 +320,9 @@ public class LockState extends AbstractLockState {
       return false;
     }
     LockState other = (LockState) obj;
-    return Objects.equals(toRestore, other.toRestore) && Objects.equals(locks, other.locks);
+    return lockSet == other.lockSet
+        && Objects.equals(toRestore, other.toRestore)
+        && Objects.equals(locks, other.locks);
   }
 
   /**
@@ -408,9 +414,20 @@ public class LockState extends AbstractLockState {
     return locks.keySet();
   }
 
+  @Override
+  public boolean isCompatibleWith(CompatibleState state) {
+    if (state instanceof LockState) {
+      return !lockSet.intersects(((LockState) state).lockSet);
+    }
+    return super.isCompatibleWith(state);
+  }
+
   @Override
   public boolean isLessOrEqual(AbstractLockState other) {
     // State is less, if it has the same locks as the other and may be some more
+    if (other instanceof LockState) {
+      return lockSet.containsAll(((LockState) other).lockSet);
+    }
 
     for (LockIdentifier lock : other.getLocks()) {
       if (!locks.containsKey(lock)) {
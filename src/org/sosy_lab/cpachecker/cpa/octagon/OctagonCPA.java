@@ -23,6 +23,7 @@
  */
 package org.sosy_lab.cpachecker.cpa.octagon;
 
+import java.util.Collection;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -41,15 +42,19 @@ import org.sosy_lab.cpachecker.core.interfaces.ConfigurableProgramAnalysis;
 import org.sosy_lab.cpachecker.core.interfaces.MergeOperator;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.StopOperator;
 import org.sosy_lab.cpachecker.core.interfaces.TransferRelation;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.util.octagon.OctagonFloatManager;
 import org.sosy_lab.cpachecker.util.octagon.OctagonIntManager;
+import org.sosy_lab.cpachecker.util.octagon.OctagonJavaManager;
 import org.sosy_lab.cpachecker.util.octagon.OctagonManager;
+import org.sosy_lab.cpachecker.util.octagon.OctagonPackingManager;
 
 @Options(prefix="cpa.octagon")
-public final class OctagonCPA implements ConfigurableProgramAnalysis {
+public final class OctagonCPA implements ConfigurableProgramAnalysis, StatisticsProvider {
 
   public static CPAFactory factory() {
     return AutomaticCPAFactory.forType(OctagonCPA.class);
@@ -60,6 +65,17 @@ public final class OctagonCPA implements ConfigurableProgramAnalysis {
           + " library will be changed between floats and ints.")
   private String octagonLibrary = "INT";
 
+  @Option(secure=true, name="javaImplementation",
+      description="use the octagon implementation written in Java instead of the native"
+          + " library, the number representation is chosen by the option octagonLibrary.")
+  private boolean useJavaImplementation = false;
+
+  @Option(secure=true, name="variablePacking",
+      description="decompose octagons into independent packs of related variables, which are"
+          + " initialized from the partitions of the variable classification and merged when"
+          + " necessary. This always uses the octagon implementation written in Java.")
+  private boolean useVariablePacking = false;
+
   @Option(secure=true, name="initialPrecisionType", toUppercase=true, values={"STATIC_FULL", "REFINEABLE_EMPTY"},
       description="this option determines which initial precision should be used")
   private String precisionType = "STATIC_FULL";
@@ -85,7 +101,12 @@ public final class OctagonCPA implements ConfigurableProgramAnalysis {
     logger = log;
     OctagonDomain octagonDomain = new OctagonDomain(logger);
 
-    if (octagonLibrary.equals("FLOAT")) {
+    if (useVariablePacking) {
+      octagonManager =
+          new OctagonPackingManager(octagonLibrary.equals("INT"), cfa.getVarClassification());
+    } else if (useJavaImplementation) {
+      octagonManager = new OctagonJavaManager(octagonLibrary.equals("INT"));
+    } else if (octagonLibrary.equals("FLOAT")) {
       octagonManager = new OctagonFloatManager();
     } else {
       octagonManager = new OctagonIntManager();
@@ -159,4 +180,11 @@ public final class OctagonCPA implements ConfigurableProgramAnalysis {
   public CFA getCFA() {
     return cfa;
   }
+
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    if (octagonManager instanceof StatisticsProvider) {
+      ((StatisticsProvider) octagonManager).collectStatistics(pStatsCollection);
+    }
+  }
 }
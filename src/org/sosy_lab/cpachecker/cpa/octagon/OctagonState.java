@@ -326,7 +326,7 @@ public class OctagonState implements AbstractState {
     assert !variableToIndexMap.containsKey(pTempVarName);
     OctagonState newState =
         new OctagonState(
-            octagonManager.addDimensionAndEmbed(octagon, 1),
+            octagonManager.addVariable(octagon, pTempVarName, variableToIndexMap),
             HashBiMap.create(variableToIndexMap),
             new HashMap<>(variableToTypeMap),
             logger);
@@ -112,7 +112,8 @@ public class PolicyCPA extends SingleEdgeTransferRelation
         new ValueDeterminationManager(
             config, fmgr, pLogger, pfmgr,
             stateFormulaConversionManager,
-            pTemplateToFormulaConversionManager);
+            pTemplateToFormulaConversionManager,
+            statistics);
     FormulaLinearizationManager formulaLinearizationManager = new
         FormulaLinearizationManager(fmgr, statistics);
     templatePrecision = new TemplatePrecision(
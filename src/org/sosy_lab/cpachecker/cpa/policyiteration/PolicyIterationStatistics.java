@@ -33,6 +33,9 @@ public class PolicyIterationStatistics implements Statistics {
 
   final Timer getBoundTimer = new Timer();
 
+  int generatedPolicyConstraints = 0;
+  int reusedPolicyConstraints = 0;
+
   private final CFA cfa;
 
   private BigInteger wideningTemplatesGenerated = BigInteger.ZERO;
@@ -58,6 +61,10 @@ public class PolicyIterationStatistics implements Statistics {
 
     out.printf("Number of templates generated through widening: %s%n",
         wideningTemplatesGenerated);
+    out.printf("Number of policies with generated value determination constraints: %d%n",
+        generatedPolicyConstraints);
+    out.printf("Number of policies with reused value determination constraints: %d%n",
+        reusedPolicyConstraints);
 
     UpdateStats<?> updateStats = getUpdateStats(updateCounter);
     UpdateStats<?> templateUpdateStats = getUpdateStats(templateUpdateCounter);
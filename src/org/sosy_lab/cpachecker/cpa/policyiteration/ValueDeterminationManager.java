@@ -1,7 +1,10 @@
 package org.sosy_lab.cpachecker.cpa.policyiteration;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableTable;
 import com.google.common.collect.Maps;
@@ -14,9 +17,11 @@ import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.logging.Level;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -38,6 +43,17 @@ public class ValueDeterminationManager {
           + "determination computation")
   private boolean attachExtraInvariantDuringValueDetermination = true;
 
+  @Option(secure=true,
+      description="Reuse the constraints generated for a policy in previous "
+          + "value determination runs")
+  private boolean reusePolicyConstraints = true;
+
+  @Option(secure=true,
+      description="Number of policies whose value determination constraints are kept "
+          + "for reuse, if cpa.lpi.reusePolicyConstraints is enabled")
+  @IntegerOption(min=0)
+  private int policyConstraintsCacheSize = 10000;
+
   /** Dependencies */
   private final FormulaManagerView fmgr;
   private final BooleanFormulaManagerView bfmgr;
@@ -45,6 +61,16 @@ public class ValueDeterminationManager {
   private final PathFormulaManager pfmgr;
   private final StateFormulaConversionManager stateFormulaConversionManager;
   private final TemplateToFormulaConversionManager templateToFormulaConversionManager;
+  private final PolicyIterationStatistics statistics;
+
+  /**
+   * Constraints generated for a single policy. Value determination is run repeatedly on the
+   * same strongly connected component, and the policies of the states which were not updated
+   * are visited again in each run, yielding the same constraints for the same namespace.
+   * Only constraints in the namespace of their policy are stored, the unique prefixes
+   * are counted anew in each run and do not identify a policy.
+   */
+  private final Cache<PolicyConstraintsKey, PolicyConstraints> policyConstraintsCache;
 
   /** Constants */
   private static final String BOUND_VAR_NAME = "BOUND_[%s]_[%s]";
@@ -56,9 +82,13 @@ public class ValueDeterminationManager {
       LogManager logger,
       PathFormulaManager pPfmgr,
       StateFormulaConversionManager pStateFormulaConversionManager,
-      TemplateToFormulaConversionManager pTemplateToFormulaConversionManager) throws InvalidConfigurationException {
+      TemplateToFormulaConversionManager pTemplateToFormulaConversionManager,
+      PolicyIterationStatistics pStatistics) throws InvalidConfigurationException {
     templateToFormulaConversionManager = pTemplateToFormulaConversionManager;
+    statistics = pStatistics;
     pConfiguration.inject(this);
+    policyConstraintsCache =
+        CacheBuilder.newBuilder().maximumSize(policyConstraintsCacheSize).build();
 
     this.fmgr = fmgr;
     stateFormulaConversionManager = pStateFormulaConversionManager;
@@ -176,16 +206,17 @@ public class ValueDeterminationManager {
                         // Merge variables sharing the same policy.
                         String.format(VISIT_PREFIX, bound.serializePolicy(state));
 
-        generateConstraintsFromPolicyBound(
+        PolicyConstraints policyConstraints = getConstraintsFromPolicyBound(
             bound,
             state.getLocationID(),
             template,
             backpointer.getLocationID(),
             prefix,
             valueIsFixed,
-            outConstraints,
-            outVars
+            !useUniquePrefix
         );
+        outVars.put(template, state.getLocationID(), policyConstraints.outVar);
+        outConstraints.addAll(policyConstraints.constraints);
       }
     }
 
@@ -283,7 +314,40 @@ public class ValueDeterminationManager {
 
 
   /**
-   * Process and add constraints from a single policy.
+   * Get the constraints for a single policy, reusing the constraints from
+   * a previous value determination run if possible.
+   *
+   * @param cacheable Flag on whether the prefix is the namespace of the policy,
+   *                  such that the constraints can be stored for later runs.
+   */
+  private PolicyConstraints getConstraintsFromPolicyBound(
+      PolicyBound bound,
+      int locationID,
+      Template template,
+      int policyBackpointerLocationID,
+      String prefix,
+      boolean valueFixed,
+      boolean cacheable
+  ) {
+    if (!reusePolicyConstraints || !cacheable) {
+      return generateConstraintsFromPolicyBound(
+          bound, locationID, template, policyBackpointerLocationID, prefix, valueFixed);
+    }
+    PolicyConstraintsKey key =
+        new PolicyConstraintsKey(bound, locationID, template, prefix, valueFixed);
+    PolicyConstraints out = policyConstraintsCache.getIfPresent(key);
+    if (out == null) {
+      out = generateConstraintsFromPolicyBound(
+          bound, locationID, template, policyBackpointerLocationID, prefix, valueFixed);
+      policyConstraintsCache.put(key, out);
+    } else {
+      statistics.reusedPolicyConstraints++;
+    }
+    return out;
+  }
+
+  /**
+   * Generate constraints from a single policy.
    *
    * @param bound {@link PolicyBound} to generate constraints from
    * @param locationID location ID associated with the to-state.
@@ -293,19 +357,19 @@ public class ValueDeterminationManager {
    * @param valueFixed Flag to indicate that the policy value is fixed
    *                   and will not change during this run of value
    *                   determination.
-   * @param outConstraints Output set to write constraints to.
-   * @param outVars Output table to record generated variables.
+   * @return Variable representing the abstract value of the template at the
+   * location, and the constraints on it.
    */
-  private void generateConstraintsFromPolicyBound(
+  private PolicyConstraints generateConstraintsFromPolicyBound(
       PolicyBound bound,
       int locationID,
       Template template,
       int policyBackpointerLocationID,
       String prefix,
-      boolean valueFixed,
-      Set<BooleanFormula> outConstraints,
-      Table<Template, Integer, Formula> outVars
+      boolean valueFixed
   ) {
+    statistics.generatedPolicyConstraints++;
+    ImmutableList.Builder<BooleanFormula> outConstraints = ImmutableList.builder();
     PathFormula policyFormula = bound.getFormula();
 
     PathFormula startPathFormula = stateFormulaConversionManager.getPathFormula(
@@ -317,14 +381,13 @@ public class ValueDeterminationManager {
     Formula outVar =
         fmgr.makeVariable(fmgr.getFormulaType(policyOutTemplate),
             absDomainVarName(locationID, template));
-    outVars.put(template, locationID, outVar);
 
     if (valueFixed) {
       logger.log(Level.FINE, "Fixed value for template", template);
       BooleanFormula constraint = fmgr.makeLessOrEqual(outVar,
               fmgr.makeNumber(policyOutTemplate, bound.getBound()), true);
       outConstraints.add(constraint);
-      return;
+      return new PolicyConstraints(outVar, outConstraints.build());
     }
 
     BooleanFormula outConstraint = fmgr.makeLessOrEqual(outVar,
@@ -357,6 +420,7 @@ public class ValueDeterminationManager {
           incomingTemplateFormula, upperBound, true);
       outConstraints.add(constraint);
     }
+    return new PolicyConstraints(outVar, outConstraints.build());
   }
 
   private <T extends Formula> T addPrefix(T formula, String prefix) {
@@ -372,4 +436,61 @@ public class ValueDeterminationManager {
         BOUND_VAR_NAME, locId, template.toString());
   }
 
+  private static final class PolicyConstraints {
+    private final Formula outVar;
+    private final ImmutableList<BooleanFormula> constraints;
+
+    private PolicyConstraints(Formula pOutVar, ImmutableList<BooleanFormula> pConstraints) {
+      outVar = pOutVar;
+      constraints = pConstraints;
+    }
+  }
+
+  /**
+   * The predecessor, the formula and the value of the policy are compared by
+   * {@link PolicyBound#equals(Object)}, which together with the dependencies
+   * of the policy and the namespace determine the generated constraints.
+   */
+  private static final class PolicyConstraintsKey {
+    private final PolicyBound bound;
+    private final int locationID;
+    private final Template template;
+    private final String prefix;
+    private final boolean valueFixed;
+
+    private PolicyConstraintsKey(
+        PolicyBound pBound,
+        int pLocationID,
+        Template pTemplate,
+        String pPrefix,
+        boolean pValueFixed) {
+      bound = pBound;
+      locationID = pLocationID;
+      template = pTemplate;
+      prefix = pPrefix;
+      valueFixed = pValueFixed;
+    }
+
+    @Override
+    public boolean equals(Object pO) {
+      if (this == pO) {
+        return true;
+      }
+      if (!(pO instanceof PolicyConstraintsKey)) {
+        return false;
+      }
+      PolicyConstraintsKey other = (PolicyConstraintsKey) pO;
+      return locationID == other.locationID
+          && valueFixed == other.valueFixed
+          && bound.equals(other.bound)
+          && bound.getDependencies().equals(other.bound.getDependencies())
+          && template.equals(other.template)
+          && prefix.equals(other.prefix);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(bound, locationID, template, prefix, valueFixed);
+    }
+  }
 }
@@ -1,8 +1,13 @@
 package org.sosy_lab.cpachecker.cpa.policyiteration.tests;
 
+import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assume.assumeNoException;
 
 import com.google.common.collect.ImmutableMap;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Map;
 import org.junit.Test;
@@ -195,12 +200,46 @@ public class PolicyIterationTest {
     checkWithBAM("bam/loop_around_summary_false_assert.c");
   }
 
+  @Test
+  public void reused_constraints_true_assert() throws Exception {
+    check("loop2_true_assert.c", ImmutableMap.of("cpa.lpi.policyConstraintsCacheSize", "1"));
+  }
+
+  @Test
+  public void no_reused_constraints_without_cache_true_assert() throws Exception {
+    TestResults results =
+        check(
+            "loop2_true_assert.c", ImmutableMap.of("cpa.lpi.policyConstraintsCacheSize", "0"));
+    assertThat(statistics(results))
+        .containsMatch("(?m)^Number of policies with reused value determination constraints: 0$");
+  }
+
+  @Test
+  public void no_reused_constraints_with_unique_prefix_true_assert() throws Exception {
+    // Without the hopeful value determination all runs use unique prefixes,
+    // whose constraints must not be reused.
+    TestResults results =
+        check(
+            "loop2_true_assert.c",
+            ImmutableMap.of("cpa.lpi.runHopefulValueDetermination", "false"));
+    assertThat(statistics(results))
+        .containsMatch("(?m)^Number of policies with reused value determination constraints: 0$");
+  }
+
+  private static String statistics(TestResults results) throws UnsupportedEncodingException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (PrintStream stream = new PrintStream(out, true, StandardCharsets.UTF_8.name())) {
+      results.getCheckerResult().printStatistics(stream);
+    }
+    return out.toString(StandardCharsets.UTF_8.name());
+  }
+
   private void check(String filename) throws Exception {
     check(filename, ImmutableMap.of());
   }
 
-  private void check(String filename, Map<String, String> extra) throws Exception {
-    check(filename, getProperties("policyIteration.properties", extra));
+  private TestResults check(String filename, Map<String, String> extra) throws Exception {
+    return check(filename, getProperties("policyIteration.properties", extra));
   }
 
   private void checkWithSlicing(String filename, Map<String, String> extra)
@@ -222,7 +261,7 @@ public class PolicyIterationTest {
     );
   }
 
-  private void check(String filename, Configuration config) throws Exception {
+  private TestResults check(String filename, Configuration config) throws Exception {
     String fullPath = Paths.get(TEST_DIR_PATH, filename).toString();
 
     TestResults results;
@@ -237,6 +276,7 @@ public class PolicyIterationTest {
     } else if (filename.contains("_false_assert") || filename.contains("_false-unreach")) {
       results.assertIsUnsafe();
     }
+    return results;
   }
 
   private Configuration getProperties(String configFile, Map<String, String> extra)
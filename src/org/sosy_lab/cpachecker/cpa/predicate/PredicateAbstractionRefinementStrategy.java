@@ -37,9 +37,11 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.MultimapBuilder;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import java.io.IOException;
 import java.io.PrintStream;
@@ -69,6 +71,7 @@ import org.sosy_lab.cpachecker.core.defaults.precision.VariableTrackingPrecision
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
+import org.sosy_lab.cpachecker.core.reachedset.AggregatedReachedSets;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGReachedSet;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
@@ -156,6 +159,12 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
   @FileOption(Type.OUTPUT_FILE)
   private PathTemplate dumpPredicatesFile = PathTemplate.ofFormatString("refinement%04d-predicates.prec");
 
+  @Option(secure=true, name="refinement.exchangePredicates",
+      description="Publish the predicates found by refinement to other analyses, "
+          + "which run in parallel (cf. option parallelAlgorithm.configFiles), "
+          + "and add the predicates published by them to the new precision.")
+  private boolean exchangePredicates = false;
+
   private int refinementCount = 0; // this is modulo restartAfterRefinements
 
   private boolean atomicPredicates = false;
@@ -166,6 +175,13 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
   private final PredicateAbstractionManager predAbsMgr;
   private final FormulaMeasuring formulaMeasuring;
   private final PredicateMapWriter precisionWriter;
+  private final AggregatedReachedSets aggregatedReachedSets;
+
+  // predicates exchanged with other analyses
+  private final Set<Map.Entry<CFANode, String>> exchangedPredicates = new HashSet<>();
+  private final SetMultimap<CFANode, AbstractionPredicate> importedPredicates =
+      LinkedHashMultimap.create();
+  private int seenPublishedPredicates = 0;
 
   // statistics
   private StatCounter numberOfRefinementsWithStrategy2 = new StatCounter("Number of refs with location-based cutoff");
@@ -175,6 +191,10 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
   private StatTimer precisionUpdate = new StatTimer(StatKind.SUM, "Precision update");
   private StatTimer argUpdate = new StatTimer(StatKind.SUM, "ARG update");
   private StatTimer itpSimplification = new StatTimer(StatKind.SUM, "Itp simplification with BDDs");
+  private StatTimer predicateExchange = new StatTimer(StatKind.SUM, "Predicate exchange");
+  private StatInt publishedPredicates = new StatInt(StatKind.SUM, "Number of published predicates");
+  private StatInt importedPredicatesCount =
+      new StatInt(StatKind.SUM, "Number of imported predicates");
 
   private StatInt simplifyDeltaConjunctions = new StatInt(StatKind.SUM, "Conjunctions Delta");
   private StatInt simplifyDeltaDisjunctions = new StatInt(StatKind.SUM, "Disjunctions Delta");
@@ -209,7 +229,13 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
 
       w1.put(precisionUpdate)
         .put(argUpdate)
-        .spacer();
+        .ifUpdatedAtLeastOnce(predicateExchange)
+          .put(predicateExchange)
+          .beginLevel()
+            .put(publishedPredicates)
+            .put(importedPredicatesCount);
+
+      w1.spacer();
 
       PredicateAbstractionRefinementStrategy.this.printStatistics(out);
 
@@ -225,6 +251,16 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
       final PredicateAbstractionManager pPredAbsMgr,
       final Solver pSolver)
       throws InvalidConfigurationException {
+    this(config, pLogger, pPredAbsMgr, pSolver, new AggregatedReachedSets());
+  }
+
+  public PredicateAbstractionRefinementStrategy(
+      final Configuration config,
+      final LogManager pLogger,
+      final PredicateAbstractionManager pPredAbsMgr,
+      final Solver pSolver,
+      final AggregatedReachedSets pAggregatedReachedSets)
+      throws InvalidConfigurationException {
     super(pSolver);
 
     config.inject(this, PredicateAbstractionRefinementStrategy.class);
@@ -234,6 +270,7 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
     bfmgr = fmgr.getBooleanFormulaManager();
     predAbsMgr = pPredAbsMgr;
     formulaMeasuring = new FormulaMeasuring(fmgr);
+    aggregatedReachedSets = pAggregatedReachedSets;
 
     if (dumpPredicates && dumpPredicatesFile != null) {
       precisionWriter = new PredicateMapWriter(config, fmgr);
@@ -413,6 +450,9 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
     logger.log(Level.ALL, "New predicates are", newPredicates);
 
     PredicatePrecision newPrecision = addPredicatesToPrecision(basePrecision);
+    if (exchangePredicates) {
+      newPrecision = exchangePredicates(newPrecision);
+    }
 
     logger.log(Level.ALL, "Predicate map now is", newPrecision);
     logger.log(Level.ALL, "Difference of predicates is", newPrecision.subtract(basePrecision));
@@ -517,6 +557,58 @@ public class PredicateAbstractionRefinementStrategy extends RefinementStrategy
     return newPrecision;
   }
 
+  /**
+   * Publish the new predicates to other analyses running in parallel and add all predicates,
+   * which were published by them so far, to the given precision. Predicates are exchanged as
+   * SMT-LIB2 strings, predicates that cannot be parsed by our solver (e.g., because of a different
+   * encoding of the program) are ignored.
+   */
+  private PredicatePrecision exchangePredicates(PredicatePrecision pPrecision) {
+    predicateExchange.start();
+    try {
+      List<Map.Entry<CFANode, String>> newPublishedPredicates = new ArrayList<>();
+      for (Map.Entry<CFANode, AbstractionPredicate> predicate :
+          mergePredicatesPerLocation(newPredicates.entries())) {
+        BooleanFormula atom = predicate.getValue().getSymbolicAtom();
+        if (!bfmgr.isFalse(atom)) {
+          Map.Entry<CFANode, String> published =
+              Maps.immutableEntry(predicate.getKey(), fmgr.dumpFormula(atom).toString());
+          if (exchangedPredicates.add(published)) {
+            newPublishedPredicates.add(published);
+          }
+        }
+      }
+      aggregatedReachedSets.publishPredicates(newPublishedPredicates);
+      publishedPredicates.setNextValue(newPublishedPredicates.size());
+
+      List<Map.Entry<CFANode, String>> otherPredicates =
+          aggregatedReachedSets.getPublishedPredicates(seenPublishedPredicates);
+      seenPublishedPredicates += otherPredicates.size();
+      int imported = 0;
+      for (Map.Entry<CFANode, String> predicate : otherPredicates) {
+        if (!exchangedPredicates.add(predicate)) {
+          continue; // our own or already known predicate
+        }
+        try {
+          BooleanFormula atom = fmgr.parse(predicate.getValue());
+          if (!bfmgr.isTrue(atom) && !bfmgr.isFalse(atom)) {
+            importedPredicates.put(predicate.getKey(), predAbsMgr.getPredicateFor(atom));
+            imported++;
+          }
+        } catch (IllegalArgumentException e) {
+          logger.logDebugException(e, "Ignoring predicate published by other analysis");
+        }
+      }
+      importedPredicatesCount.setNextValue(imported);
+
+      // imported predicates are added after every refinement,
+      // because the current refinement may not affect all parts of the ARG
+      return pPrecision.addLocalPredicates(importedPredicates.entries());
+    } finally {
+      predicateExchange.stop();
+    }
+  }
+
   private PredicatePrecision extractPredicatePrecision(Precision oldPrecision) throws IllegalStateException {
     PredicatePrecision oldPredicatePrecision = Precisions.extractPrecisionByType(oldPrecision, PredicatePrecision.class);
     checkState(
@@ -125,6 +125,7 @@ public class PredicateCPA
   private final CFA cfa;
   private final AbstractionManager abstractionManager;
   private final PredicateCPAInvariantsManager invariantsManager;
+  private final AggregatedReachedSets aggregatedReachedSets;
   private final BlockOperator blk;
   private final PredicateStatistics statistics;
   private final PredicateProvider predicateProvider;
@@ -181,6 +182,7 @@ public class PredicateCPA
 
     abstractionManager = new AbstractionManager(regionManager, config, logger, solver);
 
+    aggregatedReachedSets = pAggregatedReachedSets;
     invariantsManager =
         new PredicateCPAInvariantsManager(
             config, logger, pShutdownNotifier, pCfa, specification, pAggregatedReachedSets);
@@ -378,6 +380,11 @@ public class PredicateCPA
     return invariantsManager;
   }
 
+  /** Get the information provided by other analyses, e.g., analyses running in parallel. */
+  public AggregatedReachedSets getAggregatedReachedSets() {
+    return aggregatedReachedSets;
+  }
+
   public void changeExplicitAbstractionNodes(final ImmutableSet<CFANode> explicitlyAbstractAt) {
     blk.setExplicitAbstractionNodes(explicitlyAbstractAt);
   }
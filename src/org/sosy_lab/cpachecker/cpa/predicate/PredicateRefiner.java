@@ -46,7 +46,8 @@ public abstract class PredicateRefiner implements Refiner {
         predicateCpa.getConfiguration(),
         predicateCpa.getLogger(),
         predicateCpa.getPredicateManager(),
-        predicateCpa.getSolver());
+        predicateCpa.getSolver(),
+        predicateCpa.getAggregatedReachedSets());
 
     return new PredicateCPARefinerFactory(pCpa).create(strategy);
   }
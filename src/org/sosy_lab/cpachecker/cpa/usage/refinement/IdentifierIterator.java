@@ -26,15 +26,26 @@ package org.sosy_lab.cpachecker.cpa.usage.refinement;
 import static com.google.common.collect.FluentIterable.from;
 
 import com.google.common.base.Predicates;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
+import org.sosy_lab.common.Classes.UnexpectedCheckedException;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
@@ -49,6 +60,7 @@ import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.Refiner;
 import org.sosy_lab.cpachecker.core.interfaces.StateSpacePartition;
 import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.WrapperCPA;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
@@ -115,10 +127,27 @@ public class IdentifierIterator extends WrappedConfigurableRefinementBlock<Reach
 
   private final Map<SingleIdentifier, AdjustablePrecision> precisionMap = new HashMap<>();
 
+  // Independent copies of the wrapped chain, the first one is the wrappedRefiner
+  private final ImmutableList<ConfigurableRefinementBlock<SingleIdentifier>> workers;
+
   public IdentifierIterator(ConfigurableRefinementBlock<SingleIdentifier> pWrapper, Configuration config,
       ConfigurableProgramAnalysis pCpa, BAMTransferRelation pTransfer) throws InvalidConfigurationException {
-    super(pWrapper);
+    this(ImmutableList.of(pWrapper), config, pCpa, pTransfer);
+  }
+
+  /**
+   * Creates an iterator, which refines different identifiers in parallel, one thread for every
+   * given chain. The chains must not share any mutable state except for the solver.
+   */
+  public IdentifierIterator(
+      List<ConfigurableRefinementBlock<SingleIdentifier>> pWorkers,
+      Configuration config,
+      ConfigurableProgramAnalysis pCpa,
+      BAMTransferRelation pTransfer)
+      throws InvalidConfigurationException {
+    super(pWorkers.get(0));
     config.inject(this);
+    workers = ImmutableList.copyOf(pWorkers);
     cpa = pCpa;
     UsageCPA uCpa = CPAs.retrieveCPA(pCpa, UsageCPA.class);
     uCpa.getStats().setBAMCPA((BAMCPA) cpa);
@@ -162,10 +191,21 @@ public class IdentifierIterator extends WrappedConfigurableRefinementBlock<Reach
     AbstractState firstState = pReached.getFirstState();
     AdjustablePrecision finalPrecision = (AdjustablePrecision) pReached.getPrecision(firstState);
 
+    Map<SingleIdentifier, RefinementResult> parallelResults = null;
+    if (workers.size() > 1) {
+      List<SingleIdentifier> ids = ImmutableList.copyOf(iterator);
+      parallelResults = refineInParallel(ids);
+      iterator = ids.iterator();
+    }
+
+    // The results are merged in the order of identifiers to be independent of thread scheduling
     while (iterator.hasNext()) {
       SingleIdentifier currentId = iterator.next();
 
-      RefinementResult result = wrappedRefiner.performBlockRefinement(currentId);
+      RefinementResult result =
+          parallelResults == null
+              ? wrappedRefiner.performBlockRefinement(currentId)
+              : parallelResults.get(currentId);
       newPrecisionFound |= result.isFalse();
 
       AdjustablePrecision info = result.getPrecision();
@@ -243,15 +283,86 @@ public class IdentifierIterator extends WrappedConfigurableRefinementBlock<Reach
     }
   }
 
+  private Map<SingleIdentifier, RefinementResult> refineInParallel(List<SingleIdentifier> pIds)
+      throws CPAException, InterruptedException {
+    // the threads only live during one refinement, there is no hook to stop them with the refiner
+    ExecutorService executor =
+        Executors.newFixedThreadPool(
+            workers.size(),
+            new ThreadFactoryBuilder()
+                .setNameFormat("IdentifierIterator-refinement-%d")
+                .setDaemon(true)
+                .build());
+    Map<SingleIdentifier, RefinementResult> results = new ConcurrentHashMap<>();
+    Iterator<SingleIdentifier> queue = pIds.iterator();
+    List<Future<?>> futures = new ArrayList<>(workers.size());
+
+    try {
+      for (ConfigurableRefinementBlock<SingleIdentifier> worker : workers) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  while (true) {
+                    SingleIdentifier id;
+                    synchronized (queue) {
+                      if (!queue.hasNext()) {
+                        return null;
+                      }
+                      id = queue.next();
+                    }
+                    results.put(id, worker.performBlockRefinement(id));
+                  }
+                }));
+      }
+
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      Throwable t = e.getCause();
+      Throwables.propagateIfPossible(t, CPAException.class, InterruptedException.class);
+      throw new UnexpectedCheckedException("parallel refinement", t);
+    } finally {
+      futures.forEach(f -> f.cancel(true));
+      executor.shutdownNow();
+    }
+    return results;
+  }
+
+  @Override
+  protected void sendUpdateSignal(Class<? extends RefinementInterface> dstClass, Object data) {
+    for (ConfigurableRefinementBlock<SingleIdentifier> worker : workers) {
+      worker.update(getClass(), dstClass, data);
+    }
+  }
+
+  @Override
+  protected void sendFinishSignal() throws CPAException, InterruptedException {
+    for (ConfigurableRefinementBlock<SingleIdentifier> worker : workers) {
+      worker.finish(getClass());
+    }
+  }
+
   @Override
   public void printStatistics(StatisticsWriter pOut) {
-    wrappedRefiner.printStatistics(pOut);
+    if (workers.size() == 1) {
+      wrappedRefiner.printStatistics(pOut);
+      return;
+    }
+    for (int j = 0; j < workers.size(); j++) {
+      pOut.put("Refinement thread " + j, "");
+      workers.get(j).printStatistics(pOut.beginLevel());
+    }
   }
 
   @Override
   public void collectStatistics(Collection<Statistics> statsCollection) {
     statsCollection.add(new Stats());
-    super.collectStatistics(statsCollection);
+    for (ConfigurableRefinementBlock<SingleIdentifier> worker : workers) {
+      if (worker instanceof StatisticsProvider) {
+        ((StatisticsProvider) worker).collectStatistics(statsCollection);
+      }
+    }
   }
 
   @Override
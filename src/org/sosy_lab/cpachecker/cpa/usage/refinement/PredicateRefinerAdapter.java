@@ -66,6 +66,8 @@ public class PredicateRefinerAdapter extends GenericSinglePathRefiner {
   LogManager logger;
 
   private final UsageStatisticsRefinementStrategy strategy;
+  // guards the solver, which is shared with the adapters of parallel refinement threads
+  private final Object solverLock;
   private ARGReachedSet ARGReached;
 
   private final Map<Set<CFAEdge>, PredicatePrecision> falseCache = new HashMap<>();
@@ -81,8 +83,10 @@ public class PredicateRefinerAdapter extends GenericSinglePathRefiner {
   private StatCounter numberOfBAMupdates = new StatCounter("Number of BAM updates");
 
   public PredicateRefinerAdapter(ConfigurableRefinementBlock<Pair<ExtendedARGPath, ExtendedARGPath>> wrapper,
-      ConfigurableProgramAnalysis pCpa, LogManager pLogger) throws InvalidConfigurationException {
+      ConfigurableProgramAnalysis pCpa, LogManager pLogger, Object pSolverLock)
+      throws InvalidConfigurationException {
     super(wrapper);
+    solverLock = pSolverLock;
 
     if (!(pCpa instanceof WrapperCPA)) {
       throw new InvalidConfigurationException(BAMPredicateRefiner.class.getSimpleName() + " could not find the PredicateCPA");
@@ -174,7 +178,10 @@ public class PredicateRefinerAdapter extends GenericSinglePathRefiner {
     RefinementResult result;
     try {
       numberOfrefinedPaths.inc();
-      CounterexampleInfo cex = refiner.performRefinementForPath(ARGReached, path);
+      CounterexampleInfo cex;
+      synchronized (solverLock) {
+        cex = refiner.performRefinementForPath(ARGReached, path);
+      }
       Set<CFAEdge> edgeSet = new HashSet<>(path.getInnerEdges());
 
       if (!cex.isSpurious()) {
@@ -23,10 +23,12 @@
  */
 package org.sosy_lab.cpachecker.cpa.usage.refinement;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -87,14 +89,41 @@ public class RefinementBlockFactory {
   @Option(name = "pathEquality", description = "The way how to identify two paths as equal")
   PathEquation pathEquation = PathEquation.CFANodeId;
 
+  @Option(
+      name = "refinementThreads",
+      description =
+          "The number of threads that refine different identifiers in parallel,"
+              + " each with its own copy of the blocks after the IdentifierIterator",
+      secure = true)
+  @IntegerOption(min = 1)
+  int refinementThreads = 1;
+
   public RefinementBlockFactory(ConfigurableProgramAnalysis pCpa, Configuration pConfig) throws InvalidConfigurationException {
     cpa = pCpa;
     config = pConfig;
     pConfig.inject(this);
   }
 
-  @SuppressWarnings("unchecked")
   public Refiner create() throws InvalidConfigurationException {
+    // the chains of parallel threads share the solver, which is not thread-safe
+    Pair<RefinementInterface, currentInnerBlockType> chain = createChain(0, new Object());
+    RefinementInterface currentBlock = chain.getFirst();
+    if (chain.getSecond() == currentInnerBlockType.ReachedSet) {
+      assert currentBlock instanceof Refiner;
+      return (Refiner) currentBlock;
+    } else {
+      throw new InvalidConfigurationException("The first block is not take a reached set as parameter");
+    }
+  }
+
+  /**
+   * Creates the chain of refinement blocks starting from the block with the given index.
+   *
+   * @return the first block of the chain and the type of its input
+   */
+  @SuppressWarnings("unchecked")
+  private Pair<RefinementInterface, currentInnerBlockType> createChain(
+      int pFirstIndex, Object pSolverLock) throws InvalidConfigurationException {
     BAMCPA bamCpa = CPAs.retrieveCPA(cpa, BAMCPA.class);
     UsageCPA usCPA = CPAs.retrieveCPA(cpa, UsageCPA.class);
     LogManager logger = usCPA.getLogger();
@@ -103,18 +132,21 @@ public class RefinementBlockFactory {
     RefinementInterface currentBlock = new RefinementPairStub();
     currentInnerBlockType currentBlockType = currentInnerBlockType.ExtendedARGPath;
 
-    for (int i = RefinementChain.size() - 1; i >= 0; i--) {
+    for (int i = RefinementChain.size() - 1; i >= pFirstIndex; i--) {
 
       RefinementBlockTypes currentType = RefinementChain.get(i);
       if (currentBlockType == currentType.innerType) {
         switch (currentType) {
           case IdentifierIterator:
+            List<ConfigurableRefinementBlock<SingleIdentifier>> workers = new ArrayList<>();
+            workers.add((ConfigurableRefinementBlock<SingleIdentifier>) currentBlock);
+            for (int j = 1; j < refinementThreads; j++) {
+              workers.add(
+                  (ConfigurableRefinementBlock<SingleIdentifier>)
+                      createChain(i + 1, pSolverLock).getFirst());
+            }
             currentBlock =
-                new IdentifierIterator(
-                    (ConfigurableRefinementBlock<SingleIdentifier>) currentBlock,
-                    config,
-                    cpa,
-                    bamCpa.getTransferRelation());
+                new IdentifierIterator(workers, config, cpa, bamCpa.getTransferRelation());
             currentBlockType = currentInnerBlockType.ReachedSet;
             break;
 
@@ -141,7 +173,7 @@ public class RefinementBlockFactory {
 
           case PredicateRefiner:
             currentBlock = new PredicateRefinerAdapter((ConfigurableRefinementBlock<Pair<ExtendedARGPath, ExtendedARGPath>>) currentBlock,
-                cpa, logger);
+                cpa, logger, pSolverLock);
             break;
 
           case CallstackFilter:
@@ -170,11 +202,6 @@ public class RefinementBlockFactory {
         throw new InvalidConfigurationException(currentType + " can not precede the " + currentBlock.getClass().getSimpleName());
       }
     }
-    if (currentBlockType == currentInnerBlockType.ReachedSet) {
-      assert currentBlock instanceof Refiner;
-      return (Refiner) currentBlock;
-    } else {
-      throw new InvalidConfigurationException("The first block is not take a reached set as parameter");
-    }
+    return Pair.of(currentBlock, currentBlockType);
   }
 }
@@ -23,13 +23,16 @@
  */
 package org.sosy_lab.cpachecker.cpa.usage.storage;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableSet;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.cpachecker.cpa.usage.UsageInfo;
 import org.sosy_lab.cpachecker.cpa.usage.UsageState;
 
@@ -37,9 +40,16 @@ public class UnrefinedUsagePointSet implements AbstractUsagePointSet {
   private final NavigableSet<UsagePoint> topUsages;
   private final Map<UsagePoint, UsageInfoSet> usageInfoSets;
 
+  // Top usages, which were added after the last check for unsafes.
+  // Null, if a top usage was removed since then and the whole set has to be checked again
+  private @Nullable List<UsagePoint> uncheckedTopUsages;
+  private boolean unsafe;
+
   public UnrefinedUsagePointSet() {
     topUsages = new TreeSet<>();
     usageInfoSets = new HashMap<>();
+    uncheckedTopUsages = new ArrayList<>();
+    unsafe = false;
   }
 
   public void add(UsageInfo newInfo) {
@@ -63,6 +73,7 @@ public class UnrefinedUsagePointSet implements AbstractUsagePointSet {
         UsagePoint point = iterator.next();
         if (newPoint.covers(point)) {
           iterator.remove();
+          uncheckedTopUsages = null;
           newPoint.addCoveredUsage(point);
         } else if (point.covers(newPoint)) {
           point.addCoveredUsage(newPoint);
@@ -70,6 +81,9 @@ public class UnrefinedUsagePointSet implements AbstractUsagePointSet {
         }
       }
       topUsages.add(newPoint);
+      if (uncheckedTopUsages != null) {
+        uncheckedTopUsages.add(newPoint);
+      }
     }
   }
 
@@ -91,6 +105,8 @@ public class UnrefinedUsagePointSet implements AbstractUsagePointSet {
   public void reset() {
     topUsages.clear();
     usageInfoSets.clear();
+    uncheckedTopUsages = new ArrayList<>();
+    unsafe = false;
   }
 
   public void remove(UsageState pUstate) {
@@ -123,10 +139,24 @@ public class UnrefinedUsagePointSet implements AbstractUsagePointSet {
   public void remove(UsagePoint currentUsagePoint) {
     usageInfoSets.remove(currentUsagePoint);
     topUsages.remove(currentUsagePoint);
+    uncheckedTopUsages = null;
     currentUsagePoint.getCoveredUsages().forEach(this::add);
   }
 
   SortedSet<UsagePoint> getTopUsages() {
     return topUsages;
   }
+
+  @Nullable List<UsagePoint> getUncheckedTopUsages() {
+    return uncheckedTopUsages;
+  }
+
+  boolean isKnownUnsafe() {
+    return unsafe;
+  }
+
+  void setChecked(boolean pUnsafe) {
+    uncheckedTopUsages = new ArrayList<>();
+    unsafe = pUnsafe;
+  }
 }
@@ -24,6 +24,7 @@
 package org.sosy_lab.cpachecker.cpa.usage.storage;
 
 import com.google.common.base.Preconditions;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import org.sosy_lab.common.configuration.Configuration;
@@ -35,6 +36,9 @@ import org.sosy_lab.cpachecker.cpa.lock.LockIdentifier;
 import org.sosy_lab.cpachecker.cpa.usage.UsageInfo;
 import org.sosy_lab.cpachecker.cpa.usage.UsageInfo.Access;
 import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatTimer;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
 
 @Options(prefix="cpa.usage.unsafedetector")
 public class UnsafeDetector {
@@ -56,10 +60,19 @@ public class UnsafeDetector {
       secure = true)
   private String intLockName = null;
 
+  private final StatTimer detectionTimer = new StatTimer("Time for unsafe detection");
+  private final StatCounter fullChecks = new StatCounter("Number of full unsafe checks");
+  private final StatCounter incrementalChecks =
+      new StatCounter("Number of incremental unsafe checks");
+
   public UnsafeDetector(Configuration config) throws InvalidConfigurationException {
     config.inject(this);
   }
 
+  public void printStatistics(StatisticsWriter out) {
+    out.put(detectionTimer).put(fullChecks).put(incrementalChecks);
+  }
+
   public boolean isUnsafe(AbstractUsagePointSet set) {
     if (set instanceof RefinedUsagePointSet) {
       return true;
@@ -78,7 +91,45 @@ public class UnsafeDetector {
   }
 
   private boolean isUnsafe(UnrefinedUsagePointSet set) {
-    return isUnsafe(set.getTopUsages());
+    detectionTimer.start();
+    try {
+      boolean result;
+      List<UsagePoint> uncheckedPoints = set.getUncheckedTopUsages();
+      if (uncheckedPoints == null || uncheckedPoints.size() == set.getTopUsages().size()) {
+        // nothing is known about the current top usages
+        fullChecks.inc();
+        result = isUnsafe(set.getTopUsages());
+      } else if (set.isKnownUnsafe() || uncheckedPoints.isEmpty()) {
+        return set.isKnownUnsafe();
+      } else {
+        incrementalChecks.inc();
+        result = isUnsafe(uncheckedPoints, set.getTopUsages());
+      }
+      set.setChecked(result);
+      return result;
+    } finally {
+      detectionTimer.stop();
+    }
+  }
+
+  /**
+   * Checks only the pairs with at least one new point. The other pairs were checked before and
+   * are not unsafe, as the top usages were only extended since then.
+   */
+  private boolean isUnsafe(List<UsagePoint> newPoints, SortedSet<UsagePoint> points) {
+    for (UsagePoint newPoint : newPoints) {
+      for (UsagePoint point : points) {
+        // keep the order of the points like in the full check, the pair relation is not symmetric
+        boolean unsafe =
+            newPoint.compareTo(point) <= 0
+                ? isUnsafePair(newPoint, point)
+                : isUnsafePair(point, newPoint);
+        if (unsafe) {
+          return true;
+        }
+      }
+    }
+    return false;
   }
 
   public Pair<UsageInfo, UsageInfo> getUnsafePair(AbstractUsagePointSet set) {
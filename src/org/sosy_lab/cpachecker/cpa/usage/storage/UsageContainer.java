@@ -321,7 +321,7 @@ public class UsageContainer {
     logger.log(Level.ALL, "All unsafes related to key state " + pUstate + " were removed from reached set");
   }
 
-  public AbstractUsagePointSet getUsages(SingleIdentifier id) {
+  public synchronized AbstractUsagePointSet getUsages(SingleIdentifier id) {
     if (unrefinedIds.containsKey(id)) {
       return unrefinedIds.get(id);
     } else if (refinedIds.containsKey(id)){
@@ -331,19 +331,20 @@ public class UsageContainer {
     }
   }
 
-  public void setAsFalseUnsafe(SingleIdentifier id) {
+  public synchronized void setAsFalseUnsafe(SingleIdentifier id) {
     falseUnsafes.add(id);
     removeIdFromCaches(id);
   }
 
-  public void setAsRefined(SingleIdentifier id, RefinementResult result) {
+  public synchronized void setAsRefined(SingleIdentifier id, RefinementResult result) {
     Preconditions.checkArgument(result.isTrue(), "Result is not true, can not set the set as refined");
     Preconditions.checkArgument(detector.isUnsafe(getUsages(id)), "Refinement is successful, but the unsafe is absent for identifier " + id);
 
     setAsRefined(id, result.getTrueRace().getFirst(), result.getTrueRace().getSecond());
   }
 
-  public void setAsRefined(SingleIdentifier id, UsageInfo firstUsage, UsageInfo secondUsage) {
+  public synchronized void setAsRefined(
+      SingleIdentifier id, UsageInfo firstUsage, UsageInfo secondUsage) {
     RefinedUsagePointSet rSet = RefinedUsagePointSet.create(firstUsage, secondUsage);
     if (firstUsage.isLooped() || secondUsage.isLooped()) {
       failedIds.put(id, rSet);
@@ -396,6 +397,7 @@ public class UsageContainer {
         .put(resetTimer)
         .put(copyTimer)
         .put(emptyEffectsTimer);
+    detector.printStatistics(out);
   }
 
   public Set<SingleIdentifier> getProcessedUnsafes() {
@@ -26,6 +26,7 @@ package org.sosy_lab.cpachecker.pcc.strategy;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,10 +40,17 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
+import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.configuration.Configuration;
 import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
@@ -56,6 +64,7 @@ import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.PCCStrategy;
 import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.exceptions.ValidationConfigurationConstructionFailed;
+import org.sosy_lab.cpachecker.pcc.strategy.BlockCompressedStreams.BlockDeflaterOutputStream;
 import org.sosy_lab.cpachecker.pcc.util.ProofStatesInfoCollector;
 import org.sosy_lab.cpachecker.pcc.util.ValidationConfigurationBuilder;
 import org.sosy_lab.cpachecker.util.Triple;
@@ -75,6 +84,14 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
 
   protected final Path proofFile;
 
+  // random-access view of the proof file, shared by all readers of additional proof entries
+  private @Nullable ZipFile proofZipFile = null;
+
+  // set when the proof zip file is closed, so that late readers cannot reopen and leak it
+  private boolean proofZipFileClosed = false;
+
+  private @Nullable ExecutorService inflaterPool = null;
+
   @Option(secure=true,
       name = "useCores",
       description = "number of cpus/cores which should be used in parallel for proof checking")
@@ -86,6 +103,13 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
       description = "writes the validation configuration required for checking to proof")
   boolean storeConfig = false;
 
+  @Option(secure=true,
+      name="useBlockCompression",
+      description = "write the proof in independently compressed blocks instead of a single"
+          + " compressed stream, such that the blocks can be decompressed in parallel"
+          + " (with pcc.useCores > 1) when the proof is read")
+  boolean useBlockCompression = false;
+
   public AbstractStrategy(Configuration pConfig, LogManager pLogger, Path pProofFile) throws InvalidConfigurationException {
     pConfig.inject(this, AbstractStrategy.class);
     config = pConfig;
@@ -111,15 +135,20 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
 
       try (final OutputStream fos = Files.newOutputStream(proofFile);
           final ZipOutputStream zos = new ZipOutputStream(fos)) {
-        zos.setLevel(9);
+        // blocks are compressed by ourselves
+        zos.setLevel(useBlockCompression ? Deflater.NO_COMPRESSION : 9);
 
         ZipEntry ze = new ZipEntry(PROOF_ZIPENTRY_NAME);
         zos.putNextEntry(ze);
-        ObjectOutputStream o = new ObjectOutputStream(zos);
-        //TODO might also want to write used configuration to the file so that proof checker does not need to get it as an argument
-        //write ARG
-        writeProofToStream(o, pReached);
-        o.flush();
+        ObjectOutputStream o;
+        try (BlockDeflaterOutputStream blocks = createEntry(zos)) {
+          o = new ObjectOutputStream(blocks == null ? zos : blocks);
+          //TODO might also want to write used configuration to the file so that proof checker does not need to get it as an argument
+          //write ARG
+          writeProofToStream(o, pReached);
+          o.flush();
+          finishEntry(blocks);
+        }
         zos.closeEntry();
 
         // write additional proof information
@@ -128,14 +157,19 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
         do {
           ze = new ZipEntry(ADDITIONAL_PROOFINFO_ZIPENTRY_NAME + index);
           zos.putNextEntry(ze);
-          o = new ObjectOutputStream(zos);
-          continueWriting = writeAdditionalProofStream(o);
-          o.flush();
+          try (BlockDeflaterOutputStream blocks = createEntry(zos)) {
+            o = new ObjectOutputStream(blocks == null ? zos : blocks);
+            continueWriting = writeAdditionalProofStream(o);
+            o.flush();
+            finishEntry(blocks);
+          }
           zos.closeEntry();
           index++;
         } while (continueWriting);
 
         if (storeConfig) {
+          // the configuration is read without decompressing blocks
+          zos.setLevel(9);
           ze = new ZipEntry(CONFIG_ZIPENTRY_NAME);
           zos.putNextEntry(ze);
           o = new ObjectOutputStream(zos);
@@ -165,6 +199,20 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     logger.log(Level.INFO, proofInfo.getInfoAsString());
   }
 
+  private @Nullable BlockDeflaterOutputStream createEntry(OutputStream pOut) throws IOException {
+    if (useBlockCompression) {
+      return BlockCompressedStreams.createEntry(pOut);
+    }
+    return null;
+  }
+
+  private static void finishEntry(@Nullable BlockDeflaterOutputStream pBlocks)
+      throws IOException {
+    if (pBlocks != null) {
+      pBlocks.finish();
+    }
+  }
+
   protected abstract void writeProofToStream(ObjectOutputStream out, UnmodifiableReachedSet reached)
       throws IOException, InvalidConfigurationException, InterruptedException;
 
@@ -172,10 +220,14 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
   @Override
   public void readProof() throws IOException, ClassNotFoundException, InvalidConfigurationException {
     Triple<InputStream, ZipInputStream, ObjectInputStream> proofStream = openProofStream();
-    readProofFromStream(proofStream.getThird());
-    proofStream.getThird().close();
-    proofStream.getSecond().close();
-    proofStream.getFirst().close();
+    try {
+      readProofFromStream(proofStream.getThird());
+    } finally {
+      proofStream.getThird().close();
+      proofStream.getSecond().close();
+      proofStream.getFirst().close();
+      closeProofZipFile();
+    }
   }
 
   /**
@@ -198,21 +250,105 @@ public abstract class AbstractStrategy implements PCCStrategy, StatisticsProvide
     ZipInputStream zis = new ZipInputStream(fis);
     ZipEntry entry = zis.getNextEntry();
     assert entry.getName().equals(PROOF_ZIPENTRY_NAME);
-    return Triple.of(fis, zis, new ObjectInputStream(zis));
+    return Triple.of(
+        fis,
+        zis,
+        new ObjectInputStream(
+            BlockCompressedStreams.openEntry(zis, getInflaterPool(), 2 * numThreads)));
   }
 
-  public Triple<InputStream, ZipInputStream, ObjectInputStream> openAdditionalProofStream(final int index)
-      throws IOException {
+  /**
+   * Opens the additional proof entry with the given index for reading.
+   *
+   * <p>The entry is looked up in the central directory of the proof file, which stores the offsets
+   * of all entries. Thus, the preceding entries need not be decompressed, and several threads can
+   * read their entries independently of each other. The returned stream needs to be closed by the
+   * caller, and the proof file needs to be closed with {@link #closeProofZipFile()} after reading
+   * has finished, unless this happens during {@link #readProof()}. Entries cannot be opened after
+   * the proof file was closed.
+   */
+  public ObjectInputStream openAdditionalProofEntry(final int index) throws IOException {
     checkArgument(index >= 0, "Not a valid index. Indices must be at least zero.");
-    InputStream fis = Files.newInputStream(proofFile);
-    ZipInputStream zis = new ZipInputStream(fis);
-    ZipEntry entry = null;
-    for (int i = 0; i <= 1 + index; i++) {
-      entry = zis.getNextEntry();
+    ZipFile zipFile = getProofZipFile();
+    ZipEntry entry = zipFile.getEntry(ADDITIONAL_PROOFINFO_ZIPENTRY_NAME + index);
+    if (entry == null) {
+      throw new IOException("Proof does not contain additional entry " + index);
     }
+    // entries are read in parallel already, so blocks are inflated by the reading thread
+    return new ObjectInputStream(
+        BlockCompressedStreams.openEntry(zipFile.getInputStream(entry), null, 1));
+  }
+
+  /**
+   * Returns the executor that inflates the blocks of all proof streams of this strategy, or null
+   * if only a single thread should be used. Its threads terminate when they are idle, because
+   * strategies are not closed explicitly.
+   */
+  private synchronized @Nullable ExecutorService getInflaterPool() {
+    if (numThreads <= 1) {
+      return null;
+    }
+    if (inflaterPool == null) {
+      ThreadPoolExecutor pool =
+          new ThreadPoolExecutor(
+              numThreads,
+              numThreads,
+              1,
+              TimeUnit.SECONDS,
+              new LinkedBlockingQueue<>(),
+              new ThreadFactoryBuilder()
+                  .setNameFormat("proof-inflater-%d")
+                  .setDaemon(true)
+                  .build());
+      pool.allowCoreThreadTimeOut(true);
+      inflaterPool = pool;
+    }
+    return inflaterPool;
+  }
+
+  private synchronized ZipFile getProofZipFile() throws IOException {
+    if (proofZipFileClosed) {
+      throw new IOException("Proof file " + proofFile + " was already closed");
+    }
+    if (proofZipFile == null) {
+      proofZipFile = new ZipFile(proofFile.toFile());
+    }
+    return proofZipFile;
+  }
 
-    assert entry.getName().equals("ADDITIONAL_PROOFINFO_ZIPENTRY_NAME " + index);
-    return Triple.of(fis, zis, new ObjectInputStream(zis));
+  protected synchronized void closeProofZipFile() throws IOException {
+    if (proofZipFile != null) {
+      proofZipFileClosed = true;
+      proofZipFile.close();
+      proofZipFile = null;
+    }
+  }
+
+  /**
+   * Stops the threads of the given executor and waits until they terminated, so that none of them
+   * still reads from the proof file when it is closed afterwards.
+   */
+  protected static void shutdownAndAwaitTermination(@Nullable ExecutorService pExecutor) {
+    if (pExecutor == null) {
+      return;
+    }
+    pExecutor.shutdownNow();
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (true) {
+        try {
+          if (pExecutor.awaitTermination(1, TimeUnit.SECONDS)) {
+            return;
+          }
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
   }
 
   protected abstract void readProofFromStream(ObjectInputStream in) throws ClassNotFoundException, InvalidConfigurationException, IOException;
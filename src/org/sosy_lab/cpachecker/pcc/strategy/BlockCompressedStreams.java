@@ -0,0 +1,294 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.pcc.strategy;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Streams for the block compressed format of proof entries.
+ *
+ * <p>An entry in this format starts with a header consisting of {@link #MAGIC} and {@link
+ * #VERSION}, followed by a sequence of independently deflated blocks, each prefixed by its
+ * uncompressed and compressed length, and is terminated by a block length of zero. Because the
+ * blocks are independent, they can be inflated in parallel while the proof is read.
+ *
+ * <p>The format only changes how an entry is compressed. The uncompressed content of the blocks is
+ * still the Java serialization stream that the strategies write. Entries without the header are
+ * such streams compressed by the zip entry, as written by older versions, and are read as is.
+ */
+final class BlockCompressedStreams {
+
+  static final int MAGIC = 0x43504343; // "CPCC"
+  static final byte VERSION = 1;
+
+  static final int BLOCK_SIZE = 1 << 20;
+
+  private BlockCompressedStreams() {}
+
+  /**
+   * Opens the content of a proof entry for reading.
+   *
+   * @param pEntry the stream positioned at the beginning of the entry
+   * @param pInflater the executor on which blocks are inflated, or null to inflate them in the
+   *     reading thread. The executor is not shut down by the returned stream.
+   * @param pReadAhead the maximal number of blocks that are read and inflated ahead
+   * @return the uncompressed content of the entry, either block compressed or plain
+   * @throws IOException if the entry is block compressed but has an unsupported version
+   */
+  static InputStream openEntry(
+      InputStream pEntry, @Nullable ExecutorService pInflater, int pReadAhead)
+      throws IOException {
+    BufferedInputStream in = new BufferedInputStream(pEntry);
+    in.mark(Integer.BYTES);
+    DataInputStream data = new DataInputStream(in);
+    try {
+      if (data.readInt() != MAGIC) {
+        in.reset();
+        return in;
+      }
+    } catch (EOFException e) {
+      in.reset();
+      return in;
+    }
+    byte version = data.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version " + version + " of proof format");
+    }
+    return new BlockInflaterInputStream(data, pInflater, Math.max(1, pReadAhead));
+  }
+
+  /**
+   * Writes the header of the block compressed format and returns a stream that compresses all
+   * data written to it in blocks. {@link BlockDeflaterOutputStream#finish()} needs to be called
+   * after all data was written, and {@link BlockDeflaterOutputStream#close()} afterwards or if
+   * writing fails. The underlying stream is not closed by either.
+   */
+  static BlockDeflaterOutputStream createEntry(OutputStream pEntry) throws IOException {
+    DataOutputStream data = new DataOutputStream(pEntry);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    return new BlockDeflaterOutputStream(data);
+  }
+
+  static final class BlockDeflaterOutputStream extends OutputStream {
+
+    private final DataOutputStream out;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private final byte[] compressed = new byte[BLOCK_SIZE];
+    private int size = 0;
+
+    private BlockDeflaterOutputStream(DataOutputStream pOut) {
+      out = pOut;
+    }
+
+    @Override
+    public void write(int pByte) throws IOException {
+      if (size == block.length) {
+        writeBlock();
+      }
+      block[size++] = (byte) pByte;
+    }
+
+    @Override
+    public void write(byte[] pBytes, int pOffset, int pLength) throws IOException {
+      int offset = pOffset;
+      int remaining = pLength;
+      while (remaining > 0) {
+        if (size == block.length) {
+          writeBlock();
+        }
+        int length = Math.min(remaining, block.length - size);
+        System.arraycopy(pBytes, offset, block, size, length);
+        size += length;
+        offset += length;
+        remaining -= length;
+      }
+    }
+
+    private void writeBlock() throws IOException {
+      if (size == 0) {
+        return;
+      }
+      deflater.reset();
+      deflater.setInput(block, 0, size);
+      deflater.finish();
+      ByteArrayOutputStream result = new ByteArrayOutputStream(size / 2);
+      while (!deflater.finished()) {
+        int length = deflater.deflate(compressed);
+        result.write(compressed, 0, length);
+      }
+      out.writeInt(size);
+      out.writeInt(result.size());
+      result.writeTo(out);
+      size = 0;
+    }
+
+    /** Writes the remaining data and the end marker, but does not close the underlying stream. */
+    void finish() throws IOException {
+      writeBlock();
+      out.writeInt(0);
+      out.flush();
+    }
+
+    /** Releases the native resources of the compressor, the underlying stream stays open. */
+    @Override
+    public void close() {
+      deflater.end();
+    }
+  }
+
+  private static final class BlockInflaterInputStream extends InputStream {
+
+    private final DataInputStream in;
+    private final @Nullable ExecutorService executor;
+    private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+    private final int maxPendingBlocks;
+    private boolean endReached = false;
+
+    private byte[] block = new byte[0];
+    private int position = 0;
+
+    private BlockInflaterInputStream(
+        DataInputStream pIn, @Nullable ExecutorService pExecutor, int pMaxPendingBlocks) {
+      in = pIn;
+      executor = pExecutor;
+      maxPendingBlocks = pMaxPendingBlocks;
+    }
+
+    @Override
+    public int read() throws IOException {
+      if (!ensureData()) {
+        return -1;
+      }
+      return block[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] pBytes, int pOffset, int pLength) throws IOException {
+      if (pLength == 0) {
+        return 0;
+      }
+      if (!ensureData()) {
+        return -1;
+      }
+      int length = Math.min(pLength, block.length - position);
+      System.arraycopy(block, position, pBytes, pOffset, length);
+      position += length;
+      return length;
+    }
+
+    @Override
+    public int available() {
+      return block.length - position;
+    }
+
+    private boolean ensureData() throws IOException {
+      while (position == block.length) {
+        scheduleBlocks();
+        Future<byte[]> next = pendingBlocks.poll();
+        if (next == null) {
+          return false;
+        }
+        try {
+          block = next.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        } catch (ExecutionException e) {
+          throw new IOException(e.getCause());
+        }
+        position = 0;
+      }
+      return true;
+    }
+
+    /** Reads compressed blocks ahead and hands them out for inflating. */
+    private void scheduleBlocks() throws IOException {
+      while (!endReached && pendingBlocks.size() < maxPendingBlocks) {
+        int size = in.readInt();
+        if (size == 0) {
+          endReached = true;
+          break;
+        }
+        byte[] compressed = new byte[in.readInt()];
+        in.readFully(compressed);
+        if (executor == null) {
+          pendingBlocks.add(CompletableFuture.completedFuture(inflate(compressed, size)));
+        } else {
+          pendingBlocks.add(executor.submit(() -> inflate(compressed, size)));
+        }
+      }
+    }
+
+    private static byte[] inflate(byte[] pCompressed, int pSize) throws IOException {
+      Inflater inflater = new Inflater();
+      try {
+        inflater.setInput(pCompressed);
+        byte[] result = new byte[pSize];
+        int length = 0;
+        while (length < pSize && !inflater.finished()) {
+          int inflated = inflater.inflate(result, length, pSize - length);
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            break;
+          }
+          length += inflated;
+        }
+        if (length != pSize) {
+          throw new IOException("Corrupted block in proof, expected " + pSize + " bytes");
+        }
+        return result;
+      } catch (DataFormatException e) {
+        throw new IOException(e);
+      } finally {
+        inflater.end();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      // the executor is shared with other streams, so only our own blocks are cancelled
+      for (Future<byte[]> pendingBlock : pendingBlocks) {
+        pendingBlock.cancel(true);
+      }
+      pendingBlocks.clear();
+      block = new byte[0];
+      position = 0;
+      in.close();
+    }
+  }
+}
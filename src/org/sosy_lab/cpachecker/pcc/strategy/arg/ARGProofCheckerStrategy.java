@@ -23,30 +23,74 @@
  */
 package org.sosy_lab.cpachecker.pcc.strategy.arg;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
+import java.util.zip.ZipInputStream;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
 import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
 import org.sosy_lab.cpachecker.core.interfaces.Precision;
 import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker;
 import org.sosy_lab.cpachecker.core.reachedset.ReachedSet;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
 import org.sosy_lab.cpachecker.cpa.PropertyChecker.PropertyCheckerCPA;
 import org.sosy_lab.cpachecker.cpa.arg.ARGState;
 import org.sosy_lab.cpachecker.exceptions.CPAException;
 import org.sosy_lab.cpachecker.exceptions.CPATransferException;
 import org.sosy_lab.cpachecker.pcc.propertychecker.NoTargetStateChecker;
+import org.sosy_lab.cpachecker.util.Triple;
 
-@Options
+@Options(prefix = "pcc.arg")
 public class ARGProofCheckerStrategy extends AbstractARGStrategy {
 
+  /** Written in front of an ARG in streaming format to distinguish it from a serialized ARG. */
+  private static final String STREAMING_FORMAT = "ARG in topological order";
+
+  private static final int END_OF_STATES = -1;
+  private static final int NOT_COVERED = -1;
+
+  @Option(
+      secure = true,
+      description =
+          "Write the ARG state by state in topological order and check it while reading it."
+              + " States are released as soon as they are checked and no longer needed,"
+              + " such that the complete ARG never needs to be in memory.")
+  private boolean streamingCheck = false;
+
+  @Option(
+      secure = true,
+      description =
+          "Maximal number of ARG states that are kept in memory during a streaming check."
+              + " The check fails if more states are needed at the same time."
+              + " A value of 0 means no limit.")
+  @IntegerOption(min = 0)
+  private int maxStatesInMemory = 0;
+
   private final ProofChecker checker;
+  private final ShutdownNotifier shutdownNotifier;
   private Set<ARGState> postponedStates;
   private Set<ARGState> waitingForUnexploredParents;
   private Set<ARGState> inWaitlist;
@@ -61,7 +105,364 @@ public class ARGProofCheckerStrategy extends AbstractARGStrategy {
       throws InvalidConfigurationException {
     super(pConfig, pLogger, pChecker instanceof PropertyCheckerCPA ? ((PropertyCheckerCPA) pChecker).getPropChecker()
         : new NoTargetStateChecker(), pShutdownNotifier, pProofFile);
+    pConfig.inject(this);
     checker = pChecker;
+    shutdownNotifier = pShutdownNotifier;
+  }
+
+  @Override
+  protected void writeProofToStream(ObjectOutputStream pOut, UnmodifiableReachedSet pReached)
+      throws IOException, InvalidConfigurationException {
+    if (!streamingCheck) {
+      super.writeProofToStream(pOut, pReached);
+      return;
+    }
+    constructInternalProofRepresentation(pReached);
+    pOut.writeObject(STREAMING_FORMAT);
+    writeStatesInTopologicalOrder(pOut, getARG());
+  }
+
+  /**
+   * Writes all states of the ARG such that every state is written after all its parents. For each
+   * state, its id, its wrapped state, the ids of its parents, the id of its covering state, the
+   * number of its children, and the number of states covered by it are written. The stream is
+   * reset after each state, such that neither writer nor reader keep references to all states.
+   */
+  @VisibleForTesting
+  static void writeStatesInTopologicalOrder(ObjectOutputStream pOut, ARGState pRoot)
+      throws IOException {
+    // like the check, do not consider successors of covered states
+    Set<ARGState> states = new HashSet<>();
+    Deque<ARGState> waitlist = new ArrayDeque<>();
+    states.add(pRoot);
+    waitlist.add(pRoot);
+    while (!waitlist.isEmpty()) {
+      ARGState state = waitlist.poll();
+      for (ARGState child : getExploredChildren(state)) {
+        if (states.add(child)) {
+          waitlist.add(child);
+        }
+      }
+    }
+
+    Map<ARGState, List<ARGState>> parents = new HashMap<>();
+    Map<ARGState, Integer> numCoveredByThis = new HashMap<>();
+    for (ARGState state : states) {
+      for (ARGState child : getExploredChildren(state)) {
+        parents.computeIfAbsent(child, k -> new ArrayList<>()).add(state);
+      }
+      if (state.isCovered()) {
+        numCoveredByThis.merge(state.getCoveringState(), 1, Integer::sum);
+      }
+    }
+
+    Map<ARGState, Integer> missingParents = new HashMap<>();
+    waitlist.add(pRoot);
+    while (!waitlist.isEmpty()) {
+      ARGState state = waitlist.poll();
+      List<ARGState> stateParents = parents.getOrDefault(state, ImmutableList.of());
+      Collection<ARGState> children = getExploredChildren(state);
+
+      pOut.writeInt(state.getStateId());
+      pOut.writeObject(state.getWrappedState());
+      pOut.writeInt(stateParents.size());
+      for (ARGState parent : stateParents) {
+        pOut.writeInt(parent.getStateId());
+      }
+      pOut.writeInt(state.isCovered() ? state.getCoveringState().getStateId() : NOT_COVERED);
+      pOut.writeInt(children.size());
+      pOut.writeInt(numCoveredByThis.getOrDefault(state, 0));
+      pOut.reset();
+
+      for (ARGState child : children) {
+        int missing = missingParents.getOrDefault(child, parents.get(child).size()) - 1;
+        missingParents.put(child, missing);
+        if (missing == 0) {
+          missingParents.remove(child);
+          waitlist.add(child);
+        }
+      }
+    }
+    pOut.writeInt(END_OF_STATES);
+  }
+
+  private static Collection<ARGState> getExploredChildren(ARGState pState) {
+    return pState.isCovered() ? ImmutableList.of() : pState.getChildren();
+  }
+
+  @Override
+  protected void readProofFromStream(ObjectInputStream pIn)
+      throws ClassNotFoundException, InvalidConfigurationException, IOException {
+    if (!streamingCheck) {
+      super.readProofFromStream(pIn);
+    }
+    // otherwise, the proof is read during the check
+  }
+
+  @Override
+  public boolean checkCertificate(ReachedSet pReachedSet)
+      throws CPAException, InterruptedException {
+    if (!streamingCheck) {
+      return super.checkCertificate(pReachedSet);
+    }
+
+    Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
+    try {
+      streams = openProofStream();
+      ObjectInputStream in = streams.getThird();
+      Object header = in.readObject();
+      if (!STREAMING_FORMAT.equals(header)) {
+        logger.log(Level.INFO, "Proof is not in streaming format, reading complete ARG.");
+        try {
+          prepareForChecking(header);
+        } catch (InvalidConfigurationException e) {
+          throw new CPAException("Proof cannot be checked", e);
+        }
+        return super.checkCertificate(pReachedSet);
+      }
+      return checkStreamedStates(in, (ARGState) pReachedSet.popFromWaitlist());
+    } catch (IOException | ClassNotFoundException e) {
+      logger.logUserException(Level.SEVERE, e, "Reading the proof failed.");
+      return false;
+    } finally {
+      if (streams != null) {
+        try {
+          streams.getThird().close();
+          streams.getSecond().close();
+          streams.getFirst().close();
+        } catch (IOException e) {
+          logger.logDebugException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the states written by {@link #writeStatesInTopologicalOrder(ObjectOutputStream,
+   * ARGState)} and checks each of them as soon as the information it depends on was read. A state
+   * is released once its successors and all states it covers have been checked.
+   *
+   * <p>Cycles in the covering relation are detected without keeping the whole relation: a state is
+   * grounded if it is not covered or if it is covered by a grounded state, and only the covered
+   * states that are not yet known to be grounded are remembered. States that are still not
+   * grounded after all states were read are part of a cycle (or covered by a missing state).
+   *
+   * <p>State ids only identify the states that are still in memory. An id may be used again once
+   * its state was released, because nothing valid can refer to a released state anymore. The ids
+   * of states that are not yet grounded are kept until they are grounded, so that reusing such an
+   * id cannot hide a cycle.
+   */
+  @VisibleForTesting
+  boolean checkStreamedStates(ObjectInputStream pIn, ARGState pInitialState)
+      throws IOException, ClassNotFoundException, CPAException, InterruptedException {
+    logger.log(Level.INFO, "Proof check algorithm started");
+
+    Map<Integer, StreamedState> liveStates = new HashMap<>();
+    // covered states for which the covering state was not read yet, by id of the covering state
+    Multimap<Integer, StreamedState> waitingForCoveringState = HashMultimap.create();
+    // ids of covered states that are not known to be grounded yet, by id of the covering state
+    Multimap<Integer, Integer> ungrounded = HashMultimap.create();
+    // the values of ungrounded, these ids must not be reused
+    Set<Integer> ungroundedIds = new HashSet<>();
+    int maxLiveStates = 0;
+    int numStates = 0;
+
+    int id;
+    while ((id = pIn.readInt()) != END_OF_STATES) {
+      shutdownNotifier.shutdownIfNecessary();
+      stats.increaseIteration();
+
+      ARGState state = new ARGState((AbstractState) pIn.readObject(), null);
+      if (liveStates.containsKey(id) || ungroundedIds.contains(id)) {
+        logger.log(
+            Level.WARNING, "State", state, "has the same id as a state that is still needed");
+        return false;
+      }
+      int numParents = pIn.readInt();
+      List<StreamedState> parents = new ArrayList<>(numParents);
+      for (int i = 0; i < numParents; i++) {
+        StreamedState parent = liveStates.get(pIn.readInt());
+        if (parent == null || parent.missingChildren == 0) {
+          logger.log(Level.WARNING, "State", state, "has other parents than expected");
+          return false;
+        }
+        parents.add(parent);
+      }
+      int coveringId = pIn.readInt();
+      StreamedState current = new StreamedState(id, state, pIn.readInt(), pIn.readInt());
+      numStates++;
+
+      if (numStates == 1) {
+        initChecking(state);
+        logger.log(Level.FINE, "Checking root state");
+        if (numParents != 0 || !checkCovering(pInitialState, state, null)) {
+          return false;
+        }
+      } else if (numParents == 0) {
+        logger.log(Level.WARNING, "State", state, "is not reachable from the root");
+        return false;
+      }
+
+      if (!checkForStatePropertyAndOtherStateActions(state)) {
+        logger.log(Level.INFO, "Property violation at state", state);
+        return false;
+      }
+
+      liveStates.put(id, current);
+      for (StreamedState parent : parents) {
+        state.addParent(parent.state);
+        parent.missingChildren--;
+      }
+
+      StreamedState covering = null;
+      if (coveringId == NOT_COVERED) {
+        ground(id, liveStates, ungrounded, ungroundedIds);
+      } else {
+        covering = liveStates.get(coveringId);
+        if (covering == null) {
+          waitingForCoveringState.put(coveringId, current);
+        } else if (!checkStreamedCovering(current, covering)) {
+          return false;
+        }
+        if (covering != null && covering.grounded) {
+          ground(id, liveStates, ungrounded, ungroundedIds);
+        } else {
+          ungrounded.put(coveringId, id);
+          ungroundedIds.add(id);
+        }
+      }
+
+      // check states whose successors are complete now
+      for (StreamedState parent : parents) {
+        if (parent.missingChildren == 0 && !checkStreamedSuccessors(parent)) {
+          return false;
+        }
+      }
+      if (coveringId == NOT_COVERED
+          && current.missingChildren == 0
+          && !checkStreamedSuccessors(current)) {
+        return false;
+      }
+      for (StreamedState covered : waitingForCoveringState.removeAll(id)) {
+        if (!checkStreamedCovering(covered, current)) {
+          return false;
+        }
+        release(covered, liveStates);
+      }
+
+      for (StreamedState parent : parents) {
+        release(parent, liveStates);
+      }
+      if (covering != null) {
+        release(covering, liveStates);
+      }
+      release(current, liveStates);
+
+      maxLiveStates = Math.max(maxLiveStates, liveStates.size());
+      if (maxStatesInMemory > 0 && liveStates.size() > maxStatesInMemory) {
+        logger.log(
+            Level.WARNING,
+            "Proof cannot be checked with at most",
+            maxStatesInMemory,
+            "states in memory");
+        return false;
+      }
+    }
+    logger.log(Level.INFO, "At most", maxLiveStates, "of", numStates, "states were in memory");
+    stats.increaseProofSize(numStates);
+
+    if (numStates == 0 || !waitingForCoveringState.isEmpty() || !liveStates.isEmpty()) {
+      logger.log(Level.WARNING, "Proof is incomplete, not all states could be checked");
+      return false;
+    }
+    if (!ungrounded.isEmpty()) {
+      logger.log(
+          Level.WARNING, "Found cycle in covering relation for states", ungrounded.values());
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Marks the state with the given id as grounded, and with it all states that are transitively
+   * covered by it, and forgets about them.
+   */
+  private static void ground(
+      int pId,
+      Map<Integer, StreamedState> pLiveStates,
+      Multimap<Integer, Integer> pUngrounded,
+      Set<Integer> pUngroundedIds) {
+    Deque<Integer> waitlist = new ArrayDeque<>();
+    waitlist.add(pId);
+    while (!waitlist.isEmpty()) {
+      Integer id = waitlist.poll();
+      pUngroundedIds.remove(id);
+      StreamedState state = pLiveStates.get(id);
+      if (state != null) {
+        state.grounded = true;
+      }
+      waitlist.addAll(pUngrounded.removeAll(id));
+    }
+  }
+
+  private boolean checkStreamedSuccessors(StreamedState pState)
+      throws CPAException, InterruptedException {
+    stats.getTransferTimer().start();
+    try {
+      Collection<ARGState> successors = pState.state.getChildren();
+      logger.log(Level.FINER, "Checking abstract successors", successors);
+      if (!checkSuccessors(pState.state, successors, null)) {
+        logger.log(Level.WARNING, "State", pState.state, "has other successors than", successors);
+        return false;
+      }
+      pState.successorsChecked = true;
+      return true;
+    } finally {
+      stats.getTransferTimer().stop();
+    }
+  }
+
+  private boolean checkStreamedCovering(StreamedState pCovered, StreamedState pCovering)
+      throws CPAException, InterruptedException {
+    stats.getStopTimer().start();
+    try {
+      if (!checkCovering(pCovered.state, pCovering.state, null)) {
+        logger.log(Level.WARNING, "State", pCovered.state, "is not covered by", pCovering.state);
+        return false;
+      }
+      pCovered.successorsChecked = true;
+      pCovering.missingCoveredStates--;
+      return true;
+    } finally {
+      stats.getStopTimer().stop();
+    }
+  }
+
+  /** Removes the state from memory if nothing depends on it anymore. */
+  private static void release(StreamedState pState, Map<Integer, StreamedState> pLiveStates) {
+    if (pState.successorsChecked
+        && pState.missingCoveredStates == 0
+        && pLiveStates.remove(pState.id) != null) {
+      pState.state.removeFromARG();
+    }
+  }
+
+  /** An ARG state that was read during a streaming check, together with its pending checks. */
+  private static class StreamedState {
+
+    private final int id;
+    private final ARGState state;
+    private int missingChildren;
+    private int missingCoveredStates;
+    private boolean successorsChecked = false;
+    private boolean grounded = false;
+
+    private StreamedState(int pId, ARGState pState, int pNumChildren, int pNumCoveredStates) {
+      id = pId;
+      state = pState;
+      missingChildren = pNumChildren;
+      missingCoveredStates = pNumCoveredStates;
+    }
   }
 
   @Override
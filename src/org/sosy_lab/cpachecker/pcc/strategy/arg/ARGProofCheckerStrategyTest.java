@@ -0,0 +1,223 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.pcc.strategy.arg;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Paths;
+import java.util.Collection;
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.common.ShutdownNotifier;
+import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.InvalidConfigurationException;
+import org.sosy_lab.common.log.LogManager;
+import org.sosy_lab.cpachecker.cfa.model.CFAEdge;
+import org.sosy_lab.cpachecker.core.defaults.SingletonAbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.AbstractState;
+import org.sosy_lab.cpachecker.core.interfaces.pcc.ProofChecker;
+import org.sosy_lab.cpachecker.cpa.arg.ARGState;
+import org.sosy_lab.cpachecker.exceptions.CPAException;
+
+public class ARGProofCheckerStrategyTest {
+
+  private static final int NOT_COVERED = -1;
+  private static final int END_OF_STATES = -1;
+
+  /** Accepts all successors and coverings, such that only the structure of the proof matters. */
+  private static final ProofChecker ACCEPT_ALL =
+      new ProofChecker() {
+        @Override
+        public boolean areAbstractSuccessors(
+            AbstractState pState, CFAEdge pCfaEdge, Collection<? extends AbstractState> pSucc) {
+          return true;
+        }
+
+        @Override
+        public boolean isCoveredBy(AbstractState pState, AbstractState pOtherState) {
+          return true;
+        }
+      };
+
+  private ARGProofCheckerStrategy strategy;
+  private ByteArrayOutputStream bytes;
+  private ObjectOutputStream out;
+
+  @Before
+  public void setUp() throws InvalidConfigurationException, IOException {
+    strategy =
+        new ARGProofCheckerStrategy(
+            Configuration.defaultConfiguration(),
+            LogManager.createTestLogManager(),
+            ShutdownNotifier.createDummy(),
+            Paths.get("arg.obj"),
+            ACCEPT_ALL);
+    bytes = new ByteArrayOutputStream();
+    out = new ObjectOutputStream(bytes);
+  }
+
+  @Test
+  public void testValidProof() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 2, 0);
+    writeState(1, new int[] {0}, NOT_COVERED, 0, 1);
+    writeState(2, new int[] {0}, 1, 0, 0);
+    assertThat(check()).isTrue();
+  }
+
+  @Test
+  public void testValidProofWithCoveringStateAfterCoveredState() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 2, 0);
+    writeState(1, new int[] {0}, 2, 0, 0);
+    writeState(2, new int[] {0}, NOT_COVERED, 0, 1);
+    assertThat(check()).isTrue();
+  }
+
+  @Test
+  public void testDuplicateId() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 2, 0);
+    writeState(1, new int[] {0}, NOT_COVERED, 1, 0);
+    writeState(1, new int[] {0}, NOT_COVERED, 0, 0);
+    assertThat(check()).isFalse();
+  }
+
+  @Test
+  public void testIdOfReleasedStateReused() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 2, 0);
+    writeState(1, new int[] {0}, NOT_COVERED, 0, 0);
+    // state 1 has no successors and covers no state, so it was released
+    writeState(1, new int[] {0}, NOT_COVERED, 0, 0);
+    assertThat(check()).isTrue();
+  }
+
+  @Test
+  public void testIdInCoveringCycleReused() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 3, 0);
+    writeState(1, new int[] {0}, 2, 0, 1);
+    writeState(2, new int[] {0}, 1, 0, 1);
+    // grounding the reused id must not ground the cycle of the released states 1 and 2
+    writeState(1, new int[] {0}, NOT_COVERED, 0, 0);
+    assertThat(check()).isFalse();
+  }
+
+  @Test
+  public void testWrittenARG() throws Exception {
+    // root -> a, b; a -> c, e; b -> c, d; d is covered by a, e is covered by c
+    ARGState root = new ARGState(SingletonAbstractState.INSTANCE, null);
+    ARGState a = new ARGState(SingletonAbstractState.INSTANCE, root);
+    ARGState b = new ARGState(SingletonAbstractState.INSTANCE, root);
+    ARGState c = new ARGState(SingletonAbstractState.INSTANCE, a);
+    c.addParent(b);
+    ARGState d = new ARGState(SingletonAbstractState.INSTANCE, b);
+    ARGState e = new ARGState(SingletonAbstractState.INSTANCE, a);
+    d.setCovered(a);
+    e.setCovered(c);
+
+    ARGProofCheckerStrategy.writeStatesInTopologicalOrder(out, root);
+    assertThat(readAndCheck()).isTrue();
+  }
+
+  @Test
+  public void testWrittenARGWithMissingState() throws Exception {
+    ARGState root = new ARGState(SingletonAbstractState.INSTANCE, null);
+    ARGState a = new ARGState(SingletonAbstractState.INSTANCE, root);
+    new ARGState(SingletonAbstractState.INSTANCE, a);
+
+    // write a proof that stops after the first two states
+    ByteArrayOutputStream complete = new ByteArrayOutputStream();
+    try (ObjectOutputStream completeOut = new ObjectOutputStream(complete)) {
+      ARGProofCheckerStrategy.writeStatesInTopologicalOrder(completeOut, root);
+    }
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(complete.toByteArray()))) {
+      for (int i = 0; i < 2; i++) {
+        int id = in.readInt();
+        AbstractState state = (AbstractState) in.readObject();
+        int numParents = in.readInt();
+        int[] parents = new int[numParents];
+        for (int j = 0; j < numParents; j++) {
+          parents[j] = in.readInt();
+        }
+        assertThat(state).isEqualTo(SingletonAbstractState.INSTANCE);
+        writeState(id, parents, in.readInt(), in.readInt(), in.readInt());
+      }
+    }
+    assertThat(check()).isFalse();
+  }
+
+  @Test
+  public void testDanglingChild() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 1, 0);
+    writeState(1, new int[] {5}, NOT_COVERED, 0, 0);
+    assertThat(check()).isFalse();
+  }
+
+  @Test
+  public void testMissingChild() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 2, 0);
+    writeState(1, new int[] {0}, NOT_COVERED, 0, 0);
+    assertThat(check()).isFalse();
+  }
+
+  @Test
+  public void testCoveringCycle() throws Exception {
+    writeState(0, new int[] {}, NOT_COVERED, 2, 0);
+    writeState(1, new int[] {0}, 2, 0, 1);
+    writeState(2, new int[] {0}, 1, 0, 1);
+    assertThat(check()).isFalse();
+  }
+
+  /** Writes a state in the format of the streaming check. */
+  private void writeState(
+      int pId, int[] pParents, int pCoveringId, int pNumChildren, int pNumCoveredStates)
+      throws IOException {
+    out.writeInt(pId);
+    out.writeObject(SingletonAbstractState.INSTANCE);
+    out.writeInt(pParents.length);
+    for (int parent : pParents) {
+      out.writeInt(parent);
+    }
+    out.writeInt(pCoveringId);
+    out.writeInt(pNumChildren);
+    out.writeInt(pNumCoveredStates);
+    out.reset();
+  }
+
+  private boolean check()
+      throws IOException, ClassNotFoundException, CPAException, InterruptedException {
+    out.writeInt(END_OF_STATES);
+    return readAndCheck();
+  }
+
+  /** Checks the states written so far, which need to be terminated already. */
+  private boolean readAndCheck()
+      throws IOException, ClassNotFoundException, CPAException, InterruptedException {
+    out.close();
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return strategy.checkStreamedStates(
+          in, new ARGState(SingletonAbstractState.INSTANCE, null));
+    }
+  }
+}
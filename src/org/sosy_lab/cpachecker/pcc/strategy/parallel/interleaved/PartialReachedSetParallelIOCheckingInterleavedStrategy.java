@@ -159,14 +159,14 @@ public class PartialReachedSetParallelIOCheckingInterleavedStrategy extends Abst
 
       return true;
     } finally {
-      if (executor != null) {
-        executor.shutdown();
-      }
-      if (readExecutor != null) {
-        readExecutor.shutdown();
-      }
-      if (checkExecutor != null) {
-        checkExecutor.shutdown();
+      shutdownAndAwaitTermination(executor);
+      shutdownAndAwaitTermination(readExecutor);
+      shutdownAndAwaitTermination(checkExecutor);
+      // partitions are read during checking, so the proof file is still open
+      try {
+        closeProofZipFile();
+      } catch (IOException e) {
+        logger.logUserException(Level.WARNING, e, "Closing the proof file failed");
       }
     }
   }
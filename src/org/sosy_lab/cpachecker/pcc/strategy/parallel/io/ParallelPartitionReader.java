@@ -24,7 +24,6 @@
 package org.sosy_lab.cpachecker.pcc.strategy.parallel.io;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -32,9 +31,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
-import java.util.zip.ZipInputStream;
 
-import org.sosy_lab.cpachecker.util.Triple;
 import org.sosy_lab.common.log.LogManager;
 import org.sosy_lab.cpachecker.pcc.strategy.AbstractStrategy;
 import org.sosy_lab.cpachecker.pcc.strategy.AbstractStrategy.PCStrategyStatistics;
@@ -90,12 +87,14 @@ public class ParallelPartitionReader implements Runnable {
 
   @Override
   public void run() {
-    Triple<InputStream, ZipInputStream, ObjectInputStream> streams = null;
     int nextId;
-    while ((nextId = nextPartition.getAndIncrement()) < ioHelper.getNumPartitions()) {
+    while (success.get()
+        && !Thread.currentThread().isInterrupted()
+        && (nextId = nextPartition.getAndIncrement()) < ioHelper.getNumPartitions()) {
+      ObjectInputStream stream = null;
       try {
-        streams = strategy.openAdditionalProofStream(nextId);
-        ioHelper.readPartition(streams.getThird(), stats, lock);
+        stream = strategy.openAdditionalProofEntry(nextId);
+        ioHelper.readPartition(stream, stats, lock);
         waitRead.release();
       } catch (IOException | ClassNotFoundException e) {
         logger.logUserException(Level.SEVERE, e, "Partition reading failed. Stop checking");
@@ -104,11 +103,9 @@ public class ParallelPartitionReader implements Runnable {
         logger.logException(Level.SEVERE, e2, "Unexpected failure during proof reading");
         prepareAbortion();
       } finally {
-        if (streams != null) {
+        if (stream != null) {
           try {
-            streams.getThird().close();
-            streams.getSecond().close();
-            streams.getFirst().close();
+            stream.close();
           } catch (IOException e) {
           }
         }
@@ -195,7 +195,8 @@ public class PartialReachedSetParallelReadingStrategy extends AbstractStrategy {
         throw new IOException("Reading one of the partitions failed");
       }
     } finally {
-      executor.shutdown();
+      // the proof file is closed after this method returns
+      shutdownAndAwaitTermination(executor);
     }
   }
 
@@ -28,6 +28,7 @@ import static org.sosy_lab.common.collect.Collections3.transformedImmutableListC
 import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableListMultimap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
@@ -37,6 +38,7 @@ import com.google.common.io.BaseEncoding;
 import com.google.common.io.CharStreams;
 import com.google.common.io.MoreFiles;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.ZoneId;
@@ -44,6 +46,7 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -56,6 +59,9 @@ import java.util.Set;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -348,6 +354,48 @@ public class AutomatonGraphmlCommon {
     return BaseEncoding.base16().lowerCase().encode(hash.asBytes());
   }
 
+  /** Computes the data elements that describe the graph of a witness. */
+  private static ImmutableListMultimap<KeyDef, String> getGraphData(
+      WitnessType pGraphType, CFA pCfa, VerificationTaskMetaData pVerificationTaskMetaData)
+      throws IOException {
+    ImmutableListMultimap.Builder<KeyDef, String> result = ImmutableListMultimap.builder();
+    result.put(KeyDef.WITNESS_TYPE, pGraphType.toString());
+    result.put(KeyDef.SOURCECODELANGUAGE, pCfa.getLanguage().toString());
+    result.put(KeyDef.PRODUCER, pVerificationTaskMetaData.getProducerString());
+
+    int nSpecs = 0;
+    for (SpecificationProperty property : pVerificationTaskMetaData.getProperties()) {
+      result.put(KeyDef.SPECIFICATION, property.toString());
+      ++nSpecs;
+    }
+
+    for (Path specFile : pVerificationTaskMetaData.getNonPropertySpecificationFiles()) {
+      result.put(
+          KeyDef.SPECIFICATION, MoreFiles.asCharSource(specFile, Charsets.UTF_8).read().trim());
+      ++nSpecs;
+    }
+
+    if (nSpecs == 0) {
+      result.put(KeyDef.SPECIFICATION, "TRUE");
+    }
+
+    for (Path inputWitness : pVerificationTaskMetaData.getInputWitnessFiles()) {
+      result.put(KeyDef.INPUTWITNESSHASH, computeHash(inputWitness));
+    }
+
+    for (Path programFile : pCfa.getFileNames()) {
+      result.put(KeyDef.PROGRAMFILE, programFile.toString());
+    }
+    for (Path programFile : pCfa.getFileNames()) {
+      result.put(KeyDef.PROGRAMHASH, computeHash(programFile));
+    }
+
+    result.put(KeyDef.ARCHITECTURE, getArchitecture(pCfa.getMachineModel()));
+    ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault()).withNano(0);
+    result.put(KeyDef.CREATIONTIME, now.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+    return result.build();
+  }
+
   public static class GraphMlBuilder {
 
     private final Document doc;
@@ -380,47 +428,10 @@ public class AutomatonGraphmlCommon {
       graph = doc.createElement("graph");
       root.appendChild(graph);
       graph.setAttribute("edgedefault", "directed");
-      graph.appendChild(createDataElement(KeyDef.WITNESS_TYPE, pGraphType.toString()));
-      graph.appendChild(
-          createDataElement(KeyDef.SOURCECODELANGUAGE, pCfa.getLanguage().toString()));
-      graph.appendChild(
-          createDataElement(KeyDef.PRODUCER, pVerificationTaskMetaData.getProducerString()));
-
-      int nSpecs = 0;
-      for (SpecificationProperty property : pVerificationTaskMetaData.getProperties()) {
-        graph.appendChild(createDataElement(KeyDef.SPECIFICATION, property.toString()));
-        ++nSpecs;
-      }
-
-      for (Path specFile : pVerificationTaskMetaData.getNonPropertySpecificationFiles()) {
-        graph.appendChild(
-            createDataElement(
-                KeyDef.SPECIFICATION,
-                MoreFiles.asCharSource(specFile, Charsets.UTF_8).read().trim()));
-        ++nSpecs;
-      }
-
-      if (nSpecs == 0) {
-        graph.appendChild(createDataElement(KeyDef.SPECIFICATION, "TRUE"));
-      }
-
-      for (Path inputWitness : pVerificationTaskMetaData.getInputWitnessFiles()) {
-        graph.appendChild(createDataElement(KeyDef.INPUTWITNESSHASH, computeHash(inputWitness)));
-      }
-
-      for (Path programFile : pCfa.getFileNames()) {
-        graph.appendChild(createDataElement(KeyDef.PROGRAMFILE, programFile.toString()));
+      for (Map.Entry<KeyDef, String> data :
+          getGraphData(pGraphType, pCfa, pVerificationTaskMetaData).entries()) {
+        graph.appendChild(createDataElement(data.getKey(), data.getValue()));
       }
-      for (Path programFile : pCfa.getFileNames()) {
-        graph.appendChild(createDataElement(KeyDef.PROGRAMHASH, computeHash(programFile)));
-      }
-
-      graph.appendChild(
-          createDataElement(KeyDef.ARCHITECTURE, getArchitecture(pCfa.getMachineModel())));
-      ZonedDateTime now = ZonedDateTime.now(ZoneId.systemDefault()).withNano(0);
-      graph.appendChild(
-          createDataElement(
-              KeyDef.CREATIONTIME, now.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME)));
     }
 
     private void defineKey(KeyDef pKeyDef) {
@@ -525,6 +536,179 @@ public class AutomatonGraphmlCommon {
 
   }
 
+  /**
+   * Writes a GraphML witness directly to its target while the nodes and edges are provided,
+   * without building a document tree in memory first.
+   *
+   * <p>In contrast to {@link GraphMlBuilder}, all keys that are used in the document need to be
+   * known up front, because GraphML requires the key definitions to precede the graph. Nodes and
+   * edges need to be complete when they are written.
+   */
+  public static class GraphMlStreamWriter implements Closeable {
+
+    private final XMLStreamWriter writer;
+    private final Set<KeyDef> definedKeys = EnumSet.noneOf(KeyDef.class);
+
+    public GraphMlStreamWriter(
+        WitnessType pGraphType,
+        @Nullable String pDefaultSourceFileName,
+        CFA pCfa,
+        VerificationTaskMetaData pVerificationTaskMetaData,
+        Set<KeyDef> pUsedKeys,
+        Appendable pTarget)
+        throws IOException {
+      ImmutableListMultimap<KeyDef, String> graphData =
+          getGraphData(pGraphType, pCfa, pVerificationTaskMetaData);
+      definedKeys.add(KeyDef.ORIGINFILE);
+      definedKeys.addAll(pUsedKeys);
+      for (KeyDef keyDef : KeyDef.values()) {
+        if (keyDef.keyFor == ElementType.GRAPH) {
+          definedKeys.add(keyDef);
+        }
+      }
+
+      pTarget.append("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+      try {
+        writer =
+            XMLOutputFactory.newInstance().createXMLStreamWriter(CharStreams.asWriter(pTarget));
+        writer.writeStartElement("graphml");
+        writer.writeAttribute("xmlns:xsi", "http://www.w3.org/2001/XMLSchema-instance");
+        writer.writeAttribute("xmlns", "http://graphml.graphdrawing.org/xmlns");
+
+        for (KeyDef keyDef : definedKeys) {
+          String defaultValue =
+              keyDef == KeyDef.ORIGINFILE
+                  ? Preconditions.checkNotNull(pDefaultSourceFileName)
+                  : keyDef.defaultValue;
+          writeKey(keyDef, defaultValue);
+        }
+
+        indent(1);
+        writer.writeStartElement(GraphMLTag.GRAPH.toString());
+        writer.writeAttribute("edgedefault", "directed");
+        writeData(graphData.entries(), 2);
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    private void writeKey(KeyDef pKeyDef, @Nullable String pDefaultValue)
+        throws XMLStreamException {
+      indent(1);
+      if (pDefaultValue == null) {
+        writer.writeEmptyElement(GraphMLTag.KEY.toString());
+      } else {
+        writer.writeStartElement(GraphMLTag.KEY.toString());
+      }
+      writer.writeAttribute("id", pKeyDef.id);
+      writer.writeAttribute("for", pKeyDef.keyFor.toString());
+      writer.writeAttribute("attr.name", pKeyDef.attrName);
+      writer.writeAttribute("attr.type", pKeyDef.attrType);
+      if (pDefaultValue != null) {
+        indent(2);
+        writer.writeStartElement(GraphMLTag.DEFAULT.toString());
+        writer.writeCharacters(pDefaultValue);
+        writer.writeEndElement();
+        indent(1);
+        writer.writeEndElement();
+      }
+    }
+
+    /**
+     * Writes a node element with the given id and data elements. Nothing else is written, in
+     * particular no node type unless it is among the data elements.
+     *
+     * @param pNodeId the id of the node.
+     * @param pData the data elements of the node. Their keys need to be known to this writer.
+     */
+    public void writeNode(String pNodeId, Collection<Map.Entry<KeyDef, String>> pData)
+        throws IOException {
+      try {
+        writeElement(GraphMLTag.NODE, pData);
+        writer.writeAttribute("id", pNodeId);
+        finishElement(pData);
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    /**
+     * Writes an edge.
+     *
+     * @param pSource the id of the source node.
+     * @param pTarget the id of the target node.
+     * @param pData the data elements of the edge. Their keys need to be known to this writer.
+     */
+    public void writeEdge(
+        String pSource, String pTarget, Collection<Map.Entry<KeyDef, String>> pData)
+        throws IOException {
+      try {
+        writeElement(GraphMLTag.EDGE, pData);
+        writer.writeAttribute("source", pSource);
+        writer.writeAttribute("target", pTarget);
+        finishElement(pData);
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+
+    private void writeElement(GraphMLTag pTag, Collection<Map.Entry<KeyDef, String>> pData)
+        throws XMLStreamException {
+      indent(2);
+      if (pData.isEmpty()) {
+        writer.writeEmptyElement(pTag.toString());
+      } else {
+        writer.writeStartElement(pTag.toString());
+      }
+    }
+
+    private void finishElement(Collection<Map.Entry<KeyDef, String>> pData)
+        throws XMLStreamException {
+      if (!pData.isEmpty()) {
+        writeData(pData, 3);
+        indent(2);
+        writer.writeEndElement();
+      }
+    }
+
+    private void writeData(Collection<Map.Entry<KeyDef, String>> pData, int pDepth)
+        throws XMLStreamException {
+      for (Map.Entry<KeyDef, String> data : pData) {
+        Preconditions.checkArgument(
+            definedKeys.contains(data.getKey()), "Key %s was not declared", data.getKey());
+        indent(pDepth);
+        writer.writeStartElement(GraphMLTag.DATA.toString());
+        writer.writeAttribute("key", data.getKey().id);
+        writer.writeCharacters(data.getValue());
+        writer.writeEndElement();
+      }
+    }
+
+    private void indent(int pDepth) throws XMLStreamException {
+      writer.writeCharacters("\n");
+      for (int i = 0; i < pDepth; i++) {
+        writer.writeCharacters(" ");
+      }
+    }
+
+    /** Finishes the graph and the document and flushes the target. */
+    @Override
+    public void close() throws IOException {
+      try {
+        indent(1);
+        writer.writeEndElement(); // graph
+        writer.writeCharacters("\n");
+        writer.writeEndElement(); // graphml
+        writer.writeCharacters("\n");
+        writer.writeEndDocument();
+        writer.flush();
+        writer.close();
+      } catch (XMLStreamException e) {
+        throw new IOException(e);
+      }
+    }
+  }
+
   public static boolean handleAsEpsilonEdge(CFAEdge pEdge, CFAEdgeWithAdditionalInfo
       pAdditionalInfo) {
     if (pAdditionalInfo != null && !pAdditionalInfo.getInfos().isEmpty()) {
@@ -0,0 +1,1022 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.BiMap;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonDoubleValue;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonIntValue;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonNumericValue;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+
+/**
+ * Pure-Java implementation of the octagon domain, which does not need the native octagon library.
+ *
+ * <p>Octagons are represented by half difference-bound matrices as described by Mine ("The
+ * octagon abstract domain", 2006): the variable x_k is split into v_2k = x_k and v_2k+1 = -x_k, and
+ * the element (i, j) of the matrix is an upper bound for v_j - v_i. Because of the coherence of
+ * octagonal matrices, only the elements with {@code j <= (i|1)} are stored in a flat {@code
+ * double[]}. Matrices are never modified after creation of an octagon, so results of operations,
+ * which do not change the octagon, share the matrix of their argument. The strong closure of an
+ * octagon is computed lazily and cached, operations that only change the constraints of a single
+ * variable use incremental closure, which is quadratic instead of cubic in the dimension.
+ *
+ * <p>If integers are used, all bounds are integral and the tight closure is computed. Bounds that
+ * cannot be represented exactly as double are replaced by infinity, which is sound because all
+ * elements of the matrix are upper bounds.
+ */
+public class OctagonJavaManager extends OctagonManager {
+
+  private static final double INF = Double.POSITIVE_INFINITY;
+
+  /** All integers up to this value can be represented exactly as double. */
+  private static final double MAX_EXACT_INTEGER = 0x1p53 - 1;
+
+  private final boolean useIntegers;
+
+  public OctagonJavaManager(boolean pUseIntegers) {
+    useIntegers = pUseIntegers;
+  }
+
+  private static final class JavaOctagon extends Octagon {
+
+    private final int dimension;
+
+    /** The matrix as it was created, it is not necessarily closed. */
+    private final double[] matrix;
+
+    private double @Nullable [] closedMatrix;
+
+    /** If the closure was computed and the closed matrix is null, the octagon is empty. */
+    private boolean closureComputed;
+
+    private JavaOctagon(
+        OctagonManager pManager, int pDimension, double[] pMatrix, boolean pClosed) {
+      super(pManager);
+      dimension = pDimension;
+      matrix = pMatrix;
+      if (pClosed) {
+        closedMatrix = pMatrix;
+        closureComputed = true;
+      }
+    }
+
+    @Override
+    public int hashCode() {
+      // equal octagons may have different matrices
+      return dimension;
+    }
+
+    @Override
+    public String toString() {
+      return "octagon with dimension: " + dimension;
+    }
+  }
+
+  private static final class JavaNumArray extends NumArray {
+
+    private final double[] values;
+
+    private JavaNumArray(int size) {
+      super(0);
+      values = new double[size];
+    }
+
+    @Override
+    public boolean equals(Object pObj) {
+      return pObj instanceof JavaNumArray && Arrays.equals(values, ((JavaNumArray) pObj).values);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+      return Arrays.toString(values);
+    }
+  }
+
+  private static JavaOctagon toJava(Octagon oct) {
+    checkArgument(
+        oct instanceof JavaOctagon, "Octagon %s was not created by the Java manager", oct);
+    return (JavaOctagon) oct;
+  }
+
+  private static double[] values(NumArray array) {
+    checkArgument(
+        array instanceof JavaNumArray, "Array %s was not created by the Java manager", array);
+    return ((JavaNumArray) array).values;
+  }
+
+  /* matrix layout */
+
+  private static int matrixSize(int dimension) {
+    return 2 * dimension * (dimension + 1);
+  }
+
+  /** Position of element (i, j) with {@code j <= (i|1)} in the half matrix. */
+  private static int pos(int i, int j) {
+    return j + ((i + 1) * (i + 1)) / 2;
+  }
+
+  /** Position of element (i, j), which is stored as element (j^1, i^1) if necessary. */
+  private static int cell(int i, int j) {
+    return j <= (i | 1) ? pos(i, j) : pos(j ^ 1, i ^ 1);
+  }
+
+  private static double[] universeMatrix(int dimension) {
+    double[] m = new double[matrixSize(dimension)];
+    Arrays.fill(m, INF);
+    for (int i = 0; i < 2 * dimension; i++) {
+      m[pos(i, i)] = 0;
+    }
+    return m;
+  }
+
+  private JavaOctagon closed(int dimension, double[] m) {
+    return new JavaOctagon(this, dimension, m, true);
+  }
+
+  private JavaOctagon unclosed(int dimension, double[] m) {
+    return new JavaOctagon(this, dimension, m, false);
+  }
+
+  private JavaOctagon emptyOctagon(int dimension) {
+    JavaOctagon oct = unclosed(dimension, universeMatrix(dimension));
+    oct.closureComputed = true;
+    return oct;
+  }
+
+  /* arithmetic on bounds */
+
+  /** Normalize an upper bound, such that it is sound for the used number representation. */
+  private double upper(double value) {
+    if (Double.isNaN(value) || (useIntegers && Math.abs(value) > MAX_EXACT_INTEGER)) {
+      return INF;
+    }
+    return useIntegers ? Math.floor(value) : value;
+  }
+
+  /** Normalize a lower bound, such that it is sound for the used number representation. */
+  private double lower(double value) {
+    if (Double.isNaN(value) || (useIntegers && Math.abs(value) > MAX_EXACT_INTEGER)) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    return useIntegers ? Math.ceil(value) : value;
+  }
+
+  /** Sum of two upper bounds. */
+  private double add(double a, double b) {
+    double sum = a + b;
+    if (Double.isNaN(sum) || (useIntegers && Math.abs(sum) > MAX_EXACT_INTEGER)) {
+      return INF;
+    }
+    return sum;
+  }
+
+  private static double multiply(double a, double b) {
+    // in interval arithmetic, zero times infinity is zero
+    return a == 0 || b == 0 ? 0 : a * b;
+  }
+
+  /* closure */
+
+  /**
+   * Get the strongly (or tightly) closed matrix of an octagon, or null if it is empty. The closed
+   * matrix must not be modified.
+   */
+  private double @Nullable [] getClosedMatrix(JavaOctagon oct) {
+    if (!oct.closureComputed) {
+      double[] m = oct.matrix.clone();
+      for (int k = 0; k < oct.dimension; k++) {
+        pivot(m, oct.dimension, k);
+      }
+      oct.closedMatrix = strengthen(m, oct.dimension) ? m : null;
+      oct.closureComputed = true;
+    }
+    return oct.closedMatrix;
+  }
+
+  /** Shortest-path step for all elements with the signed variables 2k and 2k+1 as pivots. */
+  private void pivot(double[] m, int dimension, int k) {
+    int k0 = 2 * k;
+    int k1 = k0 + 1;
+    for (int i = 0; i < 2 * dimension; i++) {
+      double ik0 = m[cell(i, k0)];
+      double ik1 = m[cell(i, k1)];
+      double viaK0 = Math.min(ik0, add(ik1, m[pos(k1, k0)]));
+      double viaK1 = Math.min(ik1, add(ik0, m[pos(k0, k1)]));
+      if (viaK0 == INF && viaK1 == INF) {
+        continue;
+      }
+      int last = i | 1;
+      for (int j = 0; j <= last; j++) {
+        int p = pos(i, j);
+        m[p] = Math.min(m[p], Math.min(add(viaK0, m[cell(k0, j)]), add(viaK1, m[cell(k1, j)])));
+      }
+    }
+  }
+
+  /** Shortest-path step for a single element (i, j) with {@code j <= (i|1)}. */
+  private void relax(double[] m, int k, int i, int j) {
+    int k0 = 2 * k;
+    int k1 = k0 + 1;
+    double ik0 = m[cell(i, k0)];
+    double ik1 = m[cell(i, k1)];
+    double viaK0 = Math.min(ik0, add(ik1, m[pos(k1, k0)]));
+    double viaK1 = Math.min(ik1, add(ik0, m[pos(k0, k1)]));
+    int p = pos(i, j);
+    m[p] = Math.min(m[p], Math.min(add(viaK0, m[cell(k0, j)]), add(viaK1, m[cell(k1, j)])));
+  }
+
+  /**
+   * Close a matrix, which was closed before only constraints with the variable v were tightened.
+   * First, the rows and columns of v are closed, afterwards the new constraints are propagated via
+   * v to all other elements.
+   *
+   * @return false if the octagon is empty
+   */
+  private boolean closeIncrementally(double[] m, int dimension, int v) {
+    int v0 = 2 * v;
+    int v1 = v0 + 1;
+    for (int k = 0; k < dimension; k++) {
+      for (int j = 0; j <= v1; j++) {
+        relax(m, k, v0, j);
+        relax(m, k, v1, j);
+      }
+      for (int i = v1 + 1; i < 2 * dimension; i++) {
+        relax(m, k, i, v0);
+        relax(m, k, i, v1);
+      }
+    }
+    pivot(m, dimension, v);
+    return strengthen(m, dimension);
+  }
+
+  /**
+   * Check the consistency of a shortest-path closed matrix and compute its strong closure (or its
+   * tight closure, if integers are used).
+   *
+   * @return false if the octagon is empty
+   */
+  private boolean strengthen(double[] m, int dimension) {
+    int size = 2 * dimension;
+    for (int i = 0; i < size; i++) {
+      if (m[pos(i, i)] < 0) {
+        return false;
+      }
+    }
+    if (useIntegers) {
+      for (int i = 0; i < size; i++) {
+        int p = pos(i, i ^ 1);
+        m[p] = 2 * Math.floor(m[p] / 2);
+      }
+      for (int i = 0; i < size; i += 2) {
+        if (add(m[pos(i, i + 1)], m[pos(i + 1, i)]) < 0) {
+          return false;
+        }
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      double unary = m[pos(i, i ^ 1)];
+      if (unary == INF) {
+        continue;
+      }
+      int last = i | 1;
+      for (int j = 0; j <= last; j++) {
+        int p = pos(i, j);
+        m[p] = Math.min(m[p], add(unary, m[pos(j ^ 1, j)]) / 2);
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      m[pos(i, i)] = 0;
+    }
+    return true;
+  }
+
+  /** Remove all constraints of the variable k from a closed matrix, the result is closed. */
+  private static void forget(double[] m, int dimension, int k) {
+    int k0 = 2 * k;
+    int k1 = k0 + 1;
+    for (int j = 0; j <= k1; j++) {
+      m[pos(k0, j)] = INF;
+      m[pos(k1, j)] = INF;
+    }
+    for (int i = k1 + 1; i < 2 * dimension; i++) {
+      m[pos(i, k0)] = INF;
+      m[pos(i, k1)] = INF;
+    }
+    m[pos(k0, k0)] = 0;
+    m[pos(k1, k1)] = 0;
+  }
+
+  private static boolean hasConstraints(double[] m, int dimension, int k) {
+    int k0 = 2 * k;
+    int k1 = k0 + 1;
+    for (int j = 0; j < k0; j++) {
+      if (m[pos(k0, j)] != INF || m[pos(k1, j)] != INF) {
+        return true;
+      }
+    }
+    if (m[pos(k0, k1)] != INF || m[pos(k1, k0)] != INF) {
+      return true;
+    }
+    for (int i = k1 + 1; i < 2 * dimension; i++) {
+      if (m[pos(i, k0)] != INF || m[pos(i, k1)] != INF) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void tighten(double[] m, int i, int j, double value) {
+    int p = cell(i, j);
+    m[p] = Math.min(m[p], value);
+  }
+
+  /* num handling functions */
+
+  @Override
+  public NumArray init_num_t(int n) {
+    return new JavaNumArray(n);
+  }
+
+  @Override
+  public void num_set(NumArray n1, NumArray n2) {
+    double[] target = values(n1);
+    double[] source = values(n2);
+    System.arraycopy(source, 0, target, 0, Math.min(source.length, target.length));
+  }
+
+  @Override
+  public void num_set_int(NumArray n, int pos, long i) {
+    values(n)[pos] = i;
+  }
+
+  @Override
+  public void num_set_float(NumArray n, int pos, double d) {
+    values(n)[pos] = d;
+  }
+
+  @Override
+  public void num_set_inf(NumArray n, int pos) {
+    values(n)[pos] = INF;
+  }
+
+  @Override
+  public long num_get_int(NumArray n, int pos) {
+    return (long) values(n)[pos];
+  }
+
+  @Override
+  public double num_get_float(NumArray n, int pos) {
+    return values(n)[pos];
+  }
+
+  @Override
+  public boolean num_infty(NumArray n, int pos) {
+    return values(n)[pos] == INF;
+  }
+
+  @Override
+  public void num_clear_n(NumArray n, int size) {
+    // memory is managed by the garbage collector
+  }
+
+  /* Octagon handling functions */
+
+  @Override
+  public Octagon empty(int n) {
+    return emptyOctagon(n);
+  }
+
+  @Override
+  public Octagon universe(int n) {
+    return closed(n, universeMatrix(n));
+  }
+
+  @Override
+  public Octagon copy(Octagon oct) {
+    JavaOctagon source = toJava(oct);
+    JavaOctagon copy = unclosed(source.dimension, source.matrix);
+    copy.closedMatrix = source.closedMatrix;
+    copy.closureComputed = source.closureComputed;
+    return copy;
+  }
+
+  @Override
+  public Octagon full_copy(Octagon oct) {
+    return copy(oct);
+  }
+
+  @Override
+  public int dimension(Octagon oct) {
+    return toJava(oct).dimension;
+  }
+
+  @Override
+  public int nbconstraints(Octagon oct) {
+    JavaOctagon o = toJava(oct);
+    int count = 0;
+    for (int i = 0; i < 2 * o.dimension; i++) {
+      for (int j = 0; j <= (i | 1); j++) {
+        if (i != j && o.matrix[pos(i, j)] != INF) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public boolean isEmpty(Octagon oct) {
+    return getClosedMatrix(toJava(oct)) == null;
+  }
+
+  @Override
+  public int isEmptyLazy(Octagon oct) {
+    return isEmpty(oct) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isUniverse(Octagon oct) {
+    JavaOctagon o = toJava(oct);
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return false;
+    }
+    for (int i = 0; i < 2 * o.dimension; i++) {
+      for (int j = 0; j <= (i | 1); j++) {
+        if (i != j && m[pos(i, j)] != INF) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isIncludedIn(Octagon oct1, Octagon oct2) {
+    JavaOctagon o1 = toJava(oct1);
+    JavaOctagon o2 = toJava(oct2);
+    checkArgument(o1.dimension == o2.dimension, "Octagons have different dimensions");
+    double[] m1 = getClosedMatrix(o1);
+    if (m1 == null) {
+      return true;
+    }
+    // every constraint of the second octagon has to be implied by the first one,
+    // for this it is not necessary that the second octagon is closed
+    double[] m2 = o2.matrix;
+    for (int p = 0; p < m1.length; p++) {
+      if (m1[p] > m2[p]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int isIncludedInLazy(Octagon oct1, Octagon oct2) {
+    return isIncludedIn(oct1, oct2) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isEqual(Octagon oct1, Octagon oct2) {
+    JavaOctagon o1 = toJava(oct1);
+    JavaOctagon o2 = toJava(oct2);
+    if (o1.dimension != o2.dimension) {
+      return false;
+    }
+    double[] m1 = getClosedMatrix(o1);
+    double[] m2 = getClosedMatrix(o2);
+    if (m1 == null || m2 == null) {
+      return m1 == m2;
+    }
+    return Arrays.equals(m1, m2);
+  }
+
+  @Override
+  public int isEqualLazy(Octagon oct1, Octagon oct2) {
+    return isEqual(oct1, oct2) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isIn(Octagon oct1, NumArray array) {
+    JavaOctagon o = toJava(oct1);
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return false;
+    }
+    double[] point = values(array);
+    for (int i = 0; i < 2 * o.dimension; i++) {
+      for (int j = 0; j <= (i | 1); j++) {
+        double vi = (i & 1) == 0 ? point[i / 2] : -point[i / 2];
+        double vj = (j & 1) == 0 ? point[j / 2] : -point[j / 2];
+        if (vj - vi > m[pos(i, j)]) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /* Operators */
+
+  @Override
+  public Octagon intersection(Octagon oct1, Octagon oct2) {
+    JavaOctagon o1 = toJava(oct1);
+    JavaOctagon o2 = toJava(oct2);
+    checkArgument(o1.dimension == o2.dimension, "Octagons have different dimensions");
+    if ((o1.closureComputed && o1.closedMatrix == null)
+        || (o2.closureComputed && o2.closedMatrix == null)) {
+      return emptyOctagon(o1.dimension);
+    }
+    double[] result = new double[o1.matrix.length];
+    for (int p = 0; p < result.length; p++) {
+      result[p] = Math.min(o1.matrix[p], o2.matrix[p]);
+    }
+    return unclosed(o1.dimension, result);
+  }
+
+  @Override
+  public Octagon union(Octagon oct1, Octagon oct2) {
+    JavaOctagon o1 = toJava(oct1);
+    JavaOctagon o2 = toJava(oct2);
+    checkArgument(o1.dimension == o2.dimension, "Octagons have different dimensions");
+    double[] m1 = getClosedMatrix(o1);
+    double[] m2 = getClosedMatrix(o2);
+    if (m1 == null) {
+      return o2;
+    } else if (m2 == null) {
+      return o1;
+    }
+    // the join of two closed octagons is closed
+    double[] result = new double[m1.length];
+    for (int p = 0; p < result.length; p++) {
+      result[p] = Math.max(m1[p], m2[p]);
+    }
+    return closed(o1.dimension, result);
+  }
+
+  /** Widening with threshold zero, i.e., unstable constraints are relaxed to 0 or infinity. */
+  @Override
+  public Octagon widening(Octagon oct1, Octagon oct2) {
+    JavaOctagon o1 = toJava(oct1);
+    JavaOctagon o2 = toJava(oct2);
+    checkArgument(o1.dimension == o2.dimension, "Octagons have different dimensions");
+    if (o1.closureComputed && o1.closedMatrix == null) {
+      return o2;
+    }
+    double[] m2 = getClosedMatrix(o2);
+    if (m2 == null) {
+      return o1;
+    }
+    // the first octagon must not be closed, otherwise the widening may not terminate
+    double[] m1 = o1.matrix;
+    double[] result = new double[m1.length];
+    for (int p = 0; p < result.length; p++) {
+      if (m2[p] <= m1[p]) {
+        result[p] = m1[p];
+      } else {
+        result[p] = m2[p] <= 0 ? 0 : INF;
+      }
+    }
+    return unclosed(o1.dimension, result);
+  }
+
+  @Override
+  public Octagon narrowing(Octagon oct1, Octagon oct2) {
+    JavaOctagon o1 = toJava(oct1);
+    JavaOctagon o2 = toJava(oct2);
+    checkArgument(o1.dimension == o2.dimension, "Octagons have different dimensions");
+    double[] m1 = getClosedMatrix(o1);
+    double[] m2 = getClosedMatrix(o2);
+    if (m1 == null || m2 == null) {
+      return emptyOctagon(o1.dimension);
+    }
+    double[] result = new double[m1.length];
+    for (int p = 0; p < result.length; p++) {
+      result[p] = m1[p] == INF ? m2[p] : m1[p];
+    }
+    return unclosed(o1.dimension, result);
+  }
+
+  /* Transfer Functions */
+
+  @Override
+  public Octagon forget(Octagon oct, int k) {
+    JavaOctagon o = toJava(oct);
+    double[] m = getClosedMatrix(o);
+    if (m == null || !hasConstraints(m, o.dimension, k)) {
+      return o;
+    }
+    double[] result = m.clone();
+    forget(result, o.dimension, k);
+    return closed(o.dimension, result);
+  }
+
+  /**
+   * Assign a linear expression to a variable.
+   *
+   * @param array the coefficients of the variables, followed by the constant
+   */
+  @Override
+  public Octagon assingVar(Octagon oct, int k, NumArray array) {
+    JavaOctagon o = toJava(oct);
+    double[] tab = values(array);
+    int n = o.dimension;
+
+    boolean isShift = tab[k] == 1 || tab[k] == -1;
+    for (int i = 0; isShift && i < n; i++) {
+      isShift = i == k || tab[i] == 0;
+    }
+    double constant = tab[n];
+    if (isShift && constant != INF && upper(constant) == constant) {
+      return shift(o, k, tab[k] == -1, constant);
+    }
+
+    double[] lowerCoefficients = new double[n + 1];
+    double[] upperCoefficients = new double[n + 1];
+    for (int i = 0; i <= n; i++) {
+      lowerCoefficients[i] = tab[i] == INF ? Double.NEGATIVE_INFINITY : tab[i];
+      upperCoefficients[i] = tab[i];
+    }
+    return assign(o, k, lowerCoefficients, upperCoefficients);
+  }
+
+  /**
+   * Assign a linear expression with interval coefficients to a variable.
+   *
+   * @param array the upper bound and the negated lower bound of the coefficient of each variable,
+   *     followed by the bounds of the constant
+   */
+  @Override
+  public Octagon intervAssingVar(Octagon oct, int k, NumArray array) {
+    JavaOctagon o = toJava(oct);
+    double[] tab = values(array);
+    int n = o.dimension;
+    double[] lowerCoefficients = new double[n + 1];
+    double[] upperCoefficients = new double[n + 1];
+    for (int i = 0; i <= n; i++) {
+      lowerCoefficients[i] = -tab[2 * i + 1];
+      upperCoefficients[i] = tab[2 * i];
+    }
+    return assign(o, k, lowerCoefficients, upperCoefficients);
+  }
+
+  /** Exact assignment x_k := x_k + c or x_k := -x_k + c, which keeps the matrix closed. */
+  private Octagon shift(JavaOctagon o, int k, boolean negate, double c) {
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return o;
+    }
+    double[] result = new double[m.length];
+    boolean isClosed = true;
+    for (int i = 0; i < 2 * o.dimension; i++) {
+      int si = negate && i / 2 == k ? i ^ 1 : i;
+      double offsetI = i / 2 == k ? ((i & 1) == 0 ? c : -c) : 0;
+      for (int j = 0; j <= (i | 1); j++) {
+        int sj = negate && j / 2 == k ? j ^ 1 : j;
+        double offsetJ = j / 2 == k ? ((j & 1) == 0 ? c : -c) : 0;
+        double value = m[cell(si, sj)];
+        if (value != INF) {
+          double shifted = value + (offsetJ - offsetI);
+          value = upper(shifted);
+          isClosed &= value == shifted;
+        }
+        result[pos(i, j)] = value;
+      }
+    }
+    return new JavaOctagon(this, o.dimension, result, isClosed);
+  }
+
+  /**
+   * Assign x_k := sum of [lower_i, upper_i] * x_i + [lower_n, upper_n]. The bounds of the
+   * expression and of its sum and difference with each other variable are computed with interval
+   * arithmetic on the old octagon, afterwards the variable is forgotten and constrained by these
+   * bounds.
+   */
+  private Octagon assign(
+      JavaOctagon o, int k, double[] lowerCoefficients, double[] upperCoefficients) {
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return o;
+    }
+    int n = o.dimension;
+
+    // the interval of the term of each variable in the expression
+    double[] lowerTerms = new double[n];
+    double[] upperTerms = new double[n];
+    for (int i = 0; i < n; i++) {
+      double lowerBound = -m[pos(2 * i, 2 * i + 1)] / 2;
+      double upperBound = m[pos(2 * i + 1, 2 * i)] / 2;
+      lowerTerms[i] =
+          minProduct(lowerCoefficients[i], upperCoefficients[i], lowerBound, upperBound);
+      upperTerms[i] =
+          maxProduct(lowerCoefficients[i], upperCoefficients[i], lowerBound, upperBound);
+    }
+
+    double[] result = m.clone();
+    forget(result, n, k);
+    int k0 = 2 * k;
+    int k1 = k0 + 1;
+
+    double lowerSum = sumLower(lowerTerms, lowerCoefficients[n], -1, 0);
+    double upperSum = sumUpper(upperTerms, upperCoefficients[n], -1, 0);
+    tighten(result, k1, k0, upper(2 * upper(upperSum)));
+    tighten(result, k0, k1, upper(-2 * lower(lowerSum)));
+
+    for (int j = 0; j < n; j++) {
+      if (j == k) {
+        continue;
+      }
+      double lowerBound = -m[pos(2 * j, 2 * j + 1)] / 2;
+      double upperBound = m[pos(2 * j + 1, 2 * j)] / 2;
+      if (lowerBound == Double.NEGATIVE_INFINITY && upperBound == INF) {
+        continue; // no relation can be derived
+      }
+      int j0 = 2 * j;
+      int j1 = j0 + 1;
+
+      // the expression minus x_j, i.e., the coefficient of x_j is decreased by one
+      double lowerCoefficient = lowerCoefficients[j] - 1;
+      double upperCoefficient = upperCoefficients[j] - 1;
+      double lowerTerm = minProduct(lowerCoefficient, upperCoefficient, lowerBound, upperBound);
+      double upperTerm = maxProduct(lowerCoefficient, upperCoefficient, lowerBound, upperBound);
+      lowerSum = sumLower(lowerTerms, lowerCoefficients[n], j, lowerTerm);
+      upperSum = sumUpper(upperTerms, upperCoefficients[n], j, upperTerm);
+      tighten(result, j0, k0, upper(upperSum)); // x_k - x_j <= upper
+      tighten(result, k0, j0, upper(-lower(lowerSum))); // x_j - x_k <= -lower
+
+      // the expression plus x_j
+      lowerCoefficient = lowerCoefficients[j] + 1;
+      upperCoefficient = upperCoefficients[j] + 1;
+      lowerTerm = minProduct(lowerCoefficient, upperCoefficient, lowerBound, upperBound);
+      upperTerm = maxProduct(lowerCoefficient, upperCoefficient, lowerBound, upperBound);
+      lowerSum = sumLower(lowerTerms, lowerCoefficients[n], j, lowerTerm);
+      upperSum = sumUpper(upperTerms, upperCoefficients[n], j, upperTerm);
+      tighten(result, j1, k0, upper(upperSum)); // x_k + x_j <= upper
+      tighten(result, k0, j1, upper(-lower(lowerSum))); // -x_k - x_j <= -lower
+    }
+
+    if (!closeIncrementally(result, n, k)) {
+      return emptyOctagon(n);
+    }
+    return closed(n, result);
+  }
+
+  private double minProduct(double a, double b, double lowerBound, double upperBound) {
+    return lower(
+        Math.min(
+            Math.min(multiply(a, lowerBound), multiply(a, upperBound)),
+            Math.min(multiply(b, lowerBound), multiply(b, upperBound))));
+  }
+
+  private double maxProduct(double a, double b, double lowerBound, double upperBound) {
+    return upper(
+        Math.max(
+            Math.max(multiply(a, lowerBound), multiply(a, upperBound)),
+            Math.max(multiply(b, lowerBound), multiply(b, upperBound))));
+  }
+
+  /** Sum of the lower bounds of all terms, where the term at the given index is replaced. */
+  private double sumLower(double[] terms, double constant, int replacedIndex, double replacement) {
+    double sum = lower(constant);
+    for (int i = 0; i < terms.length && sum != Double.NEGATIVE_INFINITY; i++) {
+      sum = lower(sum + (i == replacedIndex ? replacement : terms[i]));
+    }
+    return sum;
+  }
+
+  /** Sum of the upper bounds of all terms, where the term at the given index is replaced. */
+  private double sumUpper(double[] terms, double constant, int replacedIndex, double replacement) {
+    double sum = upper(constant);
+    for (int i = 0; i < terms.length && sum != INF; i++) {
+      sum = upper(sum + (i == replacedIndex ? replacement : terms[i]));
+    }
+    return sum;
+  }
+
+  /**
+   * Add binary constraints to the octagon.
+   *
+   * @param array for each constraint its type (cf. OctWrapper), the indices of both variables, and
+   *     the constant
+   */
+  @Override
+  public Octagon addBinConstraint(Octagon oct, int noOfConstraints, NumArray array) {
+    JavaOctagon o = toJava(oct);
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return o;
+    }
+    double[] tab = values(array);
+    double[] result = null;
+    for (int c = 0; c < noOfConstraints; c++) {
+      int x = (int) tab[4 * c + 1];
+      int y = (int) tab[4 * c + 2];
+      double constant = upper(tab[4 * c + 3]);
+      if (constant == INF) {
+        continue;
+      }
+      int i;
+      int j;
+      double value = constant;
+      switch ((int) tab[4 * c]) {
+        case 0: // x <= c
+          i = 2 * x + 1;
+          j = 2 * x;
+          value = 2 * constant;
+          break;
+        case 1: // -x <= c
+          i = 2 * x;
+          j = 2 * x + 1;
+          value = 2 * constant;
+          break;
+        case 2: // x + y <= c
+          i = 2 * y + 1;
+          j = 2 * x;
+          break;
+        case 3: // x - y <= c
+          i = 2 * y;
+          j = 2 * x;
+          break;
+        case 4: // -x + y <= c
+          i = 2 * x;
+          j = 2 * y;
+          break;
+        case 5: // -x - y <= c
+          i = 2 * x;
+          j = 2 * y + 1;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown type of constraint " + tab[4 * c]);
+      }
+      double[] current = result == null ? m : result;
+      if (current[cell(i, j)] <= value) {
+        continue; // the constraint is already implied
+      }
+      if (result == null) {
+        result = m.clone();
+      }
+      result[cell(i, j)] = value;
+      if (!closeIncrementally(result, o.dimension, x)) {
+        return emptyOctagon(o.dimension);
+      }
+    }
+    return result == null ? o : closed(o.dimension, result);
+  }
+
+  /* change of dimensions */
+
+  @Override
+  public Octagon addDimensionAndEmbed(Octagon oct, int k) {
+    JavaOctagon o = toJava(oct);
+    int newDimension = o.dimension + k;
+    if (o.closureComputed && o.closedMatrix == null) {
+      return emptyOctagon(newDimension);
+    }
+    // the matrix of the first variables is a prefix of the matrix of all variables
+    double[] result = universeMatrix(newDimension);
+    double[] m = o.closureComputed ? o.closedMatrix : o.matrix;
+    System.arraycopy(m, 0, result, 0, m.length);
+    return new JavaOctagon(this, newDimension, result, o.closureComputed);
+  }
+
+  @Override
+  public Octagon addDimensionAndProject(Octagon oct, int k) {
+    JavaOctagon o = toJava(addDimensionAndEmbed(oct, k));
+    if (o.closureComputed && o.closedMatrix == null) {
+      return o;
+    }
+    double[] result = o.matrix.clone();
+    for (int v = o.dimension - k; v < o.dimension; v++) {
+      result[pos(2 * v, 2 * v + 1)] = 0;
+      result[pos(2 * v + 1, 2 * v)] = 0;
+    }
+    return unclosed(o.dimension, result);
+  }
+
+  @Override
+  public Octagon removeDimension(Octagon oct, int k) {
+    JavaOctagon o = toJava(oct);
+    int newDimension = o.dimension - k;
+    checkArgument(newDimension >= 0, "Cannot remove %s dimensions from %s", k, o);
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return emptyOctagon(newDimension);
+    }
+    return closed(newDimension, Arrays.copyOf(m, matrixSize(newDimension)));
+  }
+
+  /**
+   * Create the product of octagons over disjoint sets of variables.
+   *
+   * @param parts the octagons to combine
+   * @param positions for each octagon, the position of each of its variables in the result
+   * @param dimension the dimension of the result, which must be the sum of all dimensions
+   */
+  Octagon combine(Octagon[] parts, int[][] positions, int dimension) {
+    double[] result = universeMatrix(dimension);
+    for (int p = 0; p < parts.length; p++) {
+      JavaOctagon part = toJava(parts[p]);
+      double[] m = getClosedMatrix(part);
+      if (m == null) {
+        return emptyOctagon(dimension);
+      }
+      int[] position = positions[p];
+      for (int i = 0; i < 2 * part.dimension; i++) {
+        int ri = 2 * position[i / 2] + (i & 1);
+        for (int j = 0; j <= (i | 1); j++) {
+          int rj = 2 * position[j / 2] + (j & 1);
+          result[cell(ri, rj)] = m[pos(i, j)];
+        }
+      }
+    }
+    // without relations between the parts the matrix is closed except for the strengthening
+    if (!strengthen(result, dimension)) {
+      return emptyOctagon(dimension);
+    }
+    return closed(dimension, result);
+  }
+
+  @Override
+  public String print(Octagon oct, BiMap<Integer, MemoryLocation> map) {
+    JavaOctagon o = toJava(oct);
+    StringBuilder str = new StringBuilder();
+    str.append("Octagon (dimension: " + o.dimension + ")\n");
+    if (isEmpty(o)) {
+      str.append("[Empty]\n");
+      return str.toString();
+    }
+    appendVariableBounds(str, this, o, map);
+    return str.toString();
+  }
+
+  /** Append the bounds of all variables of a non-empty octagon. */
+  static void appendVariableBounds(
+      StringBuilder str, OctagonManager manager, Octagon oct, BiMap<Integer, MemoryLocation> map) {
+    for (int i = 0; i < map.size(); i++) {
+      OctagonInterval bounds = manager.getVariableBounds(oct, i);
+      str.append(" ").append(map.get(i)).append(" -> [");
+      if (bounds.getLow().isInfinite()) {
+        str.append("-INFINITY, ");
+      } else {
+        str.append(bounds.getLow()).append(", ");
+      }
+      if (bounds.getHigh().isInfinite()) {
+        str.append("INFINITY]\n");
+      } else {
+        str.append(bounds.getHigh()).append("]\n");
+      }
+    }
+  }
+
+  @Override
+  public OctagonInterval getVariableBounds(Octagon oct, int id) {
+    JavaOctagon o = toJava(oct);
+    assert id < o.dimension;
+    double[] m = getClosedMatrix(o);
+    if (m == null) {
+      return OctagonInterval.EMPTY;
+    }
+    double lower = -m[pos(2 * id, 2 * id + 1)] / 2;
+    double upper = m[pos(2 * id + 1, 2 * id)] / 2;
+    return new OctagonInterval(toValue(lower), toValue(upper));
+  }
+
+  private OctagonNumericValue<?> toValue(double value) {
+    if (useIntegers && !Double.isInfinite(value)) {
+      return OctagonIntValue.of((long) value);
+    }
+    return new OctagonDoubleValue(value);
+  }
+
+  @Override
+  public String toString() {
+    return "Java octagon manager (" + (useIntegers ? "integers" : "floats") + ")";
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+
+public class OctagonJavaManagerTest {
+
+  private OctagonManager manager;
+
+  @Before
+  public void setUp() {
+    manager = new OctagonJavaManager(true);
+  }
+
+  private Octagon addConstraint(Octagon oct, int type, int x, int y, long c) {
+    NumArray arr = manager.init_num_t(4);
+    manager.num_set_int(arr, 0, type);
+    manager.num_set_int(arr, 1, x);
+    manager.num_set_int(arr, 2, y);
+    manager.num_set_int(arr, 3, c);
+    return manager.addBinConstraint(oct, 1, arr);
+  }
+
+  private Octagon assign(Octagon oct, int k, long... coefficients) {
+    NumArray arr = manager.init_num_t(coefficients.length);
+    for (int i = 0; i < coefficients.length; i++) {
+      manager.num_set_int(arr, i, coefficients[i]);
+    }
+    return manager.assingVar(oct, k, arr);
+  }
+
+  @Test
+  public void testUniverse() {
+    Octagon oct = manager.universe(2);
+    assertThat(manager.isEmpty(oct)).isFalse();
+    assertThat(manager.isUniverse(oct)).isTrue();
+    assertThat(manager.getVariableBounds(oct, 0).isInfinite()).isTrue();
+  }
+
+  @Test
+  public void testClosure() {
+    // x <= 5, y - x <= 2, -y <= -3
+    Octagon oct = manager.universe(2);
+    oct = addConstraint(oct, 0, 0, 0, 5);
+    oct = addConstraint(oct, 3, 1, 0, 2);
+    oct = addConstraint(oct, 1, 1, 0, -3);
+    assertThat(manager.getVariableBounds(oct, 1)).isEqualTo(new OctagonInterval(3L, 7L));
+    assertThat(manager.getVariableBounds(oct, 0)).isEqualTo(new OctagonInterval(1L, 5L));
+
+    // y <= 2 contradicts y >= 3
+    assertThat(manager.isEmpty(addConstraint(oct, 0, 1, 0, 2))).isTrue();
+  }
+
+  @Test
+  public void testTightClosure() {
+    // x + y <= 3 and x - y <= 0 imply 2x <= 3, i.e., x <= 1 for integers
+    Octagon oct = manager.universe(2);
+    oct = addConstraint(oct, 2, 0, 1, 3);
+    oct = addConstraint(oct, 3, 0, 1, 0);
+    assertThat(manager.getVariableBounds(oct, 0).getHigh().getValue().longValue()).isEqualTo(1);
+  }
+
+  @Test
+  public void testImpliedConstraintKeepsOctagon() {
+    Octagon oct = addConstraint(manager.universe(1), 0, 0, 0, 5);
+    assertThat(addConstraint(oct, 0, 0, 0, 10)).isSameInstanceAs(oct);
+    Octagon forgotten = manager.forget(oct, 0);
+    assertThat(manager.isUniverse(forgotten)).isTrue();
+    assertThat(manager.isEqual(forgotten, manager.universe(1))).isTrue();
+  }
+
+  @Test
+  public void testAssignment() {
+    // x in [0, 10], y := x + 1, z := 2 * x
+    Octagon oct = manager.universe(3);
+    oct = addConstraint(oct, 0, 0, 0, 10);
+    oct = addConstraint(oct, 1, 0, 0, 0);
+    oct = assign(oct, 1, 1, 0, 0, 1);
+    oct = assign(oct, 2, 2, 0, 0, 0);
+    assertThat(manager.getVariableBounds(oct, 1)).isEqualTo(new OctagonInterval(1L, 11L));
+    assertThat(manager.getVariableBounds(oct, 2)).isEqualTo(new OctagonInterval(0L, 20L));
+
+    // the relation y - x = 1 is kept, so y <= 3 implies x <= 2
+    oct = addConstraint(oct, 0, 1, 0, 3);
+    assertThat(manager.getVariableBounds(oct, 0)).isEqualTo(new OctagonInterval(0L, 2L));
+
+    // x := x + 1 shifts the relation to y - x = 0
+    oct = assign(oct, 0, 1, 0, 0, 1);
+    assertThat(manager.getVariableBounds(oct, 0)).isEqualTo(new OctagonInterval(1L, 3L));
+  }
+
+  @Test
+  public void testJoinAndInclusion() {
+    Octagon oct1 = addConstraint(manager.universe(1), 0, 0, 0, 5);
+    Octagon oct2 = addConstraint(manager.universe(1), 0, 0, 0, 8);
+    Octagon join = manager.union(oct1, oct2);
+    assertThat(manager.isIncludedIn(oct1, join)).isTrue();
+    assertThat(manager.isIncludedIn(join, oct1)).isFalse();
+    assertThat(join).isEqualTo(oct2);
+  }
+
+  @Test
+  public void testWidening() {
+    Octagon oct1 = addConstraint(addConstraint(manager.universe(1), 0, 0, 0, 1), 1, 0, 0, 0);
+    Octagon oct2 = addConstraint(addConstraint(manager.universe(1), 0, 0, 0, 2), 1, 0, 0, 0);
+    Octagon widened = manager.widening(oct1, oct2);
+    OctagonInterval bounds = manager.getVariableBounds(widened, 0);
+    assertThat(bounds.getLow().getValue().longValue()).isEqualTo(0);
+    assertThat(bounds.getHigh().isInfinite()).isTrue();
+  }
+
+  @Test
+  public void testDimensions() {
+    Octagon oct = addConstraint(manager.universe(1), 0, 0, 0, 5);
+    oct = manager.addDimensionAndEmbed(oct, 2);
+    assertThat(manager.dimension(oct)).isEqualTo(3);
+    oct = addConstraint(oct, 3, 2, 0, 1);
+    assertThat(manager.getVariableBounds(oct, 2).getHigh().getValue().longValue()).isEqualTo(6);
+    oct = manager.removeDimension(oct, 2);
+    assertThat(manager.dimension(oct)).isEqualTo(1);
+    assertThat(manager.getVariableBounds(oct, 0).getHigh().getValue().longValue()).isEqualTo(5);
+  }
+}
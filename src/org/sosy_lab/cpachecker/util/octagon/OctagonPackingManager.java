@@ -0,0 +1,790 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.ImmutableMap;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.sosy_lab.cpachecker.core.CPAcheckerResult.Result;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
+import org.sosy_lab.cpachecker.core.interfaces.StatisticsProvider;
+import org.sosy_lab.cpachecker.core.reachedset.UnmodifiableReachedSet;
+import org.sosy_lab.cpachecker.cpa.octagon.values.OctagonInterval;
+import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.states.MemoryLocation;
+import org.sosy_lab.cpachecker.util.statistics.StatCounter;
+import org.sosy_lab.cpachecker.util.statistics.StatInt;
+import org.sosy_lab.cpachecker.util.statistics.StatKind;
+import org.sosy_lab.cpachecker.util.statistics.StatisticsWriter;
+import org.sosy_lab.cpachecker.util.variableclassification.Partition;
+import org.sosy_lab.cpachecker.util.variableclassification.VariableClassification;
+
+/**
+ * Manager for octagons that are decomposed into independent packs of variables. Each pack is an
+ * octagon of the {@link OctagonJavaManager} over its variables, so the cubic closure only depends
+ * on the size of the packs and not on the number of all tracked variables.
+ *
+ * <p>A new variable is put into the pack of a variable of the same partition of the {@link
+ * VariableClassification}, or into a new pack if there is none. Packs are merged lazily, when an
+ * assignment or a constraint relates variables of different packs, or when two octagons with
+ * different packs are compared or joined. The variables of each pack are sorted by their index, so
+ * removing the last dimensions of an octagon removes the last dimensions of its packs.
+ */
+public class OctagonPackingManager extends OctagonManager implements StatisticsProvider {
+
+  private final OctagonJavaManager packManager;
+
+  /** the partition of each variable of the program */
+  private final ImmutableMap<String, Partition> partitions;
+
+  /** shared octagons for packs of new variables */
+  private final Octagon unconstrainedVariable;
+
+  private final Octagon zeroVariable;
+
+  private final StatCounter packMerges = new StatCounter("Number of pack merges");
+  private final StatInt mergedPackSize = new StatInt(StatKind.AVG, "Size of merged packs");
+  private final StatInt usedPackSize = new StatInt(StatKind.AVG, "Size of packs in transfers");
+  private final StatInt packsAtJoins = new StatInt(StatKind.AVG, "Number of packs at joins");
+
+  public OctagonPackingManager(
+      boolean pUseIntegers, Optional<VariableClassification> pVariableClassification) {
+    packManager = new OctagonJavaManager(pUseIntegers);
+    Map<String, Partition> partitionOfVariable = new HashMap<>();
+    if (pVariableClassification.isPresent()) {
+      for (Partition partition : pVariableClassification.get().getPartitions()) {
+        for (String variable : partition.getVars()) {
+          partitionOfVariable.put(variable, partition);
+        }
+      }
+    }
+    partitions = ImmutableMap.copyOf(partitionOfVariable);
+    unconstrainedVariable = packManager.universe(1);
+    zeroVariable = packManager.addDimensionAndProject(packManager.universe(0), 1);
+  }
+
+  private static final class PackedOctagon extends Octagon {
+
+    private final int dimension;
+
+    /** the pack of each variable */
+    private final int[] packOf;
+
+    /** the variables of each pack in ascending order */
+    private final int[][] packVariables;
+
+    /** the octagon of each pack over its variables */
+    private final Octagon[] packs;
+
+    /** whether the octagon is known to be empty, regardless of its packs */
+    private final boolean isEmpty;
+
+    private PackedOctagon(
+        OctagonManager pManager, int pDimension, int[][] pPackVariables, Octagon[] pPacks) {
+      this(pManager, pDimension, pPackVariables, pPacks, false);
+    }
+
+    private PackedOctagon(
+        OctagonManager pManager,
+        int pDimension,
+        int[][] pPackVariables,
+        Octagon[] pPacks,
+        boolean pIsEmpty) {
+      super(pManager);
+      dimension = pDimension;
+      packVariables = pPackVariables;
+      packs = pPacks;
+      isEmpty = pIsEmpty;
+      packOf = new int[pDimension];
+      for (int p = 0; p < pPackVariables.length; p++) {
+        for (int variable : pPackVariables[p]) {
+          packOf[variable] = p;
+        }
+      }
+    }
+
+    private PackedOctagon(PackedOctagon pOther, Octagon[] pPacks) {
+      super(pOther.getManager());
+      dimension = pOther.dimension;
+      packOf = pOther.packOf;
+      packVariables = pOther.packVariables;
+      packs = pPacks;
+      isEmpty = pOther.isEmpty;
+    }
+
+    private int indexInPack(int variable) {
+      return Arrays.binarySearch(packVariables[packOf[variable]], variable);
+    }
+
+    @Override
+    public int hashCode() {
+      // equal octagons may have different packs
+      return dimension;
+    }
+
+    @Override
+    public String toString() {
+      if (isEmpty) {
+        return "empty octagon with dimension " + dimension;
+      }
+      return "octagon with dimension " + dimension + " and " + packs.length + " packs";
+    }
+  }
+
+  private static PackedOctagon toPacked(Octagon oct) {
+    checkArgument(
+        oct instanceof PackedOctagon, "Octagon %s was not created by the packing manager", oct);
+    return (PackedOctagon) oct;
+  }
+
+  /* handling of packs */
+
+  private PackedOctagon withPack(PackedOctagon oct, int pack, Octagon newPack) {
+    if (oct.packs[pack] == newPack) {
+      return oct;
+    }
+    Octagon[] packs = oct.packs.clone();
+    packs[pack] = newPack;
+    return new PackedOctagon(oct, packs);
+  }
+
+  /** Create an octagon, in which each of the given variables is a pack of its own. */
+  private PackedOctagon addSingletonPacks(PackedOctagon oct, int k, Octagon newPack) {
+    int dimension = oct.dimension + k;
+    if (oct.isEmpty) {
+      return toPacked(empty(dimension));
+    }
+    int[][] packVariables = Arrays.copyOf(oct.packVariables, oct.packVariables.length + k);
+    Octagon[] packs = Arrays.copyOf(oct.packs, oct.packs.length + k);
+    for (int i = 0; i < k; i++) {
+      packVariables[oct.packVariables.length + i] = new int[] {oct.dimension + i};
+      packs[oct.packs.length + i] = newPack;
+    }
+    return new PackedOctagon(this, dimension, packVariables, packs);
+  }
+
+  /** Merge the packs of the given variables into a single pack. */
+  private PackedOctagon mergePacks(PackedOctagon oct, int... variables) {
+    int first = oct.packOf[variables[0]];
+    boolean isSinglePack = true;
+    for (int variable : variables) {
+      isSinglePack &= oct.packOf[variable] == first;
+    }
+    if (isSinglePack) {
+      return oct;
+    }
+
+    boolean[] isMerged = new boolean[oct.packs.length];
+    for (int variable : variables) {
+      isMerged[oct.packOf[variable]] = true;
+    }
+    List<int[]> packVariables = new ArrayList<>();
+    List<Octagon> packs = new ArrayList<>();
+    List<Integer> mergedPacks = new ArrayList<>();
+    int mergedSize = 0;
+    for (int p = 0; p < oct.packs.length; p++) {
+      if (isMerged[p]) {
+        mergedPacks.add(p);
+        mergedSize += oct.packVariables[p].length;
+      } else {
+        packVariables.add(oct.packVariables[p]);
+        packs.add(oct.packs[p]);
+      }
+    }
+
+    int[] variablesOfMergedPack = new int[mergedSize];
+    int i = 0;
+    for (int p : mergedPacks) {
+      for (int variable : oct.packVariables[p]) {
+        variablesOfMergedPack[i++] = variable;
+      }
+    }
+    Arrays.sort(variablesOfMergedPack);
+    packVariables.add(variablesOfMergedPack);
+    packs.add(combine(oct, mergedPacks, variablesOfMergedPack));
+
+    packMerges.inc();
+    mergedPackSize.setNextValue(mergedSize);
+    return new PackedOctagon(
+        this,
+        oct.dimension,
+        packVariables.toArray(new int[0][]),
+        packs.toArray(new Octagon[0]));
+  }
+
+  /** Combine some packs of an octagon into one pack with the given (sorted) variables. */
+  private Octagon combine(PackedOctagon oct, List<Integer> packs, int[] variables) {
+    if (packs.size() == 1 && oct.packVariables[packs.get(0)].length == variables.length) {
+      return oct.packs[packs.get(0)];
+    }
+    Octagon[] parts = new Octagon[packs.size()];
+    int[][] positions = new int[packs.size()][];
+    for (int i = 0; i < parts.length; i++) {
+      int p = packs.get(i);
+      parts[i] = oct.packs[p];
+      positions[i] = new int[oct.packVariables[p].length];
+      for (int j = 0; j < positions[i].length; j++) {
+        positions[i][j] = Arrays.binarySearch(variables, oct.packVariables[p][j]);
+      }
+    }
+    return packManager.combine(parts, positions, variables.length);
+  }
+
+  /**
+   * Bring two non-empty octagons into the same packs, which are the smallest packs such that each
+   * pack of both octagons is contained in one of them.
+   */
+  private Pair<PackedOctagon, PackedOctagon> unifyPacks(PackedOctagon oct1, PackedOctagon oct2) {
+    checkArgument(oct1.dimension == oct2.dimension, "Octagons have different dimensions");
+    if (Arrays.equals(oct1.packOf, oct2.packOf)) {
+      return Pair.of(oct1, oct2);
+    }
+
+    // union-find over the variables
+    int[] parent = new int[oct1.dimension];
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+    }
+    for (PackedOctagon oct : Arrays.asList(oct1, oct2)) {
+      for (int[] variables : oct.packVariables) {
+        for (int variable : variables) {
+          int root1 = find(parent, variables[0]);
+          int root2 = find(parent, variable);
+          parent[Math.max(root1, root2)] = Math.min(root1, root2);
+        }
+      }
+    }
+
+    // the roots are the smallest variables of their packs, so the variables are sorted
+    int[] packOfRoot = new int[parent.length];
+    List<List<Integer>> packs = new ArrayList<>();
+    for (int i = 0; i < parent.length; i++) {
+      int root = find(parent, i);
+      if (root == i) {
+        packOfRoot[i] = packs.size();
+        packs.add(new ArrayList<>());
+      }
+      packs.get(packOfRoot[root]).add(i);
+    }
+    int[][] packVariables = new int[packs.size()][];
+    for (int p = 0; p < packVariables.length; p++) {
+      packVariables[p] = packs.get(p).stream().mapToInt(Integer::intValue).toArray();
+    }
+    return Pair.of(repack(oct1, packVariables), repack(oct2, packVariables));
+  }
+
+  private static int find(int[] parent, int variable) {
+    int root = variable;
+    while (parent[root] != root) {
+      root = parent[root];
+    }
+    return root;
+  }
+
+  /** Distribute the packs of an octagon onto coarser packs. */
+  private PackedOctagon repack(PackedOctagon oct, int[][] packVariables) {
+    Octagon[] packs = new Octagon[packVariables.length];
+    for (int p = 0; p < packVariables.length; p++) {
+      List<Integer> oldPacks = new ArrayList<>();
+      for (int variable : packVariables[p]) {
+        int oldPack = oct.packOf[variable];
+        if (!oldPacks.contains(oldPack)) {
+          oldPacks.add(oldPack);
+        }
+      }
+      packs[p] = combine(oct, oldPacks, packVariables[p]);
+      if (oldPacks.size() > 1) {
+        packMerges.inc();
+        mergedPackSize.setNextValue(packVariables[p].length);
+      }
+    }
+    return new PackedOctagon(this, oct.dimension, packVariables, packs);
+  }
+
+  /* num handling functions */
+
+  @Override
+  public NumArray init_num_t(int n) {
+    return packManager.init_num_t(n);
+  }
+
+  @Override
+  public void num_set(NumArray n1, NumArray n2) {
+    packManager.num_set(n1, n2);
+  }
+
+  @Override
+  public void num_set_int(NumArray n, int pos, long i) {
+    packManager.num_set_int(n, pos, i);
+  }
+
+  @Override
+  public void num_set_float(NumArray n, int pos, double d) {
+    packManager.num_set_float(n, pos, d);
+  }
+
+  @Override
+  public void num_set_inf(NumArray n, int pos) {
+    packManager.num_set_inf(n, pos);
+  }
+
+  @Override
+  public long num_get_int(NumArray n, int pos) {
+    return packManager.num_get_int(n, pos);
+  }
+
+  @Override
+  public double num_get_float(NumArray n, int pos) {
+    return packManager.num_get_float(n, pos);
+  }
+
+  @Override
+  public boolean num_infty(NumArray n, int pos) {
+    return packManager.num_infty(n, pos);
+  }
+
+  @Override
+  public void num_clear_n(NumArray n, int size) {
+    packManager.num_clear_n(n, size);
+  }
+
+  /** Copy the given elements of an array into a new array. */
+  private NumArray subArray(NumArray array, int[] positions) {
+    NumArray result = packManager.init_num_t(positions.length);
+    for (int i = 0; i < positions.length; i++) {
+      packManager.num_set_float(result, i, packManager.num_get_float(array, positions[i]));
+    }
+    return result;
+  }
+
+  private boolean isNonZero(NumArray array, int pos) {
+    return packManager.num_get_float(array, pos) != 0;
+  }
+
+  /* Octagon handling functions */
+
+  @Override
+  public Octagon empty(int n) {
+    // the packs of an empty octagon are never used, they only keep the variable indices valid
+    PackedOctagon universe = toPacked(universe(n));
+    return new PackedOctagon(this, n, universe.packVariables, universe.packs, true);
+  }
+
+  @Override
+  public Octagon universe(int n) {
+    return addSingletonPacks(
+        new PackedOctagon(this, 0, new int[0][], new Octagon[0]), n, unconstrainedVariable);
+  }
+
+  @Override
+  public Octagon copy(Octagon oct) {
+    // octagons are never modified
+    return toPacked(oct);
+  }
+
+  @Override
+  public Octagon full_copy(Octagon oct) {
+    return copy(oct);
+  }
+
+  @Override
+  public int dimension(Octagon oct) {
+    return toPacked(oct).dimension;
+  }
+
+  @Override
+  public int nbconstraints(Octagon oct) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return packManager.nbconstraints(packManager.empty(o.dimension));
+    }
+    int count = 0;
+    for (Octagon pack : o.packs) {
+      count += packManager.nbconstraints(pack);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean isEmpty(Octagon oct) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return true;
+    }
+    for (Octagon pack : o.packs) {
+      if (packManager.isEmpty(pack)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int isEmptyLazy(Octagon oct) {
+    return isEmpty(oct) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isUniverse(Octagon oct) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return false;
+    }
+    for (Octagon pack : o.packs) {
+      if (!packManager.isUniverse(pack)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean isIncludedIn(Octagon oct1, Octagon oct2) {
+    if (isEmpty(oct1)) {
+      return true;
+    } else if (isEmpty(oct2)) {
+      return false;
+    }
+    Pair<PackedOctagon, PackedOctagon> octs = unifyPacks(toPacked(oct1), toPacked(oct2));
+    Octagon[] packs1 = octs.getFirst().packs;
+    Octagon[] packs2 = octs.getSecond().packs;
+    for (int p = 0; p < packs1.length; p++) {
+      if (!packManager.isIncludedIn(packs1[p], packs2[p])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int isIncludedInLazy(Octagon oct1, Octagon oct2) {
+    return isIncludedIn(oct1, oct2) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isEqual(Octagon oct1, Octagon oct2) {
+    if (dimension(oct1) != dimension(oct2)) {
+      return false;
+    }
+    boolean isEmpty1 = isEmpty(oct1);
+    boolean isEmpty2 = isEmpty(oct2);
+    if (isEmpty1 || isEmpty2) {
+      return isEmpty1 == isEmpty2;
+    }
+    Pair<PackedOctagon, PackedOctagon> octs = unifyPacks(toPacked(oct1), toPacked(oct2));
+    Octagon[] packs1 = octs.getFirst().packs;
+    Octagon[] packs2 = octs.getSecond().packs;
+    for (int p = 0; p < packs1.length; p++) {
+      if (!packManager.isEqual(packs1[p], packs2[p])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int isEqualLazy(Octagon oct1, Octagon oct2) {
+    return isEqual(oct1, oct2) ? 1 : 2;
+  }
+
+  @Override
+  public boolean isIn(Octagon oct1, NumArray array) {
+    PackedOctagon o = toPacked(oct1);
+    if (o.isEmpty) {
+      return false;
+    }
+    for (int p = 0; p < o.packs.length; p++) {
+      NumArray point = subArray(array, o.packVariables[p]);
+      if (!packManager.isIn(o.packs[p], point)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /* Operators */
+
+  private interface PackOperator {
+    Octagon apply(Octagon pack1, Octagon pack2);
+  }
+
+  private Octagon applyPackwise(PackedOctagon oct1, PackedOctagon oct2, PackOperator operator) {
+    Pair<PackedOctagon, PackedOctagon> octs = unifyPacks(oct1, oct2);
+    PackedOctagon o1 = octs.getFirst();
+    Octagon[] packs = new Octagon[o1.packs.length];
+    for (int p = 0; p < packs.length; p++) {
+      packs[p] = operator.apply(o1.packs[p], octs.getSecond().packs[p]);
+    }
+    return new PackedOctagon(o1, packs);
+  }
+
+  @Override
+  public Octagon intersection(Octagon oct1, Octagon oct2) {
+    if (isEmpty(oct1)) {
+      return oct1;
+    } else if (isEmpty(oct2)) {
+      return oct2;
+    }
+    return applyPackwise(toPacked(oct1), toPacked(oct2), packManager::intersection);
+  }
+
+  @Override
+  public Octagon union(Octagon oct1, Octagon oct2) {
+    if (isEmpty(oct1)) {
+      return oct2;
+    } else if (isEmpty(oct2)) {
+      return oct1;
+    }
+    Octagon result = applyPackwise(toPacked(oct1), toPacked(oct2), packManager::union);
+    packsAtJoins.setNextValue(toPacked(result).packs.length);
+    return result;
+  }
+
+  @Override
+  public Octagon widening(Octagon oct1, Octagon oct2) {
+    if (isEmpty(oct1)) {
+      return oct2;
+    } else if (isEmpty(oct2)) {
+      return oct1;
+    }
+    Octagon result = applyPackwise(toPacked(oct1), toPacked(oct2), packManager::widening);
+    packsAtJoins.setNextValue(toPacked(result).packs.length);
+    return result;
+  }
+
+  @Override
+  public Octagon narrowing(Octagon oct1, Octagon oct2) {
+    if (isEmpty(oct1)) {
+      return oct1;
+    } else if (isEmpty(oct2)) {
+      return oct2;
+    }
+    return applyPackwise(toPacked(oct1), toPacked(oct2), packManager::narrowing);
+  }
+
+  /* Transfer Functions */
+
+  @Override
+  public Octagon forget(Octagon oct, int k) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return o;
+    }
+    int pack = o.packOf[k];
+    return withPack(o, pack, packManager.forget(o.packs[pack], o.indexInPack(k)));
+  }
+
+  @Override
+  public Octagon assingVar(Octagon oct, int k, NumArray array) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return o;
+    }
+    List<Integer> variables = new ArrayList<>();
+    variables.add(k);
+    for (int i = 0; i < o.dimension; i++) {
+      if (i != k && isNonZero(array, i)) {
+        variables.add(i);
+      }
+    }
+    o = mergePacks(o, variables.stream().mapToInt(Integer::intValue).toArray());
+
+    int pack = o.packOf[k];
+    int[] packVariables = o.packVariables[pack];
+    int[] positions = Arrays.copyOf(packVariables, packVariables.length + 1);
+    positions[packVariables.length] = o.dimension;
+    NumArray packArray = subArray(array, positions);
+    usedPackSize.setNextValue(packVariables.length);
+    return withPack(o, pack, packManager.assingVar(o.packs[pack], o.indexInPack(k), packArray));
+  }
+
+  @Override
+  public Octagon intervAssingVar(Octagon oct, int k, NumArray array) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return o;
+    }
+    List<Integer> variables = new ArrayList<>();
+    variables.add(k);
+    for (int i = 0; i < o.dimension; i++) {
+      if (i != k && (isNonZero(array, 2 * i) || isNonZero(array, 2 * i + 1))) {
+        variables.add(i);
+      }
+    }
+    o = mergePacks(o, variables.stream().mapToInt(Integer::intValue).toArray());
+
+    int pack = o.packOf[k];
+    int[] packVariables = o.packVariables[pack];
+    int[] positions = new int[2 * (packVariables.length + 1)];
+    for (int i = 0; i < packVariables.length; i++) {
+      positions[2 * i] = 2 * packVariables[i];
+      positions[2 * i + 1] = 2 * packVariables[i] + 1;
+    }
+    positions[2 * packVariables.length] = 2 * o.dimension;
+    positions[2 * packVariables.length + 1] = 2 * o.dimension + 1;
+    NumArray packArray = subArray(array, positions);
+    usedPackSize.setNextValue(packVariables.length);
+    return withPack(
+        o, pack, packManager.intervAssingVar(o.packs[pack], o.indexInPack(k), packArray));
+  }
+
+  @Override
+  public Octagon addBinConstraint(Octagon oct, int noOfConstraints, NumArray array) {
+    PackedOctagon o = toPacked(oct);
+    if (o.isEmpty) {
+      return o;
+    }
+    for (int c = 0; c < noOfConstraints; c++) {
+      int type = (int) packManager.num_get_int(array, 4 * c);
+      int x = (int) packManager.num_get_int(array, 4 * c + 1);
+      int y = (int) packManager.num_get_int(array, 4 * c + 2);
+      boolean isUnary = type <= 1;
+      if (!isUnary) {
+        o = mergePacks(o, x, y);
+      }
+
+      int pack = o.packOf[x];
+      NumArray constraint = packManager.init_num_t(4);
+      packManager.num_set_int(constraint, 0, type);
+      packManager.num_set_int(constraint, 1, o.indexInPack(x));
+      packManager.num_set_int(constraint, 2, isUnary ? -1 : o.indexInPack(y));
+      packManager.num_set_float(constraint, 3, packManager.num_get_float(array, 4 * c + 3));
+      usedPackSize.setNextValue(o.packVariables[pack].length);
+      o = withPack(o, pack, packManager.addBinConstraint(o.packs[pack], 1, constraint));
+    }
+    return o;
+  }
+
+  /* change of dimensions */
+
+  @Override
+  public Octagon addDimensionAndEmbed(Octagon oct, int k) {
+    return addSingletonPacks(toPacked(oct), k, unconstrainedVariable);
+  }
+
+  @Override
+  public Octagon addVariable(
+      Octagon oct, MemoryLocation variable, BiMap<MemoryLocation, Integer> trackedVariables) {
+    PackedOctagon o = addSingletonPacks(toPacked(oct), 1, unconstrainedVariable);
+    Partition partition = partitions.get(variable.getAsSimpleString());
+    if (partition != null && !o.isEmpty) {
+      for (Map.Entry<MemoryLocation, Integer> tracked : trackedVariables.entrySet()) {
+        if (partition.equals(partitions.get(tracked.getKey().getAsSimpleString()))) {
+          // the variables of a partition are likely to be related, so we pack them in advance
+          return mergePacks(o, tracked.getValue(), o.dimension - 1);
+        }
+      }
+    }
+    return o;
+  }
+
+  @Override
+  public Octagon addDimensionAndProject(Octagon oct, int k) {
+    return addSingletonPacks(toPacked(oct), k, zeroVariable);
+  }
+
+  @Override
+  public Octagon removeDimension(Octagon oct, int k) {
+    PackedOctagon o = toPacked(oct);
+    int dimension = o.dimension - k;
+    checkArgument(dimension >= 0, "Cannot remove %s dimensions from %s", k, o);
+    if (isEmpty(o)) {
+      return empty(dimension);
+    }
+    List<int[]> packVariables = new ArrayList<>();
+    List<Octagon> packs = new ArrayList<>();
+    for (int p = 0; p < o.packs.length; p++) {
+      int[] variables = o.packVariables[p];
+      // the variables are sorted, so the removed ones are the last ones of the pack
+      int kept = 0;
+      while (kept < variables.length && variables[kept] < dimension) {
+        kept++;
+      }
+      if (kept == variables.length) {
+        packVariables.add(variables);
+        packs.add(o.packs[p]);
+      } else if (kept > 0) {
+        packVariables.add(Arrays.copyOf(variables, kept));
+        packs.add(packManager.removeDimension(o.packs[p], variables.length - kept));
+      }
+    }
+    return new PackedOctagon(
+        this, dimension, packVariables.toArray(new int[0][]), packs.toArray(new Octagon[0]));
+  }
+
+  @Override
+  public String print(Octagon oct, BiMap<Integer, MemoryLocation> map) {
+    PackedOctagon o = toPacked(oct);
+    StringBuilder str = new StringBuilder();
+    str.append("Octagon (dimension: " + o.dimension + ", packs: " + o.packs.length + ")\n");
+    if (isEmpty(o)) {
+      str.append("[Empty]\n");
+      return str.toString();
+    }
+    OctagonJavaManager.appendVariableBounds(str, this, o, map);
+    return str.toString();
+  }
+
+  @Override
+  public OctagonInterval getVariableBounds(Octagon oct, int id) {
+    PackedOctagon o = toPacked(oct);
+    assert id < o.dimension;
+    if (isEmpty(o)) {
+      return OctagonInterval.EMPTY;
+    }
+    return packManager.getVariableBounds(o.packs[o.packOf[id]], o.indexInPack(id));
+  }
+
+  @Override
+  public void collectStatistics(Collection<Statistics> pStatsCollection) {
+    pStatsCollection.add(
+        new Statistics() {
+
+          @Override
+          public void printStatistics(
+              PrintStream pOut, Result pResult, UnmodifiableReachedSet pReached) {
+            StatisticsWriter.writingStatisticsTo(pOut)
+                .put(packMerges)
+                .put(mergedPackSize)
+                .put(usedPackSize)
+                .put(packsAtJoins);
+          }
+
+          @Override
+          public String getName() {
+            return "Octagon packing";
+          }
+        });
+  }
+
+  @Override
+  public String toString() {
+    return "Octagon packing manager using " + packManager;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ *  CPAchecker is a tool for configurable software verification.
+ *  This file is part of CPAchecker.
+ *
+ *  Copyright (C) 2007-2019  Dirk Beyer
+ *  All rights reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.sosy_lab.cpachecker.util.octagon;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.junit.Test;
+
+/** Checks that packed octagons give the same results as octagons over all variables. */
+public class OctagonPackingManagerTest {
+
+  private final OctagonManager packed = new OctagonPackingManager(true, Optional.empty());
+  private final OctagonManager unpacked = new OctagonJavaManager(true);
+
+  private static Octagon addConstraint(
+      OctagonManager manager, Octagon oct, int type, int x, int y, long c) {
+    NumArray arr = manager.init_num_t(4);
+    manager.num_set_int(arr, 0, type);
+    manager.num_set_int(arr, 1, x);
+    manager.num_set_int(arr, 2, y);
+    manager.num_set_int(arr, 3, c);
+    return manager.addBinConstraint(oct, 1, arr);
+  }
+
+  private static Octagon assign(OctagonManager manager, Octagon oct, int k, long... coefficients) {
+    NumArray arr = manager.init_num_t(coefficients.length);
+    for (int i = 0; i < coefficients.length; i++) {
+      manager.num_set_int(arr, i, coefficients[i]);
+    }
+    return manager.assingVar(oct, k, arr);
+  }
+
+  /** x in [0, 10], y - x <= 2 */
+  private static Octagon relateXAndY(OctagonManager manager) {
+    Octagon oct = manager.universe(3);
+    oct = addConstraint(manager, oct, 0, 0, 0, 10);
+    oct = addConstraint(manager, oct, 1, 0, 0, 0);
+    return addConstraint(manager, oct, 3, 1, 0, 2);
+  }
+
+  /** z in [5, 6], y + z <= 4 */
+  private static Octagon relateYAndZ(OctagonManager manager) {
+    Octagon oct = manager.universe(3);
+    oct = addConstraint(manager, oct, 0, 2, 0, 6);
+    oct = addConstraint(manager, oct, 1, 2, 0, -5);
+    return addConstraint(manager, oct, 2, 1, 2, 4);
+  }
+
+  /** x in [0, 10], y - x <= 2, z unconstrained */
+  private static Octagon relateXAndYOnly(OctagonManager manager) {
+    return manager.forget(relateXAndY(manager), 2);
+  }
+
+  private void assertSameResult(Function<OctagonManager, Octagon> operations) {
+    Octagon packedResult = operations.apply(packed);
+    Octagon unpackedResult = operations.apply(unpacked);
+    assertThat(packed.dimension(packedResult)).isEqualTo(unpacked.dimension(unpackedResult));
+    assertThat(packed.isEmpty(packedResult)).isEqualTo(unpacked.isEmpty(unpackedResult));
+    if (unpacked.isEmpty(unpackedResult)) {
+      return;
+    }
+    assertThat(packed.isUniverse(packedResult)).isEqualTo(unpacked.isUniverse(unpackedResult));
+    for (int i = 0; i < unpacked.dimension(unpackedResult); i++) {
+      assertWithMessage("bounds of variable %s", i)
+          .that(packed.getVariableBounds(packedResult, i))
+          .isEqualTo(unpacked.getVariableBounds(unpackedResult, i));
+    }
+  }
+
+  private void assertSameInclusion(
+      Function<OctagonManager, Octagon> first, Function<OctagonManager, Octagon> second) {
+    assertThat(packed.isIncludedIn(first.apply(packed), second.apply(packed)))
+        .isEqualTo(unpacked.isIncludedIn(first.apply(unpacked), second.apply(unpacked)));
+    assertThat(packed.isIncludedIn(second.apply(packed), first.apply(packed)))
+        .isEqualTo(unpacked.isIncludedIn(second.apply(unpacked), first.apply(unpacked)));
+  }
+
+  @Test
+  public void testAssign() {
+    // y := x + 1, z := 2 * x, afterwards y <= 3 bounds x by the relation of x and y
+    assertSameResult(
+        m -> {
+          Octagon oct = relateXAndY(m);
+          oct = assign(m, oct, 1, 1, 0, 0, 1);
+          oct = assign(m, oct, 2, 2, 0, 0, 0);
+          return addConstraint(m, oct, 0, 1, 0, 3);
+        });
+    // x := x + 1 keeps the relation of x and y
+    assertSameResult(m -> assign(m, relateXAndY(m), 0, 1, 0, 0, 1));
+  }
+
+  @Test
+  public void testJoin() {
+    assertSameResult(m -> m.union(relateXAndY(m), relateYAndZ(m)));
+    // the join keeps the packs of both octagons, so constraints are still propagated
+    assertSameResult(m -> addConstraint(m, m.union(relateXAndY(m), relateXAndY(m)), 1, 1, 0, 0));
+    assertSameResult(m -> m.intersection(relateXAndY(m), relateYAndZ(m)));
+  }
+
+  @Test
+  public void testWidening() {
+    assertSameResult(
+        m -> {
+          Octagon oct1 = relateXAndY(m);
+          Octagon oct2 = addConstraint(m, relateXAndY(m), 0, 0, 0, 5);
+          return m.widening(oct2, oct1);
+        });
+    assertSameResult(m -> m.widening(relateXAndY(m), relateYAndZ(m)));
+  }
+
+  @Test
+  public void testIsIncludedIn() {
+    assertSameInclusion(
+        OctagonPackingManagerTest::relateXAndYOnly, OctagonPackingManagerTest::relateXAndY);
+    assertSameInclusion(OctagonPackingManagerTest::relateXAndY, m -> m.universe(3));
+    assertSameInclusion(
+        OctagonPackingManagerTest::relateXAndY, OctagonPackingManagerTest::relateYAndZ);
+    assertSameInclusion(
+        m -> m.intersection(relateXAndY(m), relateYAndZ(m)),
+        OctagonPackingManagerTest::relateYAndZ);
+  }
+
+  @Test
+  public void testEmpty() {
+    assertSameResult(m -> m.empty(3));
+    assertSameResult(m -> m.addDimensionAndEmbed(m.empty(2), 1));
+    assertSameResult(m -> assign(m, m.empty(3), 1, 1, 0, 0, 1));
+    assertSameResult(m -> m.removeDimension(m.empty(3), 1));
+    assertSameResult(m -> m.union(m.empty(3), relateXAndY(m)));
+    assertSameResult(m -> m.widening(relateYAndZ(m), m.empty(3)));
+    // y >= 0 contradicts y + z <= 4 and z >= 5
+    assertSameResult(m -> addConstraint(m, relateYAndZ(m), 1, 1, 0, 0));
+    assertSameInclusion(m -> m.empty(3), OctagonPackingManagerTest::relateXAndY);
+    assertSameInclusion(m -> m.empty(3), m -> m.empty(3));
+
+    assertThat(packed.isUniverse(packed.empty(2))).isFalse();
+    assertThat(packed.isEmpty(packed.addDimensionAndProject(packed.empty(1), 1))).isTrue();
+  }
+}
@@ -67,12 +67,18 @@ public class FreshValueProvider implements Serializable {
    * <p>Keeps the maximum to-be-generated index for each variable.
    **/
   public FreshValueProvider merge(FreshValueProvider other) {
-    if (vars.isEmpty() && other.vars.isEmpty()) {
+    if (this == other || other.vars.isEmpty()) {
       return this;
     }
-    return new FreshValueProvider(
+    PersistentSortedMap<String, Integer> mergedVars =
         PersistentSortedMaps.merge(
-            this.vars, other.vars, PersistentSortedMaps.getMaximumMergeConflictHandler()));
+            this.vars, other.vars, PersistentSortedMaps.getMaximumMergeConflictHandler());
+    if (mergedVars == vars) {
+      // Keep this provider, such that SSAMaps containing it can stay shared.
+      // The other provider is not returned, because its creator may still modify it.
+      return this;
+    }
+    return new FreshValueProvider(mergedVars);
   }
 
   public void put(String variable, int index) {
@@ -32,6 +32,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.sosy_lab.common.collect.MapsDifference;
 import org.sosy_lab.common.collect.PathCopyingPersistentTreeMap;
 import org.sosy_lab.common.collect.PersistentLinkedList;
 import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
@@ -152,6 +153,45 @@ public class PathFormulaTest {
     assertThat(builder.getFreshIndex("c")).isEqualTo(16);
   }
 
+  @Test
+  public void testMergeKeepsContainingMap() {
+    SSAMap s2 = builder.setIndex("a", CNumericTypes.INT, 1).build();
+    SSAMap s1 = s2.builder().setIndex("b", CNumericTypes.INT, 2).build();
+
+    assertThat(SSAMap.merge(s1, s2, MapsDifference.ignoreMapsDifference()))
+        .isSameInstanceAs(s1);
+    // The other order creates a new map, which is equal to the containing one.
+    assertThat(SSAMap.merge(s2, s1, MapsDifference.ignoreMapsDifference())).isEqualTo(s1);
+  }
+
+  @Test
+  public void testMergeOfDifferentMaps() {
+    SSAMap s1 = builder.setIndex("a", CNumericTypes.INT, 1).build();
+    SSAMap s2 = SSAMap.emptySSAMap().builder().setIndex("b", CNumericTypes.INT, 2).build();
+
+    SSAMap merged = SSAMap.merge(s1, s2, MapsDifference.ignoreMapsDifference());
+    assertThat(merged).isNotSameInstanceAs(s1);
+    assertThat(merged).isNotSameInstanceAs(s2);
+    assertThat(merged.getIndex("a")).isEqualTo(1);
+    assertThat(merged.getIndex("b")).isEqualTo(2);
+  }
+
+  @Test
+  public void testFreshValueProviderMergeKeepsContainingProvider() {
+    FreshValueProvider fvp = new FreshValueProvider();
+    fvp.put("a", 3);
+    fvp.put("b", 5);
+    FreshValueProvider subsumed = new FreshValueProvider();
+    subsumed.put("a", 3);
+
+    assertThat(fvp.merge(subsumed)).isSameInstanceAs(fvp);
+    assertThat(fvp.merge(new FreshValueProvider())).isSameInstanceAs(fvp);
+    // The subsumed provider may still be modified by its creator and is never returned.
+    FreshValueProvider merged = subsumed.merge(fvp);
+    assertThat(merged).isNotSameInstanceAs(fvp);
+    assertThat(merged).isEqualTo(fvp);
+  }
+
   @Test
   public void testSSAExceptionMonotone() {
     builder.setIndex("a", CNumericTypes.INT, 2);
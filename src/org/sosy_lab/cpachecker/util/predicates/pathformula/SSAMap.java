@@ -255,7 +255,28 @@ public class SSAMap implements Serializable {
             TYPE_CONFLICT_CHECKER,
             MapsDifference.ignoreMapsDifference());
 
-    return new SSAMap(vars, freshValueProvider, 0, varTypes, defaultIndex);
+    // If one map already contains the other one, we return it instead of an equal copy.
+    // This keeps the maps shared between the states after the merge point
+    // and allows the identity checks above to succeed for further merges.
+    if (vars == s1.vars
+        && freshValueProvider == s1.freshValueProvider
+        && varTypes == s1.varTypes) {
+      return s1;
+    }
+    if (vars == s2.vars
+        && freshValueProvider == s2.freshValueProvider
+        && varTypes == s2.varTypes) {
+      return s2;
+    }
+
+    // Reuse the cached hashCode instead of computing it for the whole map.
+    int varsHashCode = 0;
+    if (vars == s1.vars) {
+      varsHashCode = s1.varsHashCode;
+    } else if (vars == s2.vars) {
+      varsHashCode = s2.varsHashCode;
+    }
+    return new SSAMap(vars, freshValueProvider, varsHashCode, varTypes, defaultIndex);
   }
 
   private final PersistentSortedMap<String, Integer> vars;
@@ -1395,5 +1395,6 @@ public class CToFormulaConverterWithPointerAliasing extends CtoFormulaConverter
   @Override
   public void printStatistics(PrintStream out) {
     regionMgr.printStatistics(out);
+    ptsMgr.printStatistics(out);
   }
 }
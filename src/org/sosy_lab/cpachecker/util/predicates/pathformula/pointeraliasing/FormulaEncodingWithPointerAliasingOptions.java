@@ -115,6 +115,15 @@ public class FormulaEncodingWithPointerAliasingOptions extends FormulaEncodingOp
       description = "Use an optimisation for constraint generation")
   private boolean useConstraintOptimization = true;
 
+  @Option(
+      secure = true,
+      description =
+          "Number of merges of pointer-target sets whose results are cached,"
+              + " such that repeated merges of the same sets are not computed again."
+              + " Use 0 to disable the cache.")
+  @IntegerOption(min = 0)
+  private int pointerTargetSetMergeCacheSize = 1000;
+
   public FormulaEncodingWithPointerAliasingOptions(Configuration config) throws InvalidConfigurationException {
     super(config);
     config.inject(this, FormulaEncodingWithPointerAliasingOptions.class);
@@ -220,4 +229,8 @@ public class FormulaEncodingWithPointerAliasingOptions extends FormulaEncodingOp
   public boolean useConstraintOptimization() {
     return useConstraintOptimization;
   }
+
+  int pointerTargetSetMergeCacheSize() {
+    return pointerTargetSetMergeCacheSize;
+  }
 }
@@ -84,13 +84,19 @@ public final class PointerTargetSet implements Serializable {
 
   @Override
   public int hashCode() {
-    final int prime = 31;
-    int result = 1;
-    result = prime * result + bases.hashCode();
-    result = prime * result + fields.hashCode();
-    result = prime * result + deferredAllocations.hashCode();
-    result = prime * result + highestAllocatedAddresses.hashCode();
-    result = prime * result + Integer.hashCode(allocationCount);
+    // The persistent maps compute their hash code by iterating over all entries,
+    // so we compute it only once (the instance is immutable).
+    int result = hashCache;
+    if (result == 0) {
+      final int prime = 31;
+      result = 1;
+      result = prime * result + bases.hashCode();
+      result = prime * result + fields.hashCode();
+      result = prime * result + deferredAllocations.hashCode();
+      result = prime * result + highestAllocatedAddresses.hashCode();
+      result = prime * result + Integer.hashCode(allocationCount);
+      hashCache = result;
+    }
     return result;
   }
 
@@ -102,6 +108,9 @@ public final class PointerTargetSet implements Serializable {
       return false;
     } else {
       PointerTargetSet other = (PointerTargetSet) obj;
+      if (hashCode() != other.hashCode()) {
+        return false;
+      }
       // No need to check for equality of targets
       // because if bases and fields are equal, targets is equal, too.
       return bases.equals(other.bases)
@@ -210,6 +219,8 @@ public final class PointerTargetSet implements Serializable {
 
   private final int allocationCount;
 
+  private transient int hashCache = 0;
+
   private static final String BASE_PREFIX = "__ADDRESS_OF_";
 
   private static final long serialVersionUID = 2102505458322248624L;
@@ -29,14 +29,18 @@ import static com.google.common.base.Predicates.not;
 import static com.google.common.collect.FluentIterable.from;
 import static org.sosy_lab.common.collect.PersistentSortedMaps.merge;
 import static org.sosy_lab.cpachecker.util.predicates.pathformula.pointeraliasing.CTypeUtils.checkIsSimplified;
+import static org.sosy_lab.cpachecker.util.statistics.StatisticsUtils.valueWithPercentage;
 
 import com.google.common.base.Equivalence;
 import com.google.common.base.Joiner;
 import com.google.common.base.Verify;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.errorprone.annotations.CheckReturnValue;
+import java.io.PrintStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -54,6 +58,7 @@ import org.sosy_lab.common.collect.PersistentList;
 import org.sosy_lab.common.collect.PersistentSortedMap;
 import org.sosy_lab.common.collect.PersistentSortedMaps;
 import org.sosy_lab.common.collect.PersistentSortedMaps.MergeConflictHandler;
+import org.sosy_lab.common.time.Timer;
 import org.sosy_lab.cpachecker.cfa.ast.FileLocation;
 import org.sosy_lab.cpachecker.cfa.ast.c.CIntegerLiteralExpression;
 import org.sosy_lab.cpachecker.cfa.types.c.CArrayType;
@@ -65,6 +70,7 @@ import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
 import org.sosy_lab.cpachecker.cfa.types.c.CType;
 import org.sosy_lab.cpachecker.cfa.types.c.CVoidType;
 import org.sosy_lab.cpachecker.util.Pair;
+import org.sosy_lab.cpachecker.util.Triple;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap.SSAMapBuilder;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMapMerger.MergeResult;
@@ -137,6 +143,18 @@ class PointerTargetSetManager {
   private final TypeHandlerWithPointerAliasing typeHandler;
   private final MemoryRegionManager regionMgr;
 
+  // Merges of the same sets happen repeatedly, e.g., when the same abstract states are merged
+  // again after re-exploration, so we remember the recent results.
+  private final Cache<
+          Triple<PointerTargetSet, PointerTargetSet, SSAMap>, MergeResult<PointerTargetSet>>
+      mergeCache;
+
+  private final Timer mergeTimer = new Timer();
+  private int totalMerges = 0;
+  private int trivialMerges = 0;
+  private int cachedMerges = 0;
+  private int sharedMergeResults = 0;
+
   /**
    * Creates a new PointerTargetSetManager.
    *
@@ -161,6 +179,8 @@ class PointerTargetSetManager {
     typeHandler = pTypeHandler;
     shutdownNotifier = pShutdownNotifier;
     regionMgr = pRegionMgr;
+    mergeCache =
+        CacheBuilder.newBuilder().maximumSize(options.pointerTargetSetMergeCacheSize()).build();
   }
 
   /**
@@ -262,10 +282,36 @@ class PointerTargetSetManager {
   MergeResult<PointerTargetSet> mergePointerTargetSets(
       final PointerTargetSet pts1, final PointerTargetSet pts2, final SSAMap ssa)
       throws InterruptedException {
+    mergeTimer.start();
+    try {
+      totalMerges++;
+      if (pts1.isEmpty() && pts2.isEmpty()) {
+        trivialMerges++;
+        return MergeResult.trivial(PointerTargetSet.emptyPointerTargetSet(), bfmgr);
+      }
+      if (pts1.equals(pts2)) {
+        // Nothing is missing on either side, so no value-import constraints are necessary.
+        trivialMerges++;
+        return MergeResult.trivial(pts1, bfmgr);
+      }
 
-    if (pts1.isEmpty() && pts2.isEmpty()) {
-      return MergeResult.trivial(PointerTargetSet.emptyPointerTargetSet(), bfmgr);
+      final Triple<PointerTargetSet, PointerTargetSet, SSAMap> key = Triple.of(pts1, pts2, ssa);
+      MergeResult<PointerTargetSet> result = mergeCache.getIfPresent(key);
+      if (result != null) {
+        cachedMerges++;
+      } else {
+        result = mergePointerTargetSets0(pts1, pts2, ssa);
+        mergeCache.put(key, result);
+      }
+      return result;
+    } finally {
+      mergeTimer.stop();
     }
+  }
+
+  private MergeResult<PointerTargetSet> mergePointerTargetSets0(
+      final PointerTargetSet pts1, final PointerTargetSet pts2, final SSAMap ssa)
+      throws InterruptedException {
 
     final CopyOnWriteSortedMap<String, CType> basesOnlyPts1 =
         CopyOnWriteSortedMap.copyOf(PathCopyingPersistentTreeMap.<String, CType>of());
@@ -375,9 +421,36 @@ class PointerTargetSetManager {
       resultPTS = resultPTSBuilder.build();
     }
 
+    // If one set subsumes the other, keep the existing instance instead of the equal copy,
+    // such that later merges and comparisons can take the identity shortcut.
+    if (resultPTS.equals(pts1)) {
+      resultPTS = pts1;
+      sharedMergeResults++;
+    } else if (resultPTS.equals(pts2)) {
+      resultPTS = pts2;
+      sharedMergeResults++;
+    }
+
     return new MergeResult<>(resultPTS, mergeFormula1, mergeFormula2, bfmgr.makeTrue());
   }
 
+  void printStatistics(PrintStream out) {
+    out.println("Number of merges of pointer-target sets:        " + totalMerges);
+    if (totalMerges > 0) {
+      out.println(
+          "  Trivial merges of equal sets:                 "
+              + valueWithPercentage(trivialMerges, totalMerges));
+      out.println(
+          "  Merges answered from cache:                   "
+              + valueWithPercentage(cachedMerges, totalMerges));
+      out.println(
+          "  Merges reusing an input set as result:        "
+              + valueWithPercentage(sharedMergeResults, totalMerges));
+      out.println("  Time for merging pointer-target sets:         " + mergeTimer);
+    }
+    out.println();
+  }
+
   /**
    * A handler for merge conflicts that appear when merging bases.
    */
@@ -26,9 +26,12 @@ package org.sosy_lab.cpachecker.util.predicates.weakening;
 
 import static org.sosy_lab.cpachecker.util.predicates.weakening.InductiveWeakeningManager.WEAKENING_STRATEGY.CEX;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashMultiset;
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
 import java.io.PrintStream;
@@ -36,10 +39,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.common.collect.Collections3;
 import org.sosy_lab.common.configuration.Configuration;
+import org.sosy_lab.common.configuration.IntegerOption;
 import org.sosy_lab.common.configuration.InvalidConfigurationException;
 import org.sosy_lab.common.configuration.Option;
 import org.sosy_lab.common.configuration.Options;
@@ -69,6 +74,11 @@ public class InductiveWeakeningManager implements StatisticsProvider {
   @Option(description="Inductive weakening strategy", secure=true)
   private WEAKENING_STRATEGY weakeningStrategy = CEX;
 
+  @Option(description="Maximal number of inductive weakening results to cache "
+      + "(0 to disable caching)", secure=true)
+  @IntegerOption(min=0)
+  private int weakeningCacheSize = 1000;
+
   /**
    * Possible weakening strategies.
    */
@@ -103,6 +113,13 @@ public class InductiveWeakeningManager implements StatisticsProvider {
 
   private static final String SELECTOR_VAR_TEMPLATE = "_FS_SEL_VAR_";
 
+  /**
+   * Results of previous weakening queries. Lemmas are uninstantiated,
+   * so the same loop revisited under the same abstraction yields the same
+   * query, which does not have to be solved again.
+   */
+  private final Cache<WeakeningQuery, ImmutableSet<BooleanFormula>> weakeningCache;
+
   public InductiveWeakeningManager(
       Configuration config,
       Solver pSolver,
@@ -120,6 +137,7 @@ public class InductiveWeakeningManager implements StatisticsProvider {
     solver = pSolver;
     cexWeakeningManager = new CEXWeakeningManager(
         fmgr, pSolver, statistics, config, pShutdownNotifier);
+    weakeningCache = CacheBuilder.newBuilder().maximumSize(weakeningCacheSize).build();
   }
 
   /**
@@ -143,6 +161,26 @@ public class InductiveWeakeningManager implements StatisticsProvider {
       Set<BooleanFormula> toStateLemmas
      )
       throws SolverException, InterruptedException {
+    WeakeningQuery query =
+        new WeakeningQuery(startingSSA, fromStateLemmas, transition, toStateLemmas, false);
+    ImmutableSet<BooleanFormula> out = weakeningCache.getIfPresent(query);
+    if (out == null) {
+      out = ImmutableSet.copyOf(findInductiveWeakeningForRCNF0(
+          startingSSA, fromStateLemmas, transition, toStateLemmas));
+      weakeningCache.put(query, out);
+    } else {
+      statistics.cachedWeakenings++;
+    }
+    return out;
+  }
+
+  private Set<BooleanFormula> findInductiveWeakeningForRCNF0(
+      SSAMap startingSSA,
+      Set<BooleanFormula> fromStateLemmas,
+      final PathFormula transition,
+      Set<BooleanFormula> toStateLemmas
+     )
+      throws SolverException, InterruptedException {
 
     BooleanFormula fromStateLemmasInstantiated =
         fromStateLemmas
@@ -184,6 +222,23 @@ public class InductiveWeakeningManager implements StatisticsProvider {
       final SSAMap startingSSA,
       final PathFormula transition,
       Set<BooleanFormula> lemmas
+  )
+      throws SolverException, InterruptedException {
+    WeakeningQuery query = new WeakeningQuery(startingSSA, lemmas, transition, lemmas, true);
+    ImmutableSet<BooleanFormula> out = weakeningCache.getIfPresent(query);
+    if (out == null) {
+      out = ImmutableSet.copyOf(findInductiveWeakeningForRCNF0(startingSSA, transition, lemmas));
+      weakeningCache.put(query, out);
+    } else {
+      statistics.cachedWeakenings++;
+    }
+    return out;
+  }
+
+  private Set<BooleanFormula> findInductiveWeakeningForRCNF0(
+      final SSAMap startingSSA,
+      final PathFormula transition,
+      Set<BooleanFormula> lemmas
   )
       throws SolverException, InterruptedException {
 
@@ -357,10 +412,16 @@ public class InductiveWeakeningManager implements StatisticsProvider {
      */
     final Multiset<Integer> iterationsNo = HashMultiset.create();
 
+    /**
+     * Number of weakening queries answered from the cache.
+     */
+    int cachedWeakenings = 0;
+
     @Override
     public void printStatistics(PrintStream out, Result result, UnmodifiableReachedSet reached) {
       out.printf("Histogram of number of iterations required for convergence: "
           + "%s %n", iterationsNo);
+      out.printf("Number of cached weakenings: %d%n", cachedWeakenings);
     }
 
     @Override
@@ -368,4 +429,51 @@ public class InductiveWeakeningManager implements StatisticsProvider {
       return "Inductive Weakening";
     }
   }
+
+  /**
+   * Inputs of a weakening query. The lemmas are copied, as callers may pass
+   * views on sets which change later.
+   */
+  private static final class WeakeningQuery {
+    private final SSAMap startingSSA;
+    private final ImmutableSet<BooleanFormula> fromStateLemmas;
+    private final PathFormula transition;
+    private final ImmutableSet<BooleanFormula> toStateLemmas;
+    private final boolean dropFromStateLemmas;
+
+    private WeakeningQuery(
+        SSAMap pStartingSSA,
+        Set<BooleanFormula> pFromStateLemmas,
+        PathFormula pTransition,
+        Set<BooleanFormula> pToStateLemmas,
+        boolean pDropFromStateLemmas) {
+      startingSSA = pStartingSSA;
+      fromStateLemmas = ImmutableSet.copyOf(pFromStateLemmas);
+      transition = pTransition;
+      toStateLemmas = ImmutableSet.copyOf(pToStateLemmas);
+      dropFromStateLemmas = pDropFromStateLemmas;
+    }
+
+    @Override
+    public boolean equals(Object pO) {
+      if (this == pO) {
+        return true;
+      }
+      if (!(pO instanceof WeakeningQuery)) {
+        return false;
+      }
+      WeakeningQuery other = (WeakeningQuery) pO;
+      return dropFromStateLemmas == other.dropFromStateLemmas
+          && startingSSA.equals(other.startingSSA)
+          && transition.equals(other.transition)
+          && fromStateLemmas.equals(other.fromStateLemmas)
+          && toStateLemmas.equals(other.toStateLemmas);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          startingSSA, fromStateLemmas, transition, toStateLemmas, dropFromStateLemmas);
+    }
+  }
 }
@@ -26,6 +26,9 @@ package org.sosy_lab.cpachecker.util.predicates.weakening;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,12 +38,14 @@ import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 import org.sosy_lab.common.ShutdownNotifier;
 import org.sosy_lab.cpachecker.cfa.types.c.CNumericTypes;
+import org.sosy_lab.cpachecker.core.interfaces.Statistics;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.PathFormula;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.SSAMap;
 import org.sosy_lab.cpachecker.util.predicates.pathformula.pointeraliasing.PointerTargetSet;
 import org.sosy_lab.cpachecker.util.predicates.smt.BooleanFormulaManagerView;
 import org.sosy_lab.cpachecker.util.predicates.smt.IntegerFormulaManagerView;
 import org.sosy_lab.cpachecker.util.predicates.smt.SolverViewBasedTest0;
+import org.sosy_lab.cpachecker.util.predicates.weakening.InductiveWeakeningManager.InductiveWeakeningStatistics;
 import org.sosy_lab.java_smt.SolverContextFactory.Solvers;
 import org.sosy_lab.java_smt.api.BooleanFormula;
 import org.sosy_lab.java_smt.api.NumeralFormula.IntegerFormula;
@@ -101,6 +106,68 @@ public class InductiveWeakeningManagerTest extends SolverViewBasedTest0 {
     );
   }
 
+  @Test
+  public void testCachedWeakening() throws Exception {
+    Set<BooleanFormula> weakening =
+        inductiveWeakeningManager.findInductiveWeakeningForRCNF(
+            SSAMap.emptySSAMap().withDefault(0),
+            incrementX(),
+            ImmutableSet.of(xIsOne(), yIsZero()));
+    assertThat(cachedWeakenings()).isEqualTo(0);
+
+    // Equal inputs are answered from the cache, even if they are different objects.
+    Set<BooleanFormula> cached =
+        inductiveWeakeningManager.findInductiveWeakeningForRCNF(
+            SSAMap.emptySSAMap().withDefault(0),
+            incrementX(),
+            ImmutableSet.of(xIsOne(), yIsZero()));
+    assertThat(cached).isSameInstanceAs(weakening);
+    assertThat(cachedWeakenings()).isEqualTo(1);
+
+    // Changed lemmas are a different query.
+    Set<BooleanFormula> changed =
+        inductiveWeakeningManager.findInductiveWeakeningForRCNF(
+            SSAMap.emptySSAMap().withDefault(0), incrementX(), ImmutableSet.of(xIsOne()));
+    assertThat(changed).isEmpty();
+    assertThat(cachedWeakenings()).isEqualTo(1);
+
+    // So are the same lemmas with different from- and to-state lemmas.
+    Set<BooleanFormula> fromTo =
+        inductiveWeakeningManager.findInductiveWeakeningForRCNF(
+            SSAMap.emptySSAMap().withDefault(0),
+            ImmutableSet.of(xIsOne(), yIsZero()),
+            incrementX(),
+            ImmutableSet.of(xIsOne(), yIsZero()));
+    assertThat(fromTo).containsExactly(yIsZero());
+    assertThat(cachedWeakenings()).isEqualTo(1);
+  }
+
+  /** Transition x' = x + 1 starting at SSA index 0. */
+  private PathFormula incrementX() {
+    SSAMap startingSsa = SSAMap.emptySSAMap().withDefault(0);
+    return new PathFormula(
+        ifmgr.equal(
+            ifmgr.makeVariable("x", 1),
+            ifmgr.add(ifmgr.makeVariable("x", 0), ifmgr.makeNumber(1))),
+        startingSsa.builder().setIndex("x", CNumericTypes.INT, 1).build(),
+        PointerTargetSet.emptyPointerTargetSet(),
+        0);
+  }
+
+  private BooleanFormula xIsOne() {
+    return ifmgr.equal(ifmgr.makeVariable("x"), ifmgr.makeNumber(1));
+  }
+
+  private BooleanFormula yIsZero() {
+    return ifmgr.equal(ifmgr.makeVariable("y"), ifmgr.makeNumber(0));
+  }
+
+  private int cachedWeakenings() {
+    List<Statistics> statistics = new ArrayList<>();
+    inductiveWeakeningManager.collectStatistics(statistics);
+    return ((InductiveWeakeningStatistics) Iterables.getOnlyElement(statistics)).cachedWeakenings;
+  }
+
   @Test public void testRemovingRedundancies() throws Exception {
     IntegerFormula x, y;
     x = ifmgr.makeVariable("x");
@@ -177,6 +177,23 @@ public final class ResourceLimitChecker {
     return new ResourceLimitChecker(shutdownManager, ImmutableList.of());
   }
 
+  /**
+   * Create an instance of this class with a CPU time limit for the current thread. This is useful
+   * if several analyses run in parallel. The returned instance is not started yet.
+   */
+  public static ResourceLimitChecker createThreadCpuTimeLimitChecker(
+      LogManager logger, ShutdownManager shutdownManager, TimeSpan cpuTime) {
+
+    if (cpuTime.compareTo(TimeSpan.empty()) <= 0) {
+      return new ResourceLimitChecker(shutdownManager, ImmutableList.of());
+    }
+
+    ResourceLimit cpuTimeLimitChecker =
+        ThreadCpuTimeLimit.fromNowOn(cpuTime, Thread.currentThread());
+    logger.log(Level.INFO, "Using " + cpuTimeLimitChecker.getName());
+    return new ResourceLimitChecker(shutdownManager, ImmutableList.of(cpuTimeLimitChecker));
+  }
+
   @Options(prefix="limits")
   private static class ResourceLimitOptions {
 
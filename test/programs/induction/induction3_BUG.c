@@ -0,0 +1,13 @@
+extern void __assert_fail();
+
+int main() {
+	int x = 0;
+	while (1) {
+		x++;
+		if (x == 3) {
+			__assert_fail();
+			return 1;
+		}
+	}
+	return 0;
+}